@@ -3,6 +3,7 @@ package ch.zhaw.pm2.napp.fileio.loader;
 import ch.zhaw.pm2.napp.fileio.loader.exception.BadCsvFormatException;
 import ch.zhaw.pm2.napp.school.building.Building;
 import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.io.File;
 
@@ -27,14 +28,27 @@ public class BuildingsCsvLoader extends AbstractCsvLoader<Building> {
     private static final int INDEX_OF_ROOM_ID = 2;
     private static final int INDEX_OF_CAPACITY = 3;
     private static final int NUMBER_OF_PROPERTY_VALUES = 4;
+    private final TimetableTemplate timetableTemplate;
 
     /**
-     * Initializing csv Loader with File to be processed
+     * Initializing csv Loader with File to be processed. The rooms are based on the default {@link TimetableTemplate}.
      *
      * @param file File to be processed
      * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
      */
     public BuildingsCsvLoader(File file) throws BadCsvFormatException {
+        this(file, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Initializing csv Loader with File to be processed and the template the availability of the rooms is based on
+     *
+     * @param file              File to be processed
+     * @param timetableTemplate the time slots of each day of the school
+     * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
+     */
+    public BuildingsCsvLoader(File file, TimetableTemplate timetableTemplate) throws BadCsvFormatException {
+        this.timetableTemplate = timetableTemplate;
         populateResources(readLinesOfFile(file));
     }
 
@@ -51,7 +65,7 @@ public class BuildingsCsvLoader extends AbstractCsvLoader<Building> {
             throw new BadCsvFormatException("Too many Arguments");
         }
         try {
-            Room room = new Room(properties[INDEX_OF_ROOM_ID], parseInt(properties[INDEX_OF_CAPACITY]));
+            Room room = new Room(properties[INDEX_OF_ROOM_ID], parseInt(properties[INDEX_OF_CAPACITY]), timetableTemplate);
             building = createOrReturnBuilding(properties[INDEX_OF_BUILDING_ID]);
             building.addRoomToFloor(room, properties[INDEX_OF_FLOOR_ID]);
         } catch (ArrayIndexOutOfBoundsException e) {
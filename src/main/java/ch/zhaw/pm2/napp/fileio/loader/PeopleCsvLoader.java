@@ -5,6 +5,7 @@ import ch.zhaw.pm2.napp.school.schoolclasses.Person;
 import ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole;
 import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
 import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.io.File;
 import java.time.DayOfWeek;
@@ -39,14 +40,27 @@ public class PeopleCsvLoader extends AbstractCsvLoader<Person> {
     private static final int WEEKDAYS_INDEX = 5;
     private static final int FIRST_SUBJECT_INDEX = 6;
     private final Set<Subject> allSubjects = new HashSet<>();
+    private final TimetableTemplate timetableTemplate;
 
     /**
-     * Initializing csv Loader with File to be processed
+     * Initializing csv Loader with File to be processed. The timetables are based on the default {@link TimetableTemplate}.
      *
      * @param file File to be processed
      * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
      */
     public PeopleCsvLoader(File file) throws BadCsvFormatException {
+        this(file, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Initializing csv Loader with File to be processed and the template the timetables of the people are based on
+     *
+     * @param file              File to be processed
+     * @param timetableTemplate the time slots of each day of the school
+     * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
+     */
+    public PeopleCsvLoader(File file, TimetableTemplate timetableTemplate) throws BadCsvFormatException {
+        this.timetableTemplate = timetableTemplate;
         populateResources(readLinesOfFile(file));
     }
 
@@ -79,7 +93,7 @@ public class PeopleCsvLoader extends AbstractCsvLoader<Person> {
 
     private Person createStudent(String[] personProperties, List<SchoolVisitorRole> visitorRoles, List<Subject> subjects) throws BadCsvFormatException {
         try{
-            return new Person(personProperties[PERSON_ID_INDEX], personProperties[LAST_NAME_INDEX], personProperties[FIRST_NAME_INDEX], visitorRoles, subjects);
+            return new Person(personProperties[PERSON_ID_INDEX], personProperties[LAST_NAME_INDEX], personProperties[FIRST_NAME_INDEX], visitorRoles, subjects, timetableTemplate);
         } catch (IllegalArgumentException e) {
             throw new BadCsvFormatException("Missing or Bad argument");
         }
@@ -88,7 +102,7 @@ public class PeopleCsvLoader extends AbstractCsvLoader<Person> {
     private Teacher createTeacher(String[] personProperties, List<SchoolVisitorRole> visitorRoles, List<Subject> teachableModules) throws BadCsvFormatException {
         try{
             List<DayOfWeek> workingDays = extractWorkingDays(personProperties);
-            return new Teacher(personProperties[PERSON_ID_INDEX], personProperties[LAST_NAME_INDEX], personProperties[FIRST_NAME_INDEX], visitorRoles, Double.parseDouble(personProperties[WORKLOAD_INDEX]), workingDays, teachableModules);
+            return new Teacher(personProperties[PERSON_ID_INDEX], personProperties[LAST_NAME_INDEX], personProperties[FIRST_NAME_INDEX], visitorRoles, Double.parseDouble(personProperties[WORKLOAD_INDEX]), workingDays, teachableModules, timetableTemplate);
         } catch (IllegalArgumentException e) {
             throw new BadCsvFormatException("Missing or Bad argument");
         }
@@ -5,6 +5,7 @@ import ch.zhaw.pm2.napp.school.schoolclasses.Person;
 import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
 import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
 import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.io.File;
 import java.util.*;
@@ -32,17 +33,32 @@ public class SchoolClassesCsvLoader extends AbstractCsvLoader<SchoolClass> {
     private int firstStudentIdIndex;
     private final List<Person> allPeople;
     private final Set<Subject> allSubjects = new HashSet<>();
+    private final TimetableTemplate timetableTemplate;
 
     /**
      * Initializing csv Loader with File to be processed and adds values passed through allClasses and allPeople to the
-     * equivalent fields of the instance
+     * equivalent fields of the instance. The timetables are based on the default {@link TimetableTemplate}.
      *
      * @param file      File to be processed
      * @param allPeople a List of all people (students and Teachers) at the school
      * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
      */
     public SchoolClassesCsvLoader(File file, List<Person> allPeople) throws BadCsvFormatException {
+        this(file, allPeople, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Initializing csv Loader with File to be processed, the people of the school and the template the timetables of the
+     * school classes are based on
+     *
+     * @param file              File to be processed
+     * @param allPeople         a List of all people (students and Teachers) at the school
+     * @param timetableTemplate the time slots of each day of the school
+     * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the requirements
+     */
+    public SchoolClassesCsvLoader(File file, List<Person> allPeople, TimetableTemplate timetableTemplate) throws BadCsvFormatException {
         this.allPeople = allPeople;
+        this.timetableTemplate = timetableTemplate;
         populateResources(readLinesOfFile(file));
     }
 
@@ -60,7 +76,7 @@ public class SchoolClassesCsvLoader extends AbstractCsvLoader<SchoolClass> {
         List<Subject> classSubjectList = createOrGetSubjects(Arrays.copyOfRange(schoolClassProperties, FIRST_SUBJECT_INDEX, firstTeacherIdIndex), allSubjects);
         allSubjects.addAll(classSubjectList);
         try {
-            schoolClass = new SchoolClass(schoolClassProperties[CLASS_ID_INDEX], classSubjectList);
+            schoolClass = new SchoolClass(schoolClassProperties[CLASS_ID_INDEX], classSubjectList, timetableTemplate);
         } catch (IllegalArgumentException e) {
             throw new BadCsvFormatException("SchoolClass_ID Fields is Empty");
         }
@@ -0,0 +1,234 @@
+package ch.zhaw.pm2.napp.fileio.loader;
+
+import ch.zhaw.pm2.napp.fileio.loader.exception.BadCsvFormatException;
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Floor;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.Lesson;
+import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.SubjectPlacement;
+import ch.zhaw.pm2.napp.school.timetable.TimeSlot;
+
+import java.io.File;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Function;
+
+import static ch.zhaw.pm2.napp.school.timetable.TimeTableConverterUtil.SEED_LINE_PREFIX;
+
+/**
+ * TimetableCsvLoader
+ * <p>
+ * this class is based on {@link AbstractCsvLoader} and therefore provides the functionality to retrieve a List of Objects
+ * created from the values of a csv File.
+ * </p>
+ * <p>
+ * This class reads the timetable of a school class exported by the {@link ch.zhaw.pm2.napp.school.timetable.export.TimeTableExporter}
+ * and creates one List of SubjectPlacement Objects per day, with one placement per subject. The placements can be pinned as the starting
+ * point of the next generation, see {@link ch.zhaw.pm2.napp.school.timetable.TimetableGenerator#pinPlacements(List)}.
+ * </p>
+ * <p>
+ * Lessons whose subject, room or teacher no longer exists, or whose time slot is not part of the timetable of the school class anymore,
+ * are skipped, so their subjects are generated anew. Teachers are found by their matriculation number, or by their name in files
+ * exported without it, in which case a name shared by several teachers is skipped as well.
+ * </p>
+ */
+public class TimetableCsvLoader extends AbstractCsvLoader<List<SubjectPlacement>> {
+    private static final int DAY_OF_WEEK_INDEX = 0;
+    private static final int SEED_INDEX = 1;
+    private static final String TIME_SLOT_DELIMITER = "-";
+
+    private final SchoolClass schoolClass;
+    private final List<Teacher> allTeachers;
+    private final List<Room> allRooms = new ArrayList<>();
+    private final List<String> skippedLessons = new ArrayList<>();
+    private OptionalLong seed = OptionalLong.empty();
+
+    /**
+     * Initializing csv Loader with the exported timetable File of a school class and the resources of the school to resolve the lessons with
+     *
+     * @param file            File to be processed
+     * @param schoolClass     the school class the timetable belongs to
+     * @param allTeachers     all teachers of the school
+     * @param schoolBuildings all buildings of the school
+     * @throws BadCsvFormatException with message and Line of csv, is thrown if the csv Values do not match the export format
+     */
+    public TimetableCsvLoader(File file, SchoolClass schoolClass, List<Teacher> allTeachers, List<Building> schoolBuildings) throws BadCsvFormatException {
+        this.schoolClass = schoolClass;
+        this.allTeachers = allTeachers;
+        for (Building building : schoolBuildings) {
+            for (Floor floor : building.getFloors()) {
+                allRooms.addAll(floor.getRooms());
+            }
+        }
+        populateResources(readLinesOfFile(file));
+    }
+
+    /**
+     * A String array representing a Line of the csv File is converted to the placements of one day.
+     * The seed line written by {@link ch.zhaw.pm2.napp.school.timetable.TimeTableConverterUtil} results in no placements.
+     *
+     * @param timetableProperties String Array with the day followed by the lessons, each in the format "[time slot subject room first name last name (matriculation number)]"
+     * @return the placements of the day, one per subject
+     * @throws BadCsvFormatException is thrown if the day, the seed, a lesson or its time slot cannot be parsed
+     */
+    @Override
+    protected List<SubjectPlacement> createResource(String[] timetableProperties) throws BadCsvFormatException {
+        if (SEED_LINE_PREFIX.equals(timetableProperties[DAY_OF_WEEK_INDEX])) {
+            seed = OptionalLong.of(parseSeed(timetableProperties));
+            return List.of();
+        }
+        DayOfWeek dayOfWeek;
+        try {
+            dayOfWeek = DayOfWeek.valueOf(timetableProperties[DAY_OF_WEEK_INDEX]);
+        } catch (IllegalArgumentException e) {
+            throw new BadCsvFormatException("Unknown day \"" + timetableProperties[DAY_OF_WEEK_INDEX] + "\"");
+        }
+        Map<Subject, List<Lesson>> lessonsPerSubject = new LinkedHashMap<>();
+        for (int i = DAY_OF_WEEK_INDEX + 1; i < timetableProperties.length; i++) {
+            Lesson lesson = createLesson(dayOfWeek, timetableProperties[i]);
+            if (lesson == null) {
+                skippedLessons.add(dayOfWeek + " " + timetableProperties[i]);
+            } else {
+                lessonsPerSubject.computeIfAbsent(lesson.subject(), subject -> new ArrayList<>()).add(lesson);
+            }
+        }
+        List<SubjectPlacement> subjectPlacements = new ArrayList<>();
+        lessonsPerSubject.values().forEach(lessons -> subjectPlacements.add(new SubjectPlacement(schoolClass, dayOfWeek, lessons)));
+        return subjectPlacements;
+    }
+
+    /**
+     * Returns the placements of all days of the timetable.
+     *
+     * @return the placements in the order of the file
+     */
+    public List<SubjectPlacement> getSubjectPlacements() {
+        List<SubjectPlacement> subjectPlacements = new ArrayList<>();
+        getResources().forEach(subjectPlacements::addAll);
+        return subjectPlacements;
+    }
+
+    /**
+     * Returns the seed the timetable was generated with, if the file contains one.
+     *
+     * @return the seed of the export
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the lessons that could not be resolved against the current school and were therefore skipped.
+     *
+     * @return the skipped lessons, each with its day and the text of the file
+     */
+    public List<String> getSkippedLessons() {
+        return skippedLessons;
+    }
+
+    private static long parseSeed(String[] seedProperties) throws BadCsvFormatException {
+        try {
+            return Long.parseLong(seedProperties[SEED_INDEX]);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new BadCsvFormatException("Cannot parse seed");
+        }
+    }
+
+    /**
+     * Converts the text of a lesson into a Lesson Object. Subject names, room identifiers and teacher names may contain spaces,
+     * so the text after the time slot is matched against the subjects of the school class, the rooms and the teachers of the school.
+     *
+     * @return the lesson or null if it does not match the current school anymore
+     * @throws BadCsvFormatException is thrown if the lesson is not enclosed in brackets or the time slot cannot be parsed
+     */
+    private Lesson createLesson(DayOfWeek dayOfWeek, String lessonProperty) throws BadCsvFormatException {
+        if (!lessonProperty.startsWith("[") || !lessonProperty.endsWith("]")) {
+            throw new BadCsvFormatException("Bad Lesson Format");
+        }
+        String lessonText = lessonProperty.substring(1, lessonProperty.length() - 1);
+        int timeSlotEnd = lessonText.indexOf(' ');
+        if (timeSlotEnd < 0) {
+            throw new BadCsvFormatException("Bad Lesson Format");
+        }
+        TimeSlot timeSlot = findTimeSlot(dayOfWeek, parseTimeSlot(lessonText.substring(0, timeSlotEnd)));
+        String remainingText = lessonText.substring(timeSlotEnd + 1);
+
+        Subject subject = findLongestPrefix(remainingText, schoolClass.getModuleSchedule().requiredSubjects(), Subject::name);
+        if (timeSlot == null || subject == null) {
+            return null;
+        }
+        remainingText = remainingText.substring(subject.name().length() + 1);
+        Room room = findLongestPrefix(remainingText, allRooms, Room::getRoomIdentifier);
+        if (room == null) {
+            return null;
+        }
+        Teacher teacher = findTeacher(remainingText.substring(room.getRoomIdentifier().length() + 1));
+        return teacher == null ? null : new Lesson(subject, teacher, timeSlot, room);
+    }
+
+    /**
+     * Returns the teacher with the matriculation number in brackets at the end of the text, or for older exports without it,
+     * the only teacher with the name. A name shared by several teachers cannot be resolved.
+     *
+     * @return the teacher or null if none or several teachers match
+     */
+    private Teacher findTeacher(String teacherText) {
+        int matriculationNumberStart = teacherText.lastIndexOf(" (");
+        List<Teacher> matchingTeachers;
+        if (matriculationNumberStart >= 0 && teacherText.endsWith(")")) {
+            String matriculationNumber = teacherText.substring(matriculationNumberStart + 2, teacherText.length() - 1);
+            matchingTeachers = allTeachers.stream()
+                    .filter(candidate -> matriculationNumber.equals(candidate.getMatriculationNumber()))
+                    .toList();
+        } else {
+            matchingTeachers = allTeachers.stream()
+                    .filter(candidate -> teacherText.equals(candidate.getFirstName() + " " + candidate.getLastName()))
+                    .toList();
+        }
+        return matchingTeachers.size() == 1 ? matchingTeachers.get(0) : null;
+    }
+
+    private static TimeSlot parseTimeSlot(String timeSlotText) throws BadCsvFormatException {
+        String[] times = timeSlotText.split(TIME_SLOT_DELIMITER);
+        try {
+            return new TimeSlot(LocalTime.parse(times[0]), LocalTime.parse(times[1]));
+        } catch (ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadCsvFormatException("Cannot parse time slot \"" + timeSlotText + "\"");
+        }
+    }
+
+    /**
+     * Returns the time slot of the timetable template of the school class that equals the parsed one, or null if the template changed.
+     */
+    private TimeSlot findTimeSlot(DayOfWeek dayOfWeek, TimeSlot parsedTimeSlot) {
+        for (TimeSlot timeSlot : schoolClass.getTimetable().getTimetableTemplate().getTimeSlots(dayOfWeek)) {
+            if (timeSlot.equals(parsedTimeSlot)) {
+                return timeSlot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the candidate with the longest name that the text starts with, followed by a space.
+     */
+    private static <T> T findLongestPrefix(String text, List<T> candidates, Function<T, String> nameOf) {
+        T longestMatch = null;
+        for (T candidate : candidates) {
+            String name = nameOf.apply(candidate);
+            if (text.startsWith(name + " ") && (longestMatch == null || name.length() > nameOf.apply(longestMatch).length())) {
+                longestMatch = candidate;
+            }
+        }
+        return longestMatch;
+    }
+}
@@ -1,13 +1,35 @@
 package ch.zhaw.pm2.napp.school;
 
 import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
 import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
 import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.BacktrackingTimetableSolver;
+import ch.zhaw.pm2.napp.school.timetable.CancellationToken;
+import ch.zhaw.pm2.napp.school.timetable.ComponentTimetableSolver;
+import ch.zhaw.pm2.napp.school.timetable.GenerationEngine;
+import ch.zhaw.pm2.napp.school.timetable.GenerationListener;
+import ch.zhaw.pm2.napp.school.timetable.GenerationMonitor;
+import ch.zhaw.pm2.napp.school.timetable.PortfolioConfiguration;
+import ch.zhaw.pm2.napp.school.timetable.PortfolioTimetableSolver;
+import ch.zhaw.pm2.napp.school.timetable.ScheduleChange;
+import ch.zhaw.pm2.napp.school.timetable.SubjectPlacement;
 import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+import ch.zhaw.pm2.napp.school.timetable.TimetableOptimizer;
+import ch.zhaw.pm2.napp.school.timetable.TimetableRepairer;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import ch.zhaw.pm2.napp.school.timetable.strategy.FirstFitSchedulingStrategy;
+import ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategies;
+import ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategy;
 
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
 
 /**
  * This class represents a school, though with the current prototype not all data is required.
@@ -20,8 +42,20 @@ public class School {
     public static final int LONG_BREAK = 25;
     public static final LocalTime SCHOOL_OPENING_HOURS = LocalTime.of(8, 0);
     public static final LocalTime SCHOOL_CLOSING_HOURS = LocalTime.of(17, 35);
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(30);
+    public static final int DEFAULT_OPTIMIZATION_ITERATIONS = 1000;
+    private final List<Teacher> allTeachers;
+    private final List<Building> schoolBuildings;
     private final List<SchoolClass> schoolClasses;
+    private final TimetableTemplate timetableTemplate;
     private final TimetableGenerator timetableGenerator;
+    private GenerationEngine generationEngine = GenerationEngine.GREEDY;
+    private SchedulingStrategy schedulingStrategy = new FirstFitSchedulingStrategy();
+    private Duration timeBudget = DEFAULT_TIME_BUDGET;
+    private Duration optimizationTimeBudget = Duration.ZERO;
+    private List<PortfolioConfiguration> portfolioConfigurations = PortfolioConfiguration.createDefaultPortfolio();
+    private OptionalLong seed = OptionalLong.empty();
+    private int optimizationIterations = DEFAULT_OPTIMIZATION_ITERATIONS;
 
     /**
      * Creates a school
@@ -31,16 +65,255 @@ public class School {
      * @param schoolClasses   All classes at this school
      */
     public School(List<Teacher> allTeachers, List<Building> schoolBuildings, List<SchoolClass> schoolClasses) {
+        this(allTeachers, schoolBuildings, schoolClasses, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Creates a school whose timetables and rooms are based on its own {@link TimetableTemplate}, e.g. with a free wednesday afternoon.
+     * The teachers, rooms and school classes have to be created with the same template, e.g. by passing it to the CSV loaders.
+     *
+     * @param allTeachers       All teachers who work at this school
+     * @param schoolBuildings   All buildings belonging to the school
+     * @param schoolClasses     All classes at this school
+     * @param timetableTemplate the time slots of each day of the school
+     * @throws IllegalArgumentException if a teacher, room or school class is based on another template
+     */
+    public School(List<Teacher> allTeachers, List<Building> schoolBuildings, List<SchoolClass> schoolClasses, TimetableTemplate timetableTemplate) {
+        checkTimetableTemplate(allTeachers, schoolBuildings, schoolClasses, timetableTemplate);
+        this.allTeachers = allTeachers;
+        this.schoolBuildings = schoolBuildings;
         this.schoolClasses = schoolClasses;
-        this.timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+        this.timetableTemplate = timetableTemplate;
+        this.timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings, schoolClasses);
     }
 
     /**
-     * Generates a Timetable for all school classes.
+     * Generates a Timetable for all school classes with the selected {@link GenerationEngine} and {@link SchedulingStrategy}.
+     * Hopeless runs fail fast, because the resources are checked with {@link TimetableGenerator#checkFeasibility(List)} first.
+     * School classes without common teachers and rooms are generated independently and in parallel, see {@link ComponentTimetableSolver}.
+     * Afterwards the timetables are improved by the {@link TimetableOptimizer} if an optimization time budget is set.
      */
     public void generateTimetableForAllSchoolClasses() throws TimetableException {
+        generateTimetableForAllSchoolClasses(new GenerationListener() {
+        }, new CancellationToken());
+    }
+
+    /**
+     * Generates a Timetable for all school classes like {@link #generateTimetableForAllSchoolClasses()} and reports the progress.
+     * The listener is told about the placed school classes and lessons and gets the best timetables found so far,
+     * first when the generation is finished and then periodically while they are optimized.
+     * Cancelling the token stops the generation with an exception, or ends the optimization early with the best timetables found so far.
+     *
+     * @param generationListener the listener to notify, called on the generating threads
+     * @param cancellationToken  the token to stop the run with, e.g. from the UI
+     * @throws TimetableException if no timetables were found or the generation was cancelled before they were complete.
+     */
+    public void generateTimetableForAllSchoolClasses(GenerationListener generationListener, CancellationToken cancellationToken) throws TimetableException {
+        GenerationMonitor generationMonitor = new GenerationMonitor(schoolClasses, generationListener, cancellationToken);
+        timetableGenerator.setGenerationMonitor(generationMonitor);
+        try {
+            generateTimetables();
+            generationMonitor.generationFinished(schoolClasses, timetableGenerator.getRoomDistances());
+            optimizeTimetables();
+        } finally {
+            timetableGenerator.setGenerationMonitor(GenerationMonitor.inactive());
+        }
+    }
+
+    private void generateTimetables() throws TimetableException {
+        timetableGenerator.checkFeasibility(schoolClasses);
+        ComponentTimetableSolver componentTimetableSolver = new ComponentTimetableSolver(timetableGenerator);
+        if (generationEngine == GenerationEngine.BACKTRACKING) {
+            // the components and a joint generation after a failed component share one deadline, so the time budget holds for the whole school
+            long deadline = System.nanoTime() + timeBudget.toNanos();
+            componentTimetableSolver.generateTimetables(schoolClasses, (component, componentGenerator) ->
+                    new BacktrackingTimetableSolver(componentGenerator, timeBudget, schedulingStrategy).generateTimetables(component, deadline));
+        } else if (generationEngine == GenerationEngine.PORTFOLIO) {
+            new PortfolioTimetableSolver(timetableGenerator, allTeachers, schoolBuildings, portfolioConfigurations, timeBudget, seed.isPresent()).generateTimetables(schoolClasses);
+        } else {
+            componentTimetableSolver.generateTimetables(schoolClasses, schedulingStrategy::generateTimetables);
+        }
+    }
+
+    /**
+     * Generates a Timetable for all school classes, planning several school classes at the same time.
+     * Conflicts on shared teachers and rooms are detected before a plan is committed and the affected
+     * school classes are planned again, so the result is always free of conflicts.
+     *
+     * @param executor the executor on which the school classes are planned. It is not shut down by this method.
+     * @throws TimetableException if no teacher, room or free time slot was found for a subject.
+     */
+    public void generateTimetableForAllSchoolClasses(ExecutorService executor) throws TimetableException {
+        timetableGenerator.checkFeasibility(schoolClasses);
+        timetableGenerator.generateTimeTablesInParallel(schoolClasses, executor);
+        optimizeTimetables();
+    }
+
+    /**
+     * Adapts the generated timetables to a change of a teacher or room. Only the affected lessons are moved.
+     *
+     * @param scheduleChange the change, e.g. a teacher dropping a weekday or a room closing
+     * @return the new placements of the moved subjects
+     * @throws TimetableException if an affected subject cannot be moved. The change is not applied in that case.
+     */
+    public List<SubjectPlacement> repairTimetables(ScheduleChange scheduleChange) throws TimetableException {
+        return new TimetableRepairer(timetableGenerator).repair(scheduleChange, schoolClasses);
+    }
+
+    /**
+     * Pins the placements of an earlier generation, e.g. read from an exported timetable, as the starting point of the next generation.
+     * Only the subjects that are still valid are applied, the next generation fills in the rest, see {@link TimetableGenerator#pinPlacements(List)}.
+     *
+     * @param subjectPlacements the placements of the earlier generation
+     * @return the placements that were applied
+     */
+    public List<SubjectPlacement> pinPlacements(List<SubjectPlacement> subjectPlacements) {
+        return timetableGenerator.pinPlacements(subjectPlacements);
+    }
+
+    private static void checkTimetableTemplate(List<Teacher> allTeachers, List<Building> schoolBuildings, List<SchoolClass> schoolClasses,
+                                               TimetableTemplate timetableTemplate) {
+        for (Teacher teacher : allTeachers) {
+            if (teacher.getTimetable().getTimetableTemplate() != timetableTemplate) {
+                throw new IllegalArgumentException("The timetable of the teacher \"" + teacher.getId() + "\" is based on another template than the school.");
+            }
+        }
+        for (Building building : schoolBuildings) {
+            for (Room room : building.getAllRooms()) {
+                if (room.getRoomAvailability().getTimetableTemplate() != timetableTemplate) {
+                    throw new IllegalArgumentException("The room \"" + room.getRoomIdentifier() + "\" is based on another template than the school.");
+                }
+            }
+        }
         for (SchoolClass schoolClass : schoolClasses) {
-            timetableGenerator.generateTimeTableForClass(schoolClass);
+            if (schoolClass.getTimetable().getTimetableTemplate() != timetableTemplate) {
+                throw new IllegalArgumentException("The timetable of the school class \"" + schoolClass.getId() + "\" is based on another template than the school.");
+            }
+        }
+    }
+
+    /**
+     * Returns the time slots of each day that all timetables and rooms of the school are based on.
+     *
+     * @return the template of the school
+     */
+    public TimetableTemplate getTimetableTemplate() {
+        return timetableTemplate;
+    }
+
+    private void optimizeTimetables() {
+        if (!optimizationTimeBudget.isZero() && !optimizationTimeBudget.isNegative()) {
+            TimetableOptimizer timetableOptimizer = seed.isPresent()
+                    ? new TimetableOptimizer(timetableGenerator, optimizationIterations, new Random(seed.getAsLong()))
+                    : new TimetableOptimizer(timetableGenerator, optimizationTimeBudget);
+            timetableOptimizer.optimize(schoolClasses);
         }
     }
-}
+
+    /**
+     * Selects the algorithm used by {@link #generateTimetableForAllSchoolClasses()}.
+     *
+     * @param generationEngine the algorithm to use
+     */
+    public void setGenerationEngine(GenerationEngine generationEngine) {
+        this.generationEngine = generationEngine;
+    }
+
+    /**
+     * Sets the maximum wall-clock time a search engine may take to find the timetables.
+     *
+     * @param timeBudget the time budget
+     */
+    public void setTimeBudget(Duration timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Sets the configurations that are run at the same time by the {@link GenerationEngine#PORTFOLIO} engine.
+     *
+     * @param portfolioConfigurations the configurations, by default {@link PortfolioConfiguration#createDefaultPortfolio()}
+     */
+    public void setPortfolioConfigurations(List<PortfolioConfiguration> portfolioConfigurations) {
+        this.portfolioConfigurations = portfolioConfigurations;
+    }
+
+    /**
+     * Sets the time the generated timetables are improved afterwards, e.g. to close gaps. Zero turns the optimization off.
+     *
+     * @param optimizationTimeBudget the time budget of the {@link TimetableOptimizer}
+     */
+    public void setOptimizationTimeBudget(Duration optimizationTimeBudget) {
+        this.optimizationTimeBudget = optimizationTimeBudget;
+    }
+
+    /**
+     * Sets the seed of a reproducible run. With the same seed, input files and number of threads, the generation produces
+     * the same timetables, as long as no time budget of the generation runs out: the {@link PortfolioTimetableSolver} derives
+     * the orders of the school classes from the seed and waits for all configurations instead of taking the first ones to finish, and the
+     * {@link TimetableOptimizer} uses the seed and stops after {@link #setOptimizationIterations(int) a number of iterations} instead of the optimization time budget.
+     *
+     * @param seed the seed, e.g. taken from an exported timetable
+     */
+    public void setSeed(long seed) {
+        this.seed = OptionalLong.of(seed);
+        timetableGenerator.setSeed(seed);
+    }
+
+    /**
+     * Returns the seed of a reproducible run.
+     *
+     * @return the seed, or empty if the run is not reproducible
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets how many subjects the {@link TimetableOptimizer} tries to move in a reproducible run, see {@link #setSeed(long)}.
+     *
+     * @param optimizationIterations the number of iterations, by default {@value #DEFAULT_OPTIMIZATION_ITERATIONS}
+     */
+    public void setOptimizationIterations(int optimizationIterations) {
+        this.optimizationIterations = optimizationIterations;
+    }
+
+    /**
+     * Allows subjects to be split into smaller blocks on different days if no day has enough free time slots in a row.
+     *
+     * @param minimumBlockSize the minimum number of lessons in a row of every block, 0 to never split a subject
+     */
+    public void setMinimumBlockSize(int minimumBlockSize) {
+        timetableGenerator.setMinimumBlockSize(minimumBlockSize);
+    }
+
+    /**
+     * Overrides the walking distance between two rooms, which is otherwise derived from their building and floor.
+     * Rooms close to each other are preferred for lessons following each other, see {@link RoomDistances}.
+     *
+     * @param firstRoom  one room
+     * @param secondRoom the other room
+     * @param distance   the new distance
+     */
+    public void setRoomDistance(Room firstRoom, Room secondRoom, int distance) {
+        timetableGenerator.getRoomDistances().setDistance(firstRoom, secondRoom, distance);
+    }
+
+    /**
+     * Selects the order in which the subjects of the school classes are placed.
+     *
+     * @param schedulingStrategy the strategy to use
+     */
+    public void setSchedulingStrategy(SchedulingStrategy schedulingStrategy) {
+        this.schedulingStrategy = schedulingStrategy;
+    }
+
+    /**
+     * Selects one of the registered scheduling strategies by its name.
+     *
+     * @param schedulingStrategyName the name of the strategy, see {@link SchedulingStrategies#getSchedulingStrategyNames()}
+     * @throws IllegalArgumentException if no strategy with this name is registered
+     */
+    public void setSchedulingStrategy(String schedulingStrategyName) {
+        this.schedulingStrategy = SchedulingStrategies.getSchedulingStrategy(schedulingStrategyName);
+    }
+}
\ No newline at end of file
@@ -58,6 +58,7 @@ public class Building {
         Optional<Floor> floor = floors.stream().filter(floorOfList -> requestedFloorIdentifier.equals(floorOfList.getFloorIdentifier())).findFirst();
         if (floor.isEmpty()) {
             Floor newFloor = new Floor(requestedFloorIdentifier);
+            newFloor.setBuilding(this);
             floors.add(newFloor);
             newFloor.addRoom(requestedRoom);
         } else {
@@ -12,6 +12,7 @@ import java.util.List;
 public class Floor {
     private final String floorIdentifier;
     private final List<Room> rooms = new ArrayList<>();
+    private Building building;
 
     /**
      * Creates a floor
@@ -26,11 +27,30 @@ public class Floor {
         return floorIdentifier;
     }
 
+    /**
+     * Adds a room to the floor, which becomes the floor of the room
+     *
+     * @param room - the room to add
+     */
     public void addRoom(Room room) {
         rooms.add(room);
+        room.setFloor(this);
     }
 
     public List<Room> getRooms() {
         return rooms;
     }
+
+    /**
+     * Returns the building the floor belongs to
+     *
+     * @return the building or null if the floor was not created by a building
+     */
+    public Building getBuilding() {
+        return building;
+    }
+
+    void setBuilding(Building building) {
+        this.building = building;
+    }
 }
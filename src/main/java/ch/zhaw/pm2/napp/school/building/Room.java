@@ -1,12 +1,10 @@
 package ch.zhaw.pm2.napp.school.building;
 
+import ch.zhaw.pm2.napp.school.timetable.OccupancyGrid;
 import ch.zhaw.pm2.napp.school.timetable.TimeSlot;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.time.DayOfWeek;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 /**
  * A data class holding all room data
@@ -18,18 +16,31 @@ public class Room {
     private final String roomIdentifier;
 
     private final Integer capacity;
-    private final Map<DayOfWeek, List<TimeSlot>> roomAvailability;
+    private final OccupancyGrid roomAvailability;
+    private boolean closed;
+    private Floor floor;
 
     /**
-     * Creates a room
+     * Creates a room based on the default {@link TimetableTemplate}
      *
      * @param roomIdentifier - the unique room identifier, could be a number or a name
      * @param capacity       - the room capacity describing how many pupils can use the room
      */
     public Room(String roomIdentifier, Integer capacity) {
+        this(roomIdentifier, capacity, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Creates a room whose availability is based on the given template
+     *
+     * @param roomIdentifier    - the unique room identifier, could be a number or a name
+     * @param capacity          - the room capacity describing how many pupils can use the room
+     * @param timetableTemplate - the time slots of each day
+     */
+    public Room(String roomIdentifier, Integer capacity, TimetableTemplate timetableTemplate) {
         this.roomIdentifier = roomIdentifier;
         this.capacity = capacity;
-        this.roomAvailability = new HashMap<>();
+        this.roomAvailability = new OccupancyGrid(timetableTemplate);
     }
 
     /**
@@ -41,22 +52,53 @@ public class Room {
      * @return true if the room is free
      */
     public boolean isAvailable(DayOfWeek dayOfWeek, TimeSlot timeSlot, int roomSize) {
-        return (roomAvailability.isEmpty() || roomAvailability.get(dayOfWeek) == null || !roomAvailability.get(dayOfWeek).contains(timeSlot)) && roomSize <= capacity;
+        return !closed && roomSize <= capacity && roomAvailability.isFree(dayOfWeek, timeSlot);
+    }
+
+    /**
+     * Returns whether the room is open and free during all time slots of the bitmask
+     *
+     * @param dayOfWeek    the day the room is needed
+     * @param timeSlotMask the bitmask of the time slots, see {@link OccupancyGrid}
+     * @return true if the room can be booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, long timeSlotMask) {
+        return !closed && roomAvailability.isFree(dayOfWeek, timeSlotMask);
     }
 
     /**
-     * Adds a timeslot to a Weekday if the Weekday exists already or creates a weekday and adds the Timeslot otherwise
+     * Marks the timeslot of the given weekday as occupied
      * @param dayOfWeek The day of the Week the timeslot has to be added to
      * @param timeSlot the timeslot to be added
      */
     public void setRoomAvailability(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
-        if (roomAvailability.containsKey(dayOfWeek)) {
-            roomAvailability.get(dayOfWeek).add(timeSlot);
-        } else {
-            List<TimeSlot> timeSlots = new ArrayList<>();
-            timeSlots.add(timeSlot);
-            roomAvailability.put(dayOfWeek, timeSlots);
-        }
+        roomAvailability.occupy(dayOfWeek, timeSlot);
+    }
+
+    /**
+     * Marks the timeslot of the given weekday as free again
+     * @param dayOfWeek The day of the Week the timeslot has to be removed from
+     * @param timeSlot the timeslot to be removed
+     */
+    public void releaseRoomAvailability(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        roomAvailability.release(dayOfWeek, timeSlot);
+    }
+
+    /**
+     * Marks the room as closed or open again. A closed room is never available, but keeps its bookings until they are moved.
+     *
+     * @param closed true if the room can no longer be used
+     */
+    public void setClosed(boolean closed) {
+        this.closed = closed;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public OccupancyGrid getRoomAvailability() {
+        return roomAvailability;
     }
 
     public String getRoomIdentifier() {
@@ -66,4 +108,26 @@ public class Room {
     public Integer getCapacity() {
         return capacity;
     }
+
+    /**
+     * Returns the floor the room was added to
+     *
+     * @return the floor or null if the room is not part of a building
+     */
+    public Floor getFloor() {
+        return floor;
+    }
+
+    /**
+     * Returns the building the room was added to
+     *
+     * @return the building or null if the room is not part of a building
+     */
+    public Building getBuilding() {
+        return floor == null ? null : floor.getBuilding();
+    }
+
+    void setFloor(Floor floor) {
+        this.floor = floor;
+    }
 }
\ No newline at end of file
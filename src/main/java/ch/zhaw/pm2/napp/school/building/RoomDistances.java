@@ -0,0 +1,140 @@
+package ch.zhaw.pm2.napp.school.building;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The walking distances between all rooms of the school, precomputed into a dense matrix. <br>
+ * <p>
+ * The distance between two rooms is derived from their location: rooms on the same floor are {@value #SAME_FLOOR_DISTANCE} apart,
+ * every floor in between adds {@value #FLOOR_CHANGE_DISTANCE}, and walking to another building adds {@value #BUILDING_CHANGE_DISTANCE}
+ * plus the floors down to the ground floor and up again. Single distances can be overridden, e.g. for a bridge between two buildings.
+ * <p>
+ * The row of each room is looked up by identity, so {@link #getDistance(Room, Room)} takes a lookup and two array accesses.
+ * The rooms themselves are not changed, so several matrices over the same rooms, e.g. of two generators, are independent of each other.
+ */
+public class RoomDistances {
+    public static final int SAME_FLOOR_DISTANCE = 1;
+    public static final int FLOOR_CHANGE_DISTANCE = 2;
+    public static final int BUILDING_CHANGE_DISTANCE = 10;
+
+    private final List<Room> rooms = new ArrayList<>();
+    private final Map<Room, Integer> roomIndices = new IdentityHashMap<>();
+    private final int[][] distances;
+    private final Set<Room> roomsWithOverriddenDistance = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Creates the distance matrix of all rooms of the given buildings
+     *
+     * @param buildings - the buildings whose rooms are included
+     */
+    public RoomDistances(List<Building> buildings) {
+        for (Building building : buildings) {
+            for (Room room : building.getAllRooms()) {
+                roomIndices.put(room, rooms.size());
+                rooms.add(room);
+            }
+        }
+        distances = new int[rooms.size()][rooms.size()];
+        for (int from = 0; from < rooms.size(); from++) {
+            for (int to = from + 1; to < rooms.size(); to++) {
+                int distance = estimateDistance(rooms.get(from), rooms.get(to));
+                distances[from][to] = distance;
+                distances[to][from] = distance;
+            }
+        }
+    }
+
+    /**
+     * Overrides the walking distance between two rooms in both directions
+     *
+     * @param firstRoom  - one room
+     * @param secondRoom - the other room
+     * @param distance   - the new distance
+     * @throws IllegalArgumentException if the distance is negative or a room is not part of the matrix
+     */
+    public void setDistance(Room firstRoom, Room secondRoom, int distance) {
+        if (distance < 0) {
+            throw new IllegalArgumentException("The distance between two rooms must not be negative.");
+        }
+        Integer firstRoomIndex = roomIndices.get(firstRoom);
+        Integer secondRoomIndex = roomIndices.get(secondRoom);
+        if (firstRoomIndex == null || secondRoomIndex == null) {
+            throw new IllegalArgumentException("Both rooms must be part of the school.");
+        }
+        if (firstRoom != secondRoom) {
+            distances[firstRoomIndex][secondRoomIndex] = distance;
+            distances[secondRoomIndex][firstRoomIndex] = distance;
+            roomsWithOverriddenDistance.add(firstRoom);
+            roomsWithOverriddenDistance.add(secondRoom);
+        }
+    }
+
+    /**
+     * Returns the walking distance between two rooms. A room that is not part of the matrix is treated like
+     * {@link #estimateDistance(Room, Room)} does
+     *
+     * @param firstRoom  - one room
+     * @param secondRoom - the other room
+     * @return the distance, 0 for the same room
+     */
+    public int getDistance(Room firstRoom, Room secondRoom) {
+        if (firstRoom == secondRoom) {
+            return 0;
+        }
+        Integer firstRoomIndex = roomIndices.get(firstRoom);
+        Integer secondRoomIndex = roomIndices.get(secondRoom);
+        if (firstRoomIndex == null || secondRoomIndex == null) {
+            return estimateDistance(firstRoom, secondRoom);
+        }
+        return distances[firstRoomIndex][secondRoomIndex];
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Returns whether a distance of the room was overridden, so it may differ from the rooms next to it
+     *
+     * @param room - the room to check
+     * @return true if {@link #setDistance(Room, Room, int)} was called for the room
+     */
+    public boolean hasOverriddenDistance(Room room) {
+        return roomsWithOverriddenDistance.contains(room);
+    }
+
+    /**
+     * Derives the walking distance between two rooms from their building and floor.
+     * Rooms without a building are treated as if they were in a building of their own.
+     */
+    static int estimateDistance(Room firstRoom, Room secondRoom) {
+        if (firstRoom == secondRoom) {
+            return 0;
+        }
+        Building firstBuilding = firstRoom.getBuilding();
+        if (firstBuilding == null || firstBuilding != secondRoom.getBuilding()) {
+            return BUILDING_CHANGE_DISTANCE + FLOOR_CHANGE_DISTANCE * (getLevel(firstRoom.getFloor()) + getLevel(secondRoom.getFloor()));
+        }
+        return SAME_FLOOR_DISTANCE + FLOOR_CHANGE_DISTANCE * Math.abs(getLevel(firstRoom.getFloor()) - getLevel(secondRoom.getFloor()));
+    }
+
+    /**
+     * Returns how many floors lie between the floor and the ground floor. Numeric floor identifiers are taken as the level,
+     * other floors are counted in the order they were added to the building.
+     */
+    private static int getLevel(Floor floor) {
+        if (floor == null) {
+            return 0;
+        }
+        try {
+            return Math.abs(Integer.parseInt(floor.getFloorIdentifier().trim()));
+        } catch (NumberFormatException e) {
+            return floor.getBuilding() == null ? 0 : floor.getBuilding().getFloors().indexOf(floor);
+        }
+    }
+}
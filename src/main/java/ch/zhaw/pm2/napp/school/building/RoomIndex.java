@@ -0,0 +1,139 @@
+package ch.zhaw.pm2.napp.school.building;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * An index of all rooms of the school, sorted by their capacity.
+ * Rooms with the same capacity keep the order in which they were added.
+ * <p>
+ * The index answers which rooms are large enough for a school class with a binary search and returns them
+ * smallest first, so that large rooms stay free for large school classes (best fit).
+ */
+public class RoomIndex {
+    private final List<Room> roomsByCapacity = new ArrayList<>();
+
+    /**
+     * Creates an index containing all rooms of the given buildings
+     *
+     * @param buildings - the buildings whose rooms are indexed
+     */
+    public RoomIndex(List<Building> buildings) {
+        for (Building building : buildings) {
+            for (Room room : building.getAllRooms()) {
+                addRoom(room);
+            }
+        }
+    }
+
+    /**
+     * Adds a room behind all rooms with the same or a smaller capacity
+     *
+     * @param room - the room to add
+     */
+    public void addRoom(Room room) {
+        roomsByCapacity.add(findFirstRoomWithCapacity(room.getCapacity() + 1), room);
+    }
+
+    /**
+     * Searches the smallest room with enough capacity that is free during all given time slots.
+     * The first room with enough capacity is found in logarithmic time, occupied rooms are skipped from there on.
+     *
+     * @param dayOfWeek       - the day the room is needed
+     * @param timeSlotMask    - the bitmask of the time slots the room is needed, see {@link ch.zhaw.pm2.napp.school.timetable.OccupancyGrid}
+     * @param minimumCapacity - the number of people that must fit in the room
+     * @param isAlsoFree      - an additional condition the room has to fulfill
+     * @return the best fitting room or null if no room is free
+     */
+    public Room findSmallestFreeRoom(DayOfWeek dayOfWeek, long timeSlotMask, int minimumCapacity, Predicate<Room> isAlsoFree) {
+        for (int i = findFirstRoomWithCapacity(minimumCapacity); i < roomsByCapacity.size(); i++) {
+            Room room = roomsByCapacity.get(i);
+            if (room.isFree(dayOfWeek, timeSlotMask) && isAlsoFree.test(room)) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches the free room with enough capacity that is the shortest walk away. Of rooms equally far away the smallest is taken,
+     * so without a distance the result is the same as {@link #findSmallestFreeRoom(DayOfWeek, long, int, Predicate)}.
+     * The search stops at the first free room without any distance.
+     *
+     * @param dayOfWeek       - the day the room is needed
+     * @param timeSlotMask    - the bitmask of the time slots the room is needed
+     * @param minimumCapacity - the number of people that must fit in the room
+     * @param isAlsoFree      - an additional condition the room has to fulfill
+     * @param distance        - the walking distance of a room, e.g. to the rooms of the lessons before and after
+     * @return the closest fitting room or null if no room is free
+     */
+    public Room findClosestFreeRoom(DayOfWeek dayOfWeek, long timeSlotMask, int minimumCapacity, Predicate<Room> isAlsoFree, ToIntFunction<Room> distance) {
+        Room closestRoom = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (int i = findFirstRoomWithCapacity(minimumCapacity); i < roomsByCapacity.size() && closestDistance > 0; i++) {
+            Room room = roomsByCapacity.get(i);
+            if (room.isFree(dayOfWeek, timeSlotMask) && isAlsoFree.test(room)) {
+                int roomDistance = distance.applyAsInt(room);
+                if (roomDistance < closestDistance) {
+                    closestRoom = room;
+                    closestDistance = roomDistance;
+                }
+            }
+        }
+        return closestRoom;
+    }
+
+    /**
+     * Searches all rooms with enough capacity that are free during all given time slots.
+     *
+     * @param dayOfWeek       - the day the room is needed
+     * @param timeSlotMask    - the bitmask of the time slots the room is needed
+     * @param minimumCapacity - the number of people that must fit in the room
+     * @param isAlsoFree      - an additional condition the rooms have to fulfill
+     * @return the free rooms, smallest first
+     */
+    public List<Room> findFreeRooms(DayOfWeek dayOfWeek, long timeSlotMask, int minimumCapacity, Predicate<Room> isAlsoFree) {
+        List<Room> freeRooms = new ArrayList<>();
+        for (int i = findFirstRoomWithCapacity(minimumCapacity); i < roomsByCapacity.size(); i++) {
+            Room room = roomsByCapacity.get(i);
+            if (room.isFree(dayOfWeek, timeSlotMask) && isAlsoFree.test(room)) {
+                freeRooms.add(room);
+            }
+        }
+        return freeRooms;
+    }
+
+    /**
+     * Counts the rooms that are large enough, regardless of whether they are occupied
+     *
+     * @param minimumCapacity - the number of people that must fit in the room
+     * @return the number of rooms with enough capacity
+     */
+    public int countRoomsWithCapacity(int minimumCapacity) {
+        return roomsByCapacity.size() - findFirstRoomWithCapacity(minimumCapacity);
+    }
+
+    public List<Room> getRoomsByCapacity() {
+        return roomsByCapacity;
+    }
+
+    /**
+     * Binary search for the position of the first room whose capacity is at least the given capacity
+     */
+    private int findFirstRoomWithCapacity(int minimumCapacity) {
+        int low = 0;
+        int high = roomsByCapacity.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (roomsByCapacity.get(middle).getCapacity() < minimumCapacity) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
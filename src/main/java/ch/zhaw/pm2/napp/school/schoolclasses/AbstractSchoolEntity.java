@@ -27,9 +27,20 @@ public abstract class AbstractSchoolEntity {
      * @param id       - the id of the school entity. Could be marticular number or class id or similar.
      */
     protected AbstractSchoolEntity(List<Subject> subjects, String id) {
+        this(subjects, id, new Timetable());
+    }
+
+    /**
+     * Creates an AbstractSchoolEntity with a {@link ModuleSchedule} and the given {@link Timetable}
+     *
+     * @param subjects  - List<Subject> containing all required Subjects that are required to create a moduleSchedule
+     * @param id        - the id of the school entity. Could be marticular number or class id or similar.
+     * @param timetable - the empty timetable of the school entity
+     */
+    protected AbstractSchoolEntity(List<Subject> subjects, String id, Timetable timetable) {
         if (!id.isEmpty()) {
             this.moduleSchedule = new ModuleSchedule(subjects);
-            this.timetable = new Timetable();
+            this.timetable = timetable;
             this.id = id;
             this.subjects = subjects;
         } else {
@@ -1,6 +1,8 @@
 package ch.zhaw.pm2.napp.school.schoolclasses;
 
+import ch.zhaw.pm2.napp.school.timetable.PersonalTimetable;
 import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.util.List;
 
@@ -30,7 +32,22 @@ public class Person extends AbstractSchoolEntity {
      * @param subjects            List of subjects person has to visit
      */
     public Person(String matriculationNumber, String lastName, String firstName, List<SchoolVisitorRole> schoolVisitorRole, List<Subject> subjects) throws IllegalArgumentException {
-        super(subjects, matriculationNumber);
+        this(matriculationNumber, lastName, firstName, schoolVisitorRole, subjects, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Instances a Person object whose timetable is based on the given template.
+     *
+     * @param matriculationNumber Unique Identifier of a Person
+     * @param lastName            Last Name
+     * @param firstName           First Name
+     * @param schoolVisitorRole   List of SchoolVisitorRole (Teachers can also be Students)
+     * @param subjects            List of subjects person has to visit
+     * @param timetableTemplate   the time slots of each day of the school
+     */
+    public Person(String matriculationNumber, String lastName, String firstName, List<SchoolVisitorRole> schoolVisitorRole, List<Subject> subjects,
+                  TimetableTemplate timetableTemplate) throws IllegalArgumentException {
+        super(subjects, matriculationNumber, new PersonalTimetable(timetableTemplate));
         validateInputValues(lastName ,firstName, schoolVisitorRole);
             this.matriculationNumber = matriculationNumber;
             this.lastName = lastName;
@@ -56,6 +73,17 @@ public class Person extends AbstractSchoolEntity {
         }
     }
 
+    /**
+     * Adds the lessons of the school class to the timetable of the person, without copying them. See {@link PersonalTimetable}.
+     *
+     * @param schoolClass the school class the person attends
+     */
+    public void attendSchoolClass(SchoolClass schoolClass) {
+        if (getTimetable() instanceof PersonalTimetable personalTimetable) {
+            personalTimetable.attendSchoolClass(schoolClass);
+        }
+    }
+
     public String getMatriculationNumber() {
         return matriculationNumber;
     }
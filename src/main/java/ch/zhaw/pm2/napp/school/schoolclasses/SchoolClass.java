@@ -1,6 +1,8 @@
 package ch.zhaw.pm2.napp.school.schoolclasses;
 
 import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.Timetable;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,7 +27,19 @@ public class SchoolClass extends AbstractSchoolEntity {
      * @param subjects      subject assigned to this SchoolClass
      */
     public SchoolClass(String schoolClassID, List<Subject> subjects) {
-        super(subjects, schoolClassID);
+        this(schoolClassID, subjects, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Creates an Empty class whose timetable is based on the given template.
+     * Students and Teachers have to be added afterwards.
+     *
+     * @param schoolClassID     Unique identifier of the schoolClass
+     * @param subjects          subject assigned to this SchoolClass
+     * @param timetableTemplate the time slots of each day of the school
+     */
+    public SchoolClass(String schoolClassID, List<Subject> subjects, TimetableTemplate timetableTemplate) {
+        super(subjects, schoolClassID, new Timetable(timetableTemplate));
         this.teachers = new ArrayList<>();
         this.students = new ArrayList<>();
     }
@@ -34,8 +48,18 @@ public class SchoolClass extends AbstractSchoolEntity {
         return students;
     }
 
+    /**
+     * Adds a student to the school class. The timetable of the student shows the lessons of the school class from now on.
+     *
+     * @param student the student attending the school class
+     */
     public void addStudent(Person student) {
         students.add(student);
+        student.attendSchoolClass(this);
+    }
+
+    public List<Teacher> getTeachers() {
+        return teachers;
     }
 
     public void addTeacher(Teacher teacher) {
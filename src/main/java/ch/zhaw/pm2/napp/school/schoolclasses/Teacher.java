@@ -2,8 +2,11 @@ package ch.zhaw.pm2.napp.school.schoolclasses;
 
 import ch.zhaw.pm2.napp.school.timetable.Subject;
 import ch.zhaw.pm2.napp.school.timetable.TimeSlot;
+import ch.zhaw.pm2.napp.school.timetable.Timetable;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
 
 import java.time.DayOfWeek;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -33,9 +36,26 @@ public class Teacher extends Person {
      * @param teachableSubjects   List of subjects this Teacher can teach
      */
     public Teacher(String matriculationNumber, String lastName, String firstName, List<SchoolVisitorRole> schoolVisitorRole, double workload, List<DayOfWeek> availableWeekDays, List<Subject> teachableSubjects) throws IllegalArgumentException {
-        super(matriculationNumber, lastName, firstName, schoolVisitorRole, teachableSubjects);
+        this(matriculationNumber, lastName, firstName, schoolVisitorRole, workload, availableWeekDays, teachableSubjects, TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Instances a Teacher object whose timetable is based on the given template.
+     *
+     * @param matriculationNumber Unique Identifier of a Person
+     * @param lastName            Last Name
+     * @param firstName           First Name
+     * @param schoolVisitorRole   List of SchoolVisitorRole (Teachers can also be Students)
+     * @param workload            how many percent of the default pensum can be covered by this Teacher
+     * @param availableWeekDays   on which days this Teacher can work
+     * @param teachableSubjects   List of subjects this Teacher can teach
+     * @param timetableTemplate   the time slots of each day of the school
+     */
+    public Teacher(String matriculationNumber, String lastName, String firstName, List<SchoolVisitorRole> schoolVisitorRole, double workload, List<DayOfWeek> availableWeekDays,
+                   List<Subject> teachableSubjects, TimetableTemplate timetableTemplate) throws IllegalArgumentException {
+        super(matriculationNumber, lastName, firstName, schoolVisitorRole, teachableSubjects, timetableTemplate);
         this.workload = workload;
-        this.availableWeekDays = availableWeekDays;
+        this.availableWeekDays = new ArrayList<>(availableWeekDays);
     }
 
     /**
@@ -50,26 +70,81 @@ public class Teacher extends Person {
         if (getTimetable() == null) {
             return true;
         }
-        return isAvailable(dayOfWeek, timeSlot, subject) && canTeachThisSubject(subject) && isWorkLoadNotTooHigh(subject);
+        return isAvailable(dayOfWeek, timeSlot, subject) && canTeach(subject) && isWorkLoadNotTooHigh(subject);
     }
 
-    private boolean canTeachThisSubject(Subject subject) {
+    /**
+     * Returns whether the teacher can teach a whole block of lessons. Depending on the schedule, the subject and the workload
+     *
+     * @param dayOfWeek    the day of the week when you want to know if the teacher is free.
+     * @param timeSlotMask the bitmask of the time slots of the block, see {@link ch.zhaw.pm2.napp.school.timetable.OccupancyGrid}
+     * @param subject      that is to be taught
+     * @return whether the teacher can teach or not
+     */
+    public boolean isFreeToTeach(DayOfWeek dayOfWeek, long timeSlotMask, Subject subject) {
+        if (getTimetable() == null) {
+            return true;
+        }
+        return availableWeekDays.contains(dayOfWeek) && getTimetable().getOccupancyGrid().isFree(dayOfWeek, timeSlotMask)
+                && canTeach(subject) && isWorkLoadNotTooHigh(subject);
+    }
+
+    /**
+     * Returns whether the subject is one of the teachable subjects of the teacher.
+     *
+     * @param subject the subject to check
+     * @return true if the teacher can teach the subject
+     */
+    public boolean canTeach(Subject subject) {
         return getModuleSchedule().requiredSubjects().contains(subject);
     }
 
     private boolean isWorkLoadNotTooHigh(Subject subject) {
-        double workloadInLessons = getTimetable().getAmountOfPossibleLessonsPerWeek() * workload;
-        return getTimetable().getAmountOfSetLessonsPerWeek() + subject.weeklyLessons() <= workloadInLessons;
+        return hasCapacityFor(subject.weeklyLessons());
     }
 
-    private boolean isAvailable(DayOfWeek dayOfWeek, TimeSlot timeSlot, Subject subject) {
-        if (availableWeekDays.contains(dayOfWeek)) {
-            for (List<TimeSlot> list : getTimetable().getFreeTimeSlotsForSubjectPerDay(subject, dayOfWeek)) {
-                if (list.contains(timeSlot)) {
-                    return true;
-                }
-            }
+    /**
+     * Returns whether the teacher can take over additional lessons without exceeding the workload.
+     * Both lesson counts are kept up to date by the {@link ch.zhaw.pm2.napp.school.timetable.Timetable}, so this check does not walk the timetable.
+     *
+     * @param additionalLessons the number of lessons that would be added to the timetable
+     * @return true if the workload allows the additional lessons
+     */
+    public boolean hasCapacityFor(int additionalLessons) {
+        Timetable timetable = getTimetable();
+        return timetable.getAmountOfSetLessonsPerWeek() + additionalLessons <= timetable.getAmountOfPossibleLessonsPerWeek() * workload;
+    }
+
+    public double getWorkload() {
+        return workload;
+    }
+
+    public List<DayOfWeek> getAvailableWeekDays() {
+        return availableWeekDays;
+    }
+
+    /**
+     * Removes a day on which the teacher can work. Lessons already set on that day stay in the timetable until they are moved.
+     *
+     * @param dayOfWeek the day on which the teacher is no longer available
+     * @return true if the teacher was available on that day before
+     */
+    public boolean removeAvailableWeekDay(DayOfWeek dayOfWeek) {
+        return availableWeekDays.remove(dayOfWeek);
+    }
+
+    /**
+     * Adds a day on which the teacher can work.
+     *
+     * @param dayOfWeek the day on which the teacher is available
+     */
+    public void addAvailableWeekDay(DayOfWeek dayOfWeek) {
+        if (!availableWeekDays.contains(dayOfWeek)) {
+            availableWeekDays.add(dayOfWeek);
         }
-        return false;
+    }
+
+    private boolean isAvailable(DayOfWeek dayOfWeek, TimeSlot timeSlot, Subject subject) {
+        return availableWeekDays.contains(dayOfWeek) && getTimetable().isFreeForSubject(dayOfWeek, timeSlot, subject);
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimeBudgetExceededException;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import ch.zhaw.pm2.napp.school.timetable.strategy.FirstFitSchedulingStrategy;
+import ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * This class contains a constraint solver that generates the timetables of several school classes at once. <br>
+ * <p>
+ * Other than the first-fit algorithm of the {@link TimetableGenerator}, the solver revisits its decisions:
+ * if a subject cannot be placed anymore, the previously placed subjects are moved to their next possible placement (backtracking).
+ * After each placement the solver checks whether every subject that is still missing has at least one possible placement left,
+ * so dead ends are detected before they are entered (forward checking).
+ * The subjects are placed in the order given by a {@link SchedulingStrategy}.
+ * The search stops with a {@link TimetableException} when the time budget is used up, the thread is interrupted
+ * or the generation is cancelled, see {@link GenerationMonitor}.
+ */
+public class BacktrackingTimetableSolver {
+    private final TimetableGenerator timetableGenerator;
+    private final Duration timeBudget;
+    private final SchedulingStrategy schedulingStrategy;
+
+    /**
+     * Creates a backtracking solver that places the subjects in the order of the school classes and their module schedules.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     * @param timeBudget         the maximum wall-clock time the search may take
+     */
+    public BacktrackingTimetableSolver(TimetableGenerator timetableGenerator, Duration timeBudget) {
+        this(timetableGenerator, timeBudget, new FirstFitSchedulingStrategy());
+    }
+
+    /**
+     * Creates a backtracking solver.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     * @param timeBudget         the maximum wall-clock time the search may take
+     * @param schedulingStrategy the strategy deciding in which order the subjects are placed
+     */
+    public BacktrackingTimetableSolver(TimetableGenerator timetableGenerator, Duration timeBudget, SchedulingStrategy schedulingStrategy) {
+        this.timetableGenerator = timetableGenerator;
+        this.timeBudget = timeBudget;
+        this.schedulingStrategy = schedulingStrategy;
+    }
+
+    /**
+     * Generates the timetables for all school classes.
+     * If no timetable is found, all placements made by the solver are removed again.
+     *
+     * @param schoolClasses the school classes for which the timetables are to be created
+     * @throws TimetableException if no timetable exists or none was found within the time budget.
+     */
+    public void generateTimetables(List<SchoolClass> schoolClasses) throws TimetableException {
+        generateTimetables(schoolClasses, System.nanoTime() + timeBudget.toNanos());
+    }
+
+    /**
+     * Generates the timetables for all school classes like {@link #generateTimetables(List)}, but stops at a deadline shared with
+     * other searches, e.g. of the other components of the school. The time budget of the solver is the one reported when the deadline passes.
+     *
+     * @param schoolClasses the school classes for which the timetables are to be created
+     * @param deadline      the {@link System#nanoTime()} at which the search stops
+     * @throws TimetableException if no timetable exists or none was found before the deadline.
+     */
+    public void generateTimetables(List<SchoolClass> schoolClasses, long deadline) throws TimetableException {
+        List<LessonDemand> lessonDemands = schedulingStrategy.orderLessonDemands(TimetableGenerator.createLessonDemands(schoolClasses), timetableGenerator);
+        PlacementTrail placementTrail = new PlacementTrail(timetableGenerator);
+        boolean solutionFound;
+        try {
+            solutionFound = search(lessonDemands, 0, placementTrail, deadline);
+        } catch (TimetableException e) {
+            placementTrail.rollbackAll();
+            throw e;
+        }
+        if (!solutionFound) {
+            throw new TimetableException("No timetable exists for the given school classes. Check the resources.", diagnoseUnplaceableDemands(lessonDemands));
+        }
+    }
+
+    /**
+     * Diagnoses the subjects that cannot be placed even in the empty timetables. If every subject fits on its own,
+     * only their combination is impossible and the list is empty.
+     */
+    private List<InfeasibilityDiagnosis> diagnoseUnplaceableDemands(List<LessonDemand> lessonDemands) {
+        List<InfeasibilityDiagnosis> diagnoses = new ArrayList<>();
+        for (LessonDemand lessonDemand : lessonDemands) {
+            if (!timetableGenerator.hasAnyPlacement(lessonDemand)) {
+                diagnoses.add(timetableGenerator.diagnose(lessonDemand));
+            }
+        }
+        return diagnoses;
+    }
+
+    private boolean search(List<LessonDemand> lessonDemands, int index, PlacementTrail placementTrail, long deadline) throws TimetableException {
+        if (index == lessonDemands.size()) {
+            return true;
+        }
+        LessonDemand lessonDemand = lessonDemands.get(index);
+        int checkpoint = placementTrail.checkpoint();
+        for (SubjectPlacement subjectPlacement : timetableGenerator.findAllPlacements(lessonDemand)) {
+            checkTimeBudget(deadline);
+            placementTrail.apply(subjectPlacement);
+            if (isEveryRemainingDemandPlaceable(lessonDemands, index + 1) && search(lessonDemands, index + 1, placementTrail, deadline)) {
+                return true;
+            }
+            placementTrail.rollbackTo(checkpoint);
+        }
+        return false;
+    }
+
+    private boolean isEveryRemainingDemandPlaceable(List<LessonDemand> lessonDemands, int firstRemainingIndex) {
+        for (int i = firstRemainingIndex; i < lessonDemands.size(); i++) {
+            if (!timetableGenerator.hasAnyPlacement(lessonDemands.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkTimeBudget(long deadline) throws TimetableException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new TimetableException("The timetable generation was interrupted.");
+        }
+        timetableGenerator.getGenerationMonitor().checkCancelled();
+        if (System.nanoTime() - deadline > 0) {
+            throw createTimeBudgetExceededException(timeBudget);
+        }
+    }
+
+    /**
+     * Creates the exception thrown when no timetable was found within the time budget.
+     * The budget is given in seconds with millisecond precision, so budgets below one second are not reported as 0 seconds.
+     *
+     * @param timeBudget the time budget that was used up
+     * @return the exception naming the time budget
+     */
+    static TimeBudgetExceededException createTimeBudgetExceededException(Duration timeBudget) {
+        return new TimeBudgetExceededException(String.format(Locale.ROOT, "No timetable found within %.3f seconds. Increase the time budget or check the resources.",
+                timeBudget.toMillis() / 1000.0));
+    }
+}
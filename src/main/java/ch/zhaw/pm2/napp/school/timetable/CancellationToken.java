@@ -0,0 +1,22 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+/**
+ * A token to stop a running timetable generation from another thread, e.g. from a button of the UI. <br>
+ * <p>
+ * While the timetables are generated, cancelling stops the generation with a {@link ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException}.
+ * While they are optimized, cancelling stops the {@link TimetableOptimizer}, which keeps the best timetables found so far.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Requests the generation to stop as soon as possible.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,333 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled form of the school for the generator. <br>
+ * <p>
+ * The teachers, rooms, subjects, school classes and students get dense int ids, in the order in which they are passed.
+ * Their relationships are stored in primitive arrays, so the hot paths of the generator compare ints and bits instead of strings,
+ * lists and {@link java.time.LocalTime}s:
+ * <ul>
+ * <li>the subjects a teacher can teach as a bitset, the days the teacher is at school as a bitmask of {@link DayOfWeek}
+ * and the maximum number of lessons per week allowed by the workload,</li>
+ * <li>the qualified teachers of each subject and the subjects and students of each school class in compressed sparse rows (CSR):
+ * the ids of row {@code i} are stored from {@code offsets[i]} up to {@code offsets[i + 1]},</li>
+ * <li>the capacities of the rooms, the sizes of the school classes and the weekly lessons of the subjects.</li>
+ * </ul>
+ * The feasibility check, the component solver and the room choice read the sizes and weekly lessons of the school classes from here.
+ * School classes that were not compiled, e.g. with a generator created without them, are read from the object graph instead.
+ * Time slots already have dense ids, their ordinals in the {@link TimeSlotRegistry}.
+ * <p>
+ * Only the days at school can change after compiling, see {@link #refreshAvailableWeekDays()}. Everything else is fixed for a generation.
+ */
+class CompiledSchoolModel {
+    static final int UNKNOWN_ID = -1;
+
+    private final List<Teacher> teachers;
+    private final List<Room> rooms;
+    private final List<SchoolClass> schoolClasses;
+    private final List<Subject> subjects = new ArrayList<>();
+    private final Map<Teacher, Integer> teacherIds = new IdentityHashMap<>();
+    private final Map<Room, Integer> roomIds = new IdentityHashMap<>();
+    private final Map<SchoolClass, Integer> schoolClassIds = new IdentityHashMap<>();
+    private final Map<Person, Integer> studentIds = new IdentityHashMap<>();
+    private final Map<Subject, Integer> subjectIds = new HashMap<>();
+
+    private final int subjectWords;
+    private final long[] teachableSubjects;
+    private final int[] availableWeekDays;
+    private final int[] lessonLimits;
+    private final int[] subjectWeeklyLessons;
+    private final int[] qualifiedTeacherOffsets;
+    private final int[] qualifiedTeacherIds;
+    private final List<List<Teacher>> qualifiedTeachers = new ArrayList<>();
+    private final int[] roomCapacities;
+    private final int[] schoolClassSizes;
+    private final int[] schoolClassSubjectOffsets;
+    private final int[] schoolClassSubjectIds;
+    private final int[] schoolClassStudentOffsets;
+    private final int[] schoolClassStudentIds;
+
+    /**
+     * Compiles the school. A teacher without a timetable gets no lesson limit and is never reported to have capacity.
+     *
+     * @param allTeachers   all teachers of the school, in the order in which they should be considered
+     * @param rooms         all rooms of the school
+     * @param schoolClasses the school classes, may be empty if they are not known yet
+     */
+    CompiledSchoolModel(List<Teacher> allTeachers, List<Room> rooms, List<SchoolClass> schoolClasses) {
+        this.teachers = List.copyOf(allTeachers);
+        this.rooms = List.copyOf(rooms);
+        this.schoolClasses = List.copyOf(schoolClasses);
+        for (Teacher teacher : teachers) {
+            teacherIds.putIfAbsent(teacher, teacherIds.size());
+            teacher.getSubjects().forEach(this::registerSubject);
+        }
+        for (SchoolClass schoolClass : this.schoolClasses) {
+            schoolClass.getModuleSchedule().requiredSubjects().forEach(this::registerSubject);
+        }
+
+        subjectWeeklyLessons = new int[subjects.size()];
+        for (int subjectId = 0; subjectId < subjects.size(); subjectId++) {
+            subjectWeeklyLessons[subjectId] = subjects.get(subjectId).weeklyLessons();
+        }
+        subjectWords = (subjects.size() + Long.SIZE - 1) / Long.SIZE;
+        teachableSubjects = new long[teachers.size() * subjectWords];
+        availableWeekDays = new int[teachers.size()];
+        lessonLimits = new int[teachers.size()];
+        int[] teachersPerSubject = new int[subjects.size()];
+        for (int teacherId = 0; teacherId < teachers.size(); teacherId++) {
+            Teacher teacher = teachers.get(teacherId);
+            for (Subject subject : teacher.getSubjects()) {
+                int subjectId = subjectIds.get(subject);
+                if (!canTeach(teacherId, subjectId)) {
+                    teachableSubjects[teacherId * subjectWords + subjectId / Long.SIZE] |= 1L << subjectId;
+                    teachersPerSubject[subjectId]++;
+                }
+            }
+            Timetable timetable = teacher.getTimetable();
+            lessonLimits[teacherId] = timetable == null ? 0 : (int) Math.floor(timetable.getAmountOfPossibleLessonsPerWeek() * teacher.getWorkload());
+        }
+        refreshAvailableWeekDays();
+
+        qualifiedTeacherOffsets = toOffsets(teachersPerSubject);
+        qualifiedTeacherIds = new int[qualifiedTeacherOffsets[subjects.size()]];
+        int[] nextQualifiedTeacher = qualifiedTeacherOffsets.clone();
+        for (int teacherId = 0; teacherId < teachers.size(); teacherId++) {
+            for (int subjectId = 0; subjectId < subjects.size(); subjectId++) {
+                if (canTeach(teacherId, subjectId)) {
+                    qualifiedTeacherIds[nextQualifiedTeacher[subjectId]++] = teacherId;
+                }
+            }
+        }
+        for (int subjectId = 0; subjectId < subjects.size(); subjectId++) {
+            List<Teacher> teachersOfSubject = new ArrayList<>();
+            for (int i = qualifiedTeacherOffsets[subjectId]; i < qualifiedTeacherOffsets[subjectId + 1]; i++) {
+                teachersOfSubject.add(teachers.get(qualifiedTeacherIds[i]));
+            }
+            qualifiedTeachers.add(Collections.unmodifiableList(teachersOfSubject));
+        }
+
+        roomCapacities = new int[this.rooms.size()];
+        for (int roomId = 0; roomId < this.rooms.size(); roomId++) {
+            roomIds.put(this.rooms.get(roomId), roomId);
+            roomCapacities[roomId] = this.rooms.get(roomId).getCapacity();
+        }
+
+        schoolClassSizes = new int[this.schoolClasses.size()];
+        int[] subjectsPerSchoolClass = new int[this.schoolClasses.size()];
+        int[] studentsPerSchoolClass = new int[this.schoolClasses.size()];
+        for (int schoolClassId = 0; schoolClassId < this.schoolClasses.size(); schoolClassId++) {
+            SchoolClass schoolClass = this.schoolClasses.get(schoolClassId);
+            schoolClassIds.put(schoolClass, schoolClassId);
+            schoolClassSizes[schoolClassId] = schoolClass.size();
+            subjectsPerSchoolClass[schoolClassId] = schoolClass.getModuleSchedule().requiredSubjects().size();
+            studentsPerSchoolClass[schoolClassId] = schoolClass.getStudents().size();
+        }
+        schoolClassSubjectOffsets = toOffsets(subjectsPerSchoolClass);
+        schoolClassSubjectIds = new int[schoolClassSubjectOffsets[this.schoolClasses.size()]];
+        schoolClassStudentOffsets = toOffsets(studentsPerSchoolClass);
+        schoolClassStudentIds = new int[schoolClassStudentOffsets[this.schoolClasses.size()]];
+        for (int schoolClassId = 0; schoolClassId < this.schoolClasses.size(); schoolClassId++) {
+            SchoolClass schoolClass = this.schoolClasses.get(schoolClassId);
+            int subjectIndex = schoolClassSubjectOffsets[schoolClassId];
+            for (Subject subject : schoolClass.getModuleSchedule().requiredSubjects()) {
+                schoolClassSubjectIds[subjectIndex++] = subjectIds.get(subject);
+            }
+            int studentIndex = schoolClassStudentOffsets[schoolClassId];
+            for (Person student : schoolClass.getStudents()) {
+                schoolClassStudentIds[studentIndex++] = studentIds.computeIfAbsent(student, newStudent -> studentIds.size());
+            }
+        }
+    }
+
+    /**
+     * Reads the days at school of all teachers again, e.g. after a teacher dropped a day, see {@link ScheduleChange.TeacherUnavailable}.
+     */
+    void refreshAvailableWeekDays() {
+        for (int teacherId = 0; teacherId < teachers.size(); teacherId++) {
+            int dayMask = 0;
+            for (DayOfWeek dayOfWeek : teachers.get(teacherId).getAvailableWeekDays()) {
+                dayMask |= toDayBit(dayOfWeek);
+            }
+            availableWeekDays[teacherId] = dayMask;
+        }
+    }
+
+    /**
+     * Returns the teachers who can teach the subject.
+     *
+     * @param subject the subject
+     * @return the qualified teachers, an empty list if nobody can teach the subject
+     */
+    List<Teacher> getQualifiedTeachers(Subject subject) {
+        int subjectId = getSubjectId(subject);
+        return subjectId == UNKNOWN_ID ? Collections.emptyList() : qualifiedTeachers.get(subjectId);
+    }
+
+    int getQualifiedTeacherOffset(int subjectId) {
+        return qualifiedTeacherOffsets[subjectId];
+    }
+
+    int getQualifiedTeacherId(int index) {
+        return qualifiedTeacherIds[index];
+    }
+
+    /**
+     * Returns whether the teacher can teach the subject with a single bit test.
+     *
+     * @param teacherId the id of the teacher
+     * @param subjectId the id of the subject
+     * @return true if the subject is one of the teachable subjects of the teacher
+     */
+    boolean canTeach(int teacherId, int subjectId) {
+        return (teachableSubjects[teacherId * subjectWords + subjectId / Long.SIZE] & 1L << subjectId) != 0;
+    }
+
+    /**
+     * Returns whether the teacher is at school on the day.
+     *
+     * @param teacherId the id of the teacher
+     * @param dayOfWeek the day
+     * @return true if the day is one of the available weekdays of the teacher
+     */
+    boolean isAvailableOn(int teacherId, DayOfWeek dayOfWeek) {
+        return (availableWeekDays[teacherId] & toDayBit(dayOfWeek)) != 0;
+    }
+
+    /**
+     * Returns whether the teacher can take over additional lessons without exceeding the workload, like {@link Teacher#hasCapacityFor(int)}.
+     *
+     * @param teacherId         the id of the teacher
+     * @param additionalLessons the number of lessons that would be added to the timetable
+     * @return true if the workload allows the additional lessons
+     */
+    boolean hasCapacityFor(int teacherId, int additionalLessons) {
+        Timetable timetable = teachers.get(teacherId).getTimetable();
+        return timetable != null && timetable.getAmountOfSetLessonsPerWeek() + additionalLessons <= lessonLimits[teacherId];
+    }
+
+    Teacher getTeacher(int teacherId) {
+        return teachers.get(teacherId);
+    }
+
+    int getTeacherId(Teacher teacher) {
+        return teacherIds.getOrDefault(teacher, UNKNOWN_ID);
+    }
+
+    int getSubjectId(Subject subject) {
+        return subjectIds.getOrDefault(subject, UNKNOWN_ID);
+    }
+
+    int getRoomId(Room room) {
+        return roomIds.getOrDefault(room, UNKNOWN_ID);
+    }
+
+    int getRoomCapacity(int roomId) {
+        return roomCapacities[roomId];
+    }
+
+    int getSchoolClassId(SchoolClass schoolClass) {
+        return schoolClassIds.getOrDefault(schoolClass, UNKNOWN_ID);
+    }
+
+    int getSchoolClassSize(int schoolClassId) {
+        return schoolClassSizes[schoolClassId];
+    }
+
+    /**
+     * Returns the number of people of the school class, like {@link SchoolClass#size()}.
+     *
+     * @param schoolClass the school class
+     * @return the compiled size, or the current size if the school class was not compiled
+     */
+    int getSchoolClassSize(SchoolClass schoolClass) {
+        int schoolClassId = getSchoolClassId(schoolClass);
+        return schoolClassId == UNKNOWN_ID ? schoolClass.size() : schoolClassSizes[schoolClassId];
+    }
+
+    /**
+     * Returns the weekly lessons of all required subjects of the school class, walking its row of subject ids.
+     *
+     * @param schoolClass the school class
+     * @return the lessons per week, read from the module schedule if the school class was not compiled
+     */
+    int getWeeklyLessons(SchoolClass schoolClass) {
+        int schoolClassId = getSchoolClassId(schoolClass);
+        if (schoolClassId == UNKNOWN_ID) {
+            return FeasibilityCheck.getWeeklyLessons(schoolClass);
+        }
+        int weeklyLessons = 0;
+        for (int i = schoolClassSubjectOffsets[schoolClassId]; i < schoolClassSubjectOffsets[schoolClassId + 1]; i++) {
+            weeklyLessons += subjectWeeklyLessons[schoolClassSubjectIds[i]];
+        }
+        return weeklyLessons;
+    }
+
+    /**
+     * Returns the ids of the required subjects of the school class.
+     *
+     * @param schoolClassId the id of the school class
+     * @return the subject ids in the order of the module schedule
+     */
+    int[] getSubjectIds(int schoolClassId) {
+        return Arrays.copyOfRange(schoolClassSubjectIds, schoolClassSubjectOffsets[schoolClassId], schoolClassSubjectOffsets[schoolClassId + 1]);
+    }
+
+    /**
+     * Returns the ids of the students of the school class. A student attending several school classes has the same id in all of them.
+     *
+     * @param schoolClassId the id of the school class
+     * @return the student ids in the order of the school class
+     */
+    int[] getStudentIds(int schoolClassId) {
+        return Arrays.copyOfRange(schoolClassStudentIds, schoolClassStudentOffsets[schoolClassId], schoolClassStudentOffsets[schoolClassId + 1]);
+    }
+
+    int getTeacherCount() {
+        return teachers.size();
+    }
+
+    int getSubjectCount() {
+        return subjects.size();
+    }
+
+    int getStudentCount() {
+        return studentIds.size();
+    }
+
+    private void registerSubject(Subject subject) {
+        if (!subjectIds.containsKey(subject)) {
+            subjectIds.put(subject, subjects.size());
+            subjects.add(subject);
+        }
+    }
+
+    private static int toDayBit(DayOfWeek dayOfWeek) {
+        return 1 << dayOfWeek.ordinal();
+    }
+
+    /**
+     * Converts the number of entries per row into the row offsets of a CSR array, with the total number of entries at the end.
+     */
+    private static int[] toOffsets(int[] entriesPerRow) {
+        int[] offsets = new int[entriesPerRow.length + 1];
+        for (int row = 0; row < entriesPerRow.length; row++) {
+            offsets[row + 1] = offsets[row] + entriesPerRow[row];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,260 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimeBudgetExceededException;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class splits the school classes into groups that do not influence each other and generates their timetables in parallel. <br>
+ * <p>
+ * School classes are connected if a teacher could teach both of them. These relations form a graph of school classes and teachers,
+ * whose connected components are found with a union-find. Rooms are not part of the graph: every room large enough for a school class
+ * could host it, so the largest room alone would connect all school classes. Instead the open rooms are shared out among the components
+ * before the generation, the largest rooms first, each to the component that lacks the most room time slots for its school classes.
+ * <p>
+ * The components share no teacher and no room, so they are generated at the same time on the original school without copying anything,
+ * and the results are already merged when all components are finished. If a component fails with its share of the rooms,
+ * all its placements are removed again and the school classes are generated together as without the decomposition.
+ * If a component ran out of time, the joint generation is skipped: it would be the harder problem with even less of the time left.
+ */
+public class ComponentTimetableSolver {
+    private final TimetableGenerator timetableGenerator;
+
+    /**
+     * Creates a solver for the school classes placed by the generator.
+     *
+     * @param timetableGenerator the generator of the school
+     */
+    public ComponentTimetableSolver(TimetableGenerator timetableGenerator) {
+        this.timetableGenerator = timetableGenerator;
+    }
+
+    /**
+     * Generates the timetables of every component with the given generation, the components in parallel.
+     *
+     * @param schoolClasses       the school classes for which the timetables are to be created
+     * @param componentGeneration the generation of the timetables of one component
+     * @throws TimetableException if the school classes cannot be generated together either, a component ran out of time,
+     *                            or the generation was interrupted.
+     */
+    public void generateTimetables(List<SchoolClass> schoolClasses, ComponentGeneration componentGeneration) throws TimetableException {
+        List<Component> components = findComponents(schoolClasses);
+        if (components.size() > 1) {
+            Set<SubjectPlacement> existingPlacements = new HashSet<>(TimetableGenerator.collectPlacements(schoolClasses));
+            List<TimetableException> failures = generateComponentsInParallel(components, componentGeneration);
+            if (failures.isEmpty()) {
+                return;
+            }
+            for (SubjectPlacement subjectPlacement : TimetableGenerator.collectPlacements(schoolClasses)) {
+                if (!existingPlacements.contains(subjectPlacement)) {
+                    timetableGenerator.removePlacement(subjectPlacement);
+                }
+            }
+            timetableGenerator.getGenerationMonitor().checkCancelled();
+            for (TimetableException failure : failures) {
+                if (failure instanceof TimeBudgetExceededException) {
+                    throw failure;
+                }
+            }
+        }
+        componentGeneration.generateTimetables(schoolClasses, timetableGenerator);
+    }
+
+    /**
+     * Splits the school classes into groups without common teachers and shares the open rooms out among them.
+     *
+     * @param schoolClasses the school classes to split
+     * @return the components in the order of their first school class, with the school classes in the order of the given list
+     */
+    public List<Component> findComponents(List<SchoolClass> schoolClasses) {
+        UnionFind unionFind = new UnionFind(schoolClasses.size());
+        Map<Teacher, Integer> teacherNodes = new IdentityHashMap<>();
+        for (int schoolClassNode = 0; schoolClassNode < schoolClasses.size(); schoolClassNode++) {
+            for (Subject subject : schoolClasses.get(schoolClassNode).getModuleSchedule().requiredSubjects()) {
+                for (Teacher teacher : timetableGenerator.getCompiledSchoolModel().getQualifiedTeachers(subject)) {
+                    int teacherNode = teacherNodes.computeIfAbsent(teacher, newTeacher -> unionFind.addNode());
+                    unionFind.union(schoolClassNode, teacherNode);
+                }
+            }
+        }
+
+        Map<Integer, List<SchoolClass>> schoolClassesByRoot = new LinkedHashMap<>();
+        for (int schoolClassNode = 0; schoolClassNode < schoolClasses.size(); schoolClassNode++) {
+            schoolClassesByRoot.computeIfAbsent(unionFind.find(schoolClassNode), root -> new ArrayList<>()).add(schoolClasses.get(schoolClassNode));
+        }
+        List<List<SchoolClass>> groupedSchoolClasses = new ArrayList<>(schoolClassesByRoot.values());
+        List<List<Room>> sharedRooms = shareRooms(groupedSchoolClasses);
+        List<Component> components = new ArrayList<>();
+        for (int i = 0; i < groupedSchoolClasses.size(); i++) {
+            components.add(new Component(groupedSchoolClasses.get(i), sharedRooms.get(i)));
+        }
+        return components;
+    }
+
+    /**
+     * Shares the open rooms out among the groups, the largest room first. A group whose school classes cannot use any of the
+     * remaining smaller rooms gets the room if it still lacks room time slots for them. Otherwise the group lacking the most
+     * room time slots for all its school classes gets the room.
+     */
+    private List<List<Room>> shareRooms(List<List<SchoolClass>> groupedSchoolClasses) {
+        List<List<Room>> sharedRooms = new ArrayList<>();
+        int[] roomTimeSlots = new int[groupedSchoolClasses.size()];
+        groupedSchoolClasses.forEach(schoolClasses -> sharedRooms.add(new ArrayList<>()));
+
+        List<Room> openRooms = timetableGenerator.getRoomIndex().getRoomsByCapacity().stream().filter(room -> !room.isClosed()).toList();
+        for (int roomIndex = openRooms.size() - 1; roomIndex >= 0; roomIndex--) {
+            Room room = openRooms.get(roomIndex);
+            int nextSmallerCapacity = roomIndex > 0 ? openRooms.get(roomIndex - 1).getCapacity() : 0;
+            int chosenGroup = 0;
+            int chosenUrgentShortage = Integer.MIN_VALUE;
+            int chosenShortage = Integer.MIN_VALUE;
+            for (int group = 0; group < groupedSchoolClasses.size(); group++) {
+                int urgentShortage = countWeeklyLessons(groupedSchoolClasses.get(group), nextSmallerCapacity + 1) - roomTimeSlots[group];
+                int shortage = countWeeklyLessons(groupedSchoolClasses.get(group), 0) - roomTimeSlots[group];
+                boolean isMoreUrgent = Math.max(urgentShortage, 0) > Math.max(chosenUrgentShortage, 0)
+                        || Math.max(urgentShortage, 0) == Math.max(chosenUrgentShortage, 0) && shortage > chosenShortage;
+                if (isMoreUrgent) {
+                    chosenGroup = group;
+                    chosenUrgentShortage = urgentShortage;
+                    chosenShortage = shortage;
+                }
+            }
+            sharedRooms.get(chosenGroup).add(room);
+            roomTimeSlots[chosenGroup] += FeasibilityCheck.countTimeSlots(room.getRoomAvailability().getTimetableTemplate(), FeasibilityCheck.allWorkdays());
+        }
+        return sharedRooms;
+    }
+
+    private int countWeeklyLessons(List<SchoolClass> schoolClasses, int minimumSize) {
+        CompiledSchoolModel compiledSchoolModel = timetableGenerator.getCompiledSchoolModel();
+        int weeklyLessons = 0;
+        for (SchoolClass schoolClass : schoolClasses) {
+            if (compiledSchoolModel.getSchoolClassSize(schoolClass) >= minimumSize) {
+                weeklyLessons += compiledSchoolModel.getWeeklyLessons(schoolClass);
+            }
+        }
+        return weeklyLessons;
+    }
+
+    /**
+     * Generates every component with a generator restricted to its rooms.
+     *
+     * @return the failures of the components, an empty list if every component was generated
+     */
+    private List<TimetableException> generateComponentsInParallel(List<Component> components, ComponentGeneration componentGeneration) throws TimetableException {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(Math.min(components.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            List<Future<Void>> generatedComponents = new ArrayList<>();
+            for (Component component : components) {
+                generatedComponents.add(forkJoinPool.submit(() -> {
+                    componentGeneration.generateTimetables(component.schoolClasses(), timetableGenerator.restrictToRooms(component.rooms()));
+                    return null;
+                }));
+            }
+            List<TimetableException> failures = new ArrayList<>();
+            for (Future<Void> generatedComponent : generatedComponents) {
+                try {
+                    generatedComponent.get();
+                } catch (ExecutionException e) {
+                    // only a timetable exception leads to the joint generation, any other failure is thrown
+                    failures.add(PortfolioTimetableSolver.findTimetableException(e));
+                }
+            }
+            return failures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimetableException("The timetable generation was interrupted.");
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    /**
+     * School classes without common teachers and the rooms shared out to them.
+     *
+     * @param schoolClasses the school classes of the component
+     * @param rooms         the rooms the component may use, largest first
+     */
+    public record Component(List<SchoolClass> schoolClasses, List<Room> rooms) {
+    }
+
+    /**
+     * The generation of the timetables of one component.
+     */
+    @FunctionalInterface
+    public interface ComponentGeneration {
+        /**
+         * Generates the timetables of the school classes of one component.
+         *
+         * @param schoolClasses      the school classes of the component
+         * @param timetableGenerator the generator to use, restricted to the rooms of the component
+         * @throws TimetableException if the timetables could not be generated.
+         */
+        void generateTimetables(List<SchoolClass> schoolClasses, TimetableGenerator timetableGenerator) throws TimetableException;
+    }
+
+    /**
+     * A union-find with path halving and union by size.
+     */
+    private static class UnionFind {
+        private int[] parents;
+        private int[] sizes;
+        private int nodeCount;
+
+        UnionFind(int initialNodeCount) {
+            parents = new int[Math.max(initialNodeCount, 1)];
+            sizes = new int[parents.length];
+            while (nodeCount < initialNodeCount) {
+                addNode();
+            }
+        }
+
+        int addNode() {
+            if (nodeCount == parents.length) {
+                parents = Arrays.copyOf(parents, parents.length * 2);
+                sizes = Arrays.copyOf(sizes, sizes.length * 2);
+            }
+            parents[nodeCount] = nodeCount;
+            sizes[nodeCount] = 1;
+            return nodeCount++;
+        }
+
+        int find(int node) {
+            int root = node;
+            while (parents[root] != root) {
+                parents[root] = parents[parents[root]];
+                root = parents[root];
+            }
+            return root;
+        }
+
+        void union(int firstNode, int secondNode) {
+            int firstRoot = find(firstNode);
+            int secondRoot = find(secondNode);
+            if (firstRoot == secondRoot) {
+                return;
+            }
+            if (sizes[firstRoot] < sizes[secondRoot]) {
+                int smallerRoot = firstRoot;
+                firstRoot = secondRoot;
+                secondRoot = smallerRoot;
+            }
+            parents[secondRoot] = firstRoot;
+            sizes[firstRoot] += sizes[secondRoot];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomIndex;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ch.zhaw.pm2.napp.school.School.WORKDAYS_PER_WEEK;
+
+/**
+ * This class compares the lessons the school classes need per week with the lessons the teachers and rooms can offer. <br>
+ * <p>
+ * The comparison only uses sums, so it takes a few milliseconds and does not place a single lesson.
+ * If a sum is too small, no timetable can exist and the generation does not have to be started at all.
+ * Passing the check does not guarantee that a timetable exists, because the lessons still have to fit together.
+ * <ul>
+ * <li>Per subject: the weekly lessons of all school classes that are not placed yet against the remaining workload of the qualified teachers,
+ * which is limited by the time slots on the days the teachers are at school.</li>
+ * <li>Per school class: the weekly lessons against the time slots of its timetable.</li>
+ * <li>Per class size: the weekly lessons of all school classes of at least this size against the time slots of the rooms large enough for them.</li>
+ * </ul>
+ */
+class FeasibilityCheck {
+    private final CompiledSchoolModel compiledSchoolModel;
+    private final RoomIndex roomIndex;
+
+    /**
+     * Creates a check for the teachers and rooms of the school.
+     *
+     * @param compiledSchoolModel the compiled school with the qualified teachers of each subject and the sizes and lessons of the school classes
+     * @param roomIndex           the rooms of the school sorted by capacity
+     */
+    FeasibilityCheck(CompiledSchoolModel compiledSchoolModel, RoomIndex roomIndex) {
+        this.compiledSchoolModel = compiledSchoolModel;
+        this.roomIndex = roomIndex;
+    }
+
+    /**
+     * Checks whether the teachers and rooms can offer enough lessons for the school classes.
+     *
+     * @param schoolClasses the school classes whose timetables are to be generated
+     * @throws TimetableException listing every shortfall if the resources are not sufficient.
+     */
+    void check(List<SchoolClass> schoolClasses) throws TimetableException {
+        List<String> shortfalls = new ArrayList<>();
+        checkTeacherCapacity(schoolClasses, shortfalls);
+        checkSchoolClassCapacity(schoolClasses, shortfalls);
+        checkRoomCapacity(schoolClasses, shortfalls);
+        if (!shortfalls.isEmpty()) {
+            throw new TimetableException("The resources of the school are not sufficient. " + String.join(" ", shortfalls));
+        }
+    }
+
+    private void checkTeacherCapacity(List<SchoolClass> schoolClasses, List<String> shortfalls) {
+        Map<Subject, Integer> lessonsPerSubject = new LinkedHashMap<>();
+        for (SchoolClass schoolClass : schoolClasses) {
+            for (Subject subject : TimetableGenerator.getUnplacedSubjects(schoolClass)) {
+                lessonsPerSubject.merge(subject, subject.weeklyLessons(), Integer::sum);
+            }
+        }
+        for (Map.Entry<Subject, Integer> subjectDemand : lessonsPerSubject.entrySet()) {
+            int teacherCapacity = 0;
+            for (Teacher teacher : compiledSchoolModel.getQualifiedTeachers(subjectDemand.getKey())) {
+                teacherCapacity += getRemainingLessons(teacher);
+            }
+            if (subjectDemand.getValue() > teacherCapacity) {
+                shortfalls.add("The subject \"" + subjectDemand.getKey().name() + "\" needs " + subjectDemand.getValue()
+                        + " lessons per week, but its qualified teachers can teach " + teacherCapacity + " at most.");
+            }
+        }
+    }
+
+    private void checkSchoolClassCapacity(List<SchoolClass> schoolClasses, List<String> shortfalls) {
+        for (SchoolClass schoolClass : schoolClasses) {
+            int weeklyLessons = compiledSchoolModel.getWeeklyLessons(schoolClass);
+            int timeSlots = countTimeSlots(schoolClass.getTimetable().getTimetableTemplate(), allWorkdays());
+            if (weeklyLessons > timeSlots) {
+                shortfalls.add("The school class \"" + schoolClass.getId() + "\" needs " + weeklyLessons
+                        + " lessons per week, but its timetable only has " + timeSlots + " time slots.");
+            }
+        }
+    }
+
+    /**
+     * A school class can only use rooms with at least its size, so the school classes are checked from the largest down:
+     * all school classes of at least a size compete for the rooms of at least this size.
+     */
+    private void checkRoomCapacity(List<SchoolClass> schoolClasses, List<String> shortfalls) {
+        List<SchoolClass> schoolClassesBySize = new ArrayList<>(schoolClasses);
+        schoolClassesBySize.sort(Comparator.comparingInt((SchoolClass schoolClass) -> compiledSchoolModel.getSchoolClassSize(schoolClass)).reversed());
+        int lessonsOfLargerSchoolClasses = 0;
+        for (int i = 0; i < schoolClassesBySize.size(); i++) {
+            int size = compiledSchoolModel.getSchoolClassSize(schoolClassesBySize.get(i));
+            lessonsOfLargerSchoolClasses += compiledSchoolModel.getWeeklyLessons(schoolClassesBySize.get(i));
+            boolean isLastOfSize = i + 1 == schoolClassesBySize.size() || compiledSchoolModel.getSchoolClassSize(schoolClassesBySize.get(i + 1)) != size;
+            if (isLastOfSize) {
+                int roomTimeSlots = countRoomTimeSlots(size);
+                if (lessonsOfLargerSchoolClasses > roomTimeSlots) {
+                    shortfalls.add("The school classes with " + size + " or more people need " + lessonsOfLargerSchoolClasses
+                            + " lessons per week, but the rooms large enough for them only have " + roomTimeSlots + " time slots.");
+                }
+            }
+        }
+    }
+
+    private int countRoomTimeSlots(int minimumCapacity) {
+        int roomTimeSlots = 0;
+        List<Room> roomsByCapacity = roomIndex.getRoomsByCapacity();
+        for (int i = roomsByCapacity.size() - roomIndex.countRoomsWithCapacity(minimumCapacity); i < roomsByCapacity.size(); i++) {
+            Room room = roomsByCapacity.get(i);
+            if (!room.isClosed()) {
+                roomTimeSlots += countTimeSlots(room.getRoomAvailability().getTimetableTemplate(), allWorkdays());
+            }
+        }
+        return roomTimeSlots;
+    }
+
+    /**
+     * Returns how many more lessons the teacher can take over, limited by the workload and by the time slots on the days the teacher is at school.
+     */
+    private static int getRemainingLessons(Teacher teacher) {
+        Timetable timetable = teacher.getTimetable();
+        int workloadLessons = (int) Math.floor(timetable.getAmountOfPossibleLessonsPerWeek() * teacher.getWorkload());
+        int availableTimeSlots = countTimeSlots(timetable.getTimetableTemplate(), teacher.getAvailableWeekDays());
+        return Math.max(0, Math.min(workloadLessons, availableTimeSlots) - timetable.getAmountOfSetLessonsPerWeek());
+    }
+
+    static int getWeeklyLessons(SchoolClass schoolClass) {
+        int weeklyLessons = 0;
+        for (Subject subject : schoolClass.getModuleSchedule().requiredSubjects()) {
+            weeklyLessons += subject.weeklyLessons();
+        }
+        return weeklyLessons;
+    }
+
+    static int countTimeSlots(TimetableTemplate timetableTemplate, List<DayOfWeek> daysOfWeek) {
+        int timeSlots = 0;
+        for (DayOfWeek dayOfWeek : daysOfWeek) {
+            if (dayOfWeek.getValue() <= WORKDAYS_PER_WEEK) {
+                timeSlots += timetableTemplate.getTimeSlots(dayOfWeek).size();
+            }
+        }
+        return timeSlots;
+    }
+
+    static List<DayOfWeek> allWorkdays() {
+        List<DayOfWeek> workdays = new ArrayList<>();
+        for (int weekDay = 1; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+            workdays.add(DayOfWeek.of(weekDay));
+        }
+        return workdays;
+    }
+}
@@ -0,0 +1,19 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+/**
+ * The available algorithms to generate the timetables of a school.
+ */
+public enum GenerationEngine {
+    /**
+     * Places every subject in the first day where a teacher and a room fit and never revisits a decision.
+     */
+    GREEDY,
+    /**
+     * Searches all placements with backtracking and forward checking, see {@link BacktrackingTimetableSolver}.
+     */
+    BACKTRACKING,
+    /**
+     * Runs several engines and strategies at the same time on copies of the school and keeps the best result, see {@link PortfolioTimetableSolver}.
+     */
+    PORTFOLIO
+}
@@ -0,0 +1,44 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+
+import java.util.List;
+
+/**
+ * This interface is notified about the progress of a timetable generation, see {@link GenerationMonitor}. <br>
+ * <p>
+ * The methods are called on the threads doing the generation, several of them at the same time if the school classes are
+ * generated in parallel. They have to be thread-safe and return quickly, e.g. by handing the values over to the UI thread.
+ * All methods do nothing by default, so only the events of interest have to be implemented.
+ */
+public interface GenerationListener {
+    /**
+     * Called when all subjects of a school class have been placed. A search engine may remove them again later.
+     *
+     * @param schoolClass         the school class whose timetable is complete
+     * @param placedSchoolClasses the number of school classes whose timetables are complete
+     * @param totalSchoolClasses  the number of school classes to generate
+     */
+    default void schoolClassPlaced(SchoolClass schoolClass, int placedSchoolClasses, int totalSchoolClasses) {
+    }
+
+    /**
+     * Called when lessons have been placed or removed.
+     *
+     * @param placedLessons the number of lessons placed so far
+     * @param totalLessons  the number of lessons to place
+     */
+    default void lessonsPlaced(int placedLessons, int totalLessons) {
+    }
+
+    /**
+     * Called periodically with the best timetables found so far, first when the generation has found complete timetables
+     * and then while the {@link TimetableOptimizer} improves them. Before, the timetables of the school classes and their teachers
+     * are published, so they can be read consistently with {@link Timetable#getPublishedSnapshot()} while the generation goes on.
+     *
+     * @param bestPlacements the placements of all subjects of the best timetables, which must not be changed
+     * @param bestScore      the score of the best timetables
+     */
+    default void bestSolutionFound(List<SubjectPlacement> bestPlacements, TimetableScore bestScore) {
+    }
+}
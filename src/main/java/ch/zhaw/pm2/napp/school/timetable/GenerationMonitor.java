@@ -0,0 +1,185 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class follows one timetable generation of the school: it counts the placed lessons and school classes for a
+ * {@link GenerationListener}, publishes the best timetables found so far and holds the {@link CancellationToken} of the run. <br>
+ * <p>
+ * The {@link TimetableGenerator} reports every applied and removed placement to its monitor, so all engines are followed
+ * without any code of their own. The counters are atomic, because the components of the school are generated in parallel.
+ * The best timetables are published at most every {@link #PUBLISH_INTERVAL}, except for the first and the last ones.
+ * Publishing also publishes a {@link TimetableSnapshot} of the timetables of the school classes and their teachers.
+ */
+public class GenerationMonitor {
+    public static final Duration PUBLISH_INTERVAL = Duration.ofMillis(500);
+
+    private static final GenerationListener NO_LISTENER = new GenerationListener() {
+    };
+
+    private final GenerationListener generationListener;
+    private final CancellationToken cancellationToken;
+    private final Map<SchoolClass, Integer> lessonsPerSchoolClass = new IdentityHashMap<>();
+    private final Set<SchoolClass> placedSchoolClasses = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger placedLessons = new AtomicInteger();
+    private final AtomicLong nextPublishTime = new AtomicLong(System.nanoTime());
+    private final int totalLessons;
+
+    /**
+     * Creates a monitor for the generation of the given school classes. Their current lessons are counted as placed.
+     *
+     * @param schoolClasses      the school classes to generate
+     * @param generationListener the listener to notify
+     * @param cancellationToken  the token to stop the generation with
+     */
+    public GenerationMonitor(List<SchoolClass> schoolClasses, GenerationListener generationListener, CancellationToken cancellationToken) {
+        this.generationListener = generationListener;
+        this.cancellationToken = cancellationToken;
+        int lessons = 0;
+        for (SchoolClass schoolClass : schoolClasses) {
+            int lessonsOfSchoolClass = FeasibilityCheck.getWeeklyLessons(schoolClass);
+            lessonsPerSchoolClass.put(schoolClass, lessonsOfSchoolClass);
+            lessons += lessonsOfSchoolClass;
+            placedLessons.addAndGet(Math.min(schoolClass.getTimetable().getAmountOfSetLessonsPerWeek(), lessonsOfSchoolClass));
+            if (isComplete(schoolClass)) {
+                placedSchoolClasses.add(schoolClass);
+            }
+        }
+        this.totalLessons = lessons;
+    }
+
+    /**
+     * Creates a monitor that only watches the cancellation token. It is used by the generators working on copies of the school.
+     *
+     * @param cancellationToken the token to stop the generation with
+     * @return a monitor without a listener
+     */
+    public static GenerationMonitor forCancellation(CancellationToken cancellationToken) {
+        return new GenerationMonitor(List.of(), NO_LISTENER, cancellationToken);
+    }
+
+    /**
+     * Creates a monitor that never reports anything and cannot be cancelled.
+     *
+     * @return a monitor doing nothing
+     */
+    public static GenerationMonitor inactive() {
+        return forCancellation(new CancellationToken());
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Returns whether the generation was cancelled.
+     *
+     * @return true if the cancellation token was cancelled
+     */
+    public boolean isCancelled() {
+        return cancellationToken.isCancelled();
+    }
+
+    /**
+     * Stops the generation if it was cancelled.
+     *
+     * @throws TimetableException if the cancellation token was cancelled.
+     */
+    void checkCancelled() throws TimetableException {
+        if (cancellationToken.isCancelled()) {
+            throw new TimetableException("The timetable generation was cancelled.");
+        }
+    }
+
+    /**
+     * Counts the lessons of an applied placement.
+     *
+     * @param subjectPlacement the placement that was applied
+     */
+    void placementApplied(SubjectPlacement subjectPlacement) {
+        placementChanged(subjectPlacement, subjectPlacement.lessons().size());
+    }
+
+    /**
+     * Counts the lessons of a removed placement.
+     *
+     * @param subjectPlacement the placement that was removed
+     */
+    void placementRemoved(SubjectPlacement subjectPlacement) {
+        placementChanged(subjectPlacement, -subjectPlacement.lessons().size());
+    }
+
+    /**
+     * Publishes the generated timetables of the school classes as the first best timetables.
+     *
+     * @param schoolClasses the school classes whose timetables have been generated
+     * @param roomDistances the walking distances between the rooms of the school
+     */
+    public void generationFinished(List<SchoolClass> schoolClasses, RoomDistances roomDistances) {
+        publishBest(TimetableGenerator.collectPlacements(schoolClasses), TimetableScore.calculate(schoolClasses, roomDistances), true);
+    }
+
+    /**
+     * Publishes the best timetables found so far, unless the last ones were published less than {@link #PUBLISH_INTERVAL} ago.
+     *
+     * @param bestPlacements the placements of all subjects of the best timetables
+     * @param bestScore      the score of the best timetables
+     * @param immediately    true to publish regardless of the interval, e.g. for the final timetables
+     */
+    void publishBest(List<SubjectPlacement> bestPlacements, TimetableScore bestScore, boolean immediately) {
+        long now = System.nanoTime();
+        long publishTime = nextPublishTime.get();
+        if (immediately) {
+            nextPublishTime.set(now + PUBLISH_INTERVAL.toNanos());
+        } else if (now - publishTime < 0 || !nextPublishTime.compareAndSet(publishTime, now + PUBLISH_INTERVAL.toNanos())) {
+            return;
+        }
+        publishSnapshots(bestPlacements);
+        generationListener.bestSolutionFound(Collections.unmodifiableList(bestPlacements), bestScore);
+    }
+
+    /**
+     * Publishes the current timetables of the school classes and of the teachers of the best placements.
+     * It is called on the generating thread while the timetables are the best ones, so the snapshots match the placements.
+     */
+    private void publishSnapshots(List<SubjectPlacement> bestPlacements) {
+        lessonsPerSchoolClass.keySet().forEach(schoolClass -> schoolClass.getTimetable().publishSnapshot());
+        Set<Teacher> teachers = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SubjectPlacement subjectPlacement : bestPlacements) {
+            subjectPlacement.lessons().forEach(lesson -> teachers.add(lesson.teacher()));
+        }
+        teachers.forEach(teacher -> teacher.getTimetable().publishSnapshot());
+    }
+
+    private void placementChanged(SubjectPlacement subjectPlacement, int changedLessons) {
+        SchoolClass schoolClass = subjectPlacement.schoolClass();
+        if (!lessonsPerSchoolClass.containsKey(schoolClass)) {
+            return;
+        }
+        generationListener.lessonsPlaced(placedLessons.addAndGet(changedLessons), totalLessons);
+        if (isComplete(schoolClass)) {
+            if (placedSchoolClasses.add(schoolClass)) {
+                generationListener.schoolClassPlaced(schoolClass, placedSchoolClasses.size(), lessonsPerSchoolClass.size());
+            }
+        } else {
+            placedSchoolClasses.remove(schoolClass);
+        }
+    }
+
+    private boolean isComplete(SchoolClass schoolClass) {
+        return schoolClass.getTimetable().getAmountOfSetLessonsPerWeek() >= lessonsPerSchoolClass.get(schoolClass);
+    }
+}
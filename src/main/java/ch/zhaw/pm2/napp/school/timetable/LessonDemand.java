@@ -0,0 +1,12 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+
+/**
+ * This record represents a subject that still has to be placed in the timetable of a school class.
+ *
+ * @param schoolClass the school class that attends the subject
+ * @param subject     the subject to place
+ */
+public record LessonDemand(SchoolClass schoolClass, Subject subject) {
+}
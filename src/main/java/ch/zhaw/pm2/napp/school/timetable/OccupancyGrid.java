@@ -0,0 +1,227 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The OccupancyGrid keeps track of which time slots of a week are already booked.
+ * Each day is stored as a bitmask in which the bit at position <i>n</i> stands for the <i>n</i>-th time slot
+ * of that day in the {@link TimetableTemplate}. This allows free/busy checks without walking any lists.
+ * <p>
+ * The grid is shared by {@link Timetable} and {@link ch.zhaw.pm2.napp.school.building.Room}, so that
+ * school classes, teachers and rooms all answer availability questions the same way.
+ */
+public class OccupancyGrid {
+    private static final int MAX_TIME_SLOTS_PER_DAY = Long.SIZE - 1;
+    private static final int NOT_IN_MODEL = -1;
+
+    private final TimetableTemplate timetableTemplate;
+    private final long[] occupiedTimeSlots = new long[DayOfWeek.values().length];
+
+    /**
+     * Creates an empty occupancy grid based on the time slots of the given template.
+     *
+     * @param timetableTemplate the shared time slots of each day
+     */
+    public OccupancyGrid(TimetableTemplate timetableTemplate) {
+        for (List<TimeSlot> timeSlotsPerDay : timetableTemplate.getTimeSlotsPerDay().values()) {
+            if (timeSlotsPerDay.size() > MAX_TIME_SLOTS_PER_DAY) {
+                throw new IllegalArgumentException("A day cannot have more than " + MAX_TIME_SLOTS_PER_DAY + " time slots");
+            }
+        }
+        this.timetableTemplate = timetableTemplate;
+    }
+
+    /**
+     * Returns whether the time slot is still free on the given day.
+     * Time slots that are not part of the model can never be booked and are therefore always free.
+     *
+     * @param dayOfWeek the day to check
+     * @param timeSlot  the time slot to check
+     * @return true if the time slot is not booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int timeSlotIndex = getTimeSlotIndex(dayOfWeek, timeSlot);
+        return timeSlotIndex == NOT_IN_MODEL || isFree(dayOfWeek, timeSlotIndex);
+    }
+
+    /**
+     * Returns whether the time slot with the given index is still free on the given day.
+     *
+     * @param dayOfWeek     the day to check
+     * @param timeSlotIndex the position of the time slot within the day
+     * @return true if the time slot is not booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, int timeSlotIndex) {
+        return (occupiedTimeSlots[dayIndex(dayOfWeek)] & (1L << timeSlotIndex)) == 0;
+    }
+
+    /**
+     * Marks the time slot as booked on the given day.
+     *
+     * @param dayOfWeek the day of the booking
+     * @param timeSlot  the booked time slot
+     */
+    public void occupy(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int timeSlotIndex = getTimeSlotIndex(dayOfWeek, timeSlot);
+        if (timeSlotIndex != NOT_IN_MODEL) {
+            occupiedTimeSlots[dayIndex(dayOfWeek)] |= 1L << timeSlotIndex;
+        }
+    }
+
+    /**
+     * Marks all time slots of the bitmask as booked on the given day.
+     *
+     * @param dayOfWeek    the day of the booking
+     * @param timeSlotMask the bitmask of the booked time slots, e.g. the occupied mask of another grid with the same template
+     */
+    public void occupy(DayOfWeek dayOfWeek, long timeSlotMask) {
+        occupiedTimeSlots[dayIndex(dayOfWeek)] |= timeSlotMask;
+    }
+
+    /**
+     * Marks the time slot as free again on the given day.
+     *
+     * @param dayOfWeek the day of the booking
+     * @param timeSlot  the time slot that is no longer booked
+     */
+    public void release(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int timeSlotIndex = getTimeSlotIndex(dayOfWeek, timeSlot);
+        if (timeSlotIndex != NOT_IN_MODEL) {
+            occupiedTimeSlots[dayIndex(dayOfWeek)] &= ~(1L << timeSlotIndex);
+        }
+    }
+
+    /**
+     * Returns the bitmask of all booked time slots of the given day.
+     *
+     * @param dayOfWeek the day
+     * @return a bitmask with one bit per time slot, set if the time slot is booked
+     */
+    public long getOccupiedMask(DayOfWeek dayOfWeek) {
+        return occupiedTimeSlots[dayIndex(dayOfWeek)];
+    }
+
+    /**
+     * Returns the bitmask of all free time slots of the given day.
+     *
+     * @param dayOfWeek the day
+     * @return a bitmask with one bit per time slot of the model, set if the time slot is free
+     */
+    public long getFreeMask(DayOfWeek dayOfWeek) {
+        return getDayMask(dayOfWeek) & ~occupiedTimeSlots[dayIndex(dayOfWeek)];
+    }
+
+    /**
+     * Calculates at which time slot indices a block of consecutive free time slots can start.
+     *
+     * @param dayOfWeek         the day
+     * @param numberOfTimeSlots the length of the block
+     * @return a bitmask in which every set bit is the first time slot of a free block with the requested length
+     */
+    public long getFreeBlockStarts(DayOfWeek dayOfWeek, int numberOfTimeSlots) {
+        long freeMask = getFreeMask(dayOfWeek);
+        long blockStarts = freeMask;
+        for (int offset = 1; offset < numberOfTimeSlots; offset++) {
+            blockStarts &= freeMask >>> offset;
+        }
+        return numberOfTimeSlots > 0 ? blockStarts : 0;
+    }
+
+    /**
+     * Returns whether the time slot is part of a free block with the requested length.
+     *
+     * @param dayOfWeek         the day
+     * @param timeSlot          the time slot that has to be inside the block
+     * @param numberOfTimeSlots the length of the block
+     * @return true if there is a free block of the requested length that contains the time slot
+     */
+    public boolean isInFreeBlock(DayOfWeek dayOfWeek, TimeSlot timeSlot, int numberOfTimeSlots) {
+        int timeSlotIndex = getTimeSlotIndex(dayOfWeek, timeSlot);
+        if (timeSlotIndex == NOT_IN_MODEL || numberOfTimeSlots <= 0) {
+            return false;
+        }
+        int firstPossibleStart = Math.max(0, timeSlotIndex - numberOfTimeSlots + 1);
+        long possibleStarts = (1L << (timeSlotIndex + 1)) - (1L << firstPossibleStart);
+        return (getFreeBlockStarts(dayOfWeek, numberOfTimeSlots) & possibleStarts) != 0;
+    }
+
+    /**
+     * Returns whether all time slots of the bitmask are still free on the given day.
+     *
+     * @param dayOfWeek    the day to check
+     * @param timeSlotMask a bitmask with one bit per time slot
+     * @return true if none of the time slots is booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, long timeSlotMask) {
+        return (occupiedTimeSlots[dayIndex(dayOfWeek)] & timeSlotMask) == 0;
+    }
+
+    /**
+     * Converts time slots of the given day into a bitmask of their indices.
+     * Time slots that are not part of the model are ignored.
+     *
+     * @param dayOfWeek the day
+     * @param timeSlots the time slots to convert
+     * @return a bitmask in which the bits of the time slots are set
+     */
+    public long toTimeSlotMask(DayOfWeek dayOfWeek, List<TimeSlot> timeSlots) {
+        long timeSlotMask = 0;
+        for (TimeSlot timeSlot : timeSlots) {
+            int timeSlotIndex = getTimeSlotIndex(dayOfWeek, timeSlot);
+            if (timeSlotIndex != NOT_IN_MODEL) {
+                timeSlotMask |= 1L << timeSlotIndex;
+            }
+        }
+        return timeSlotMask;
+    }
+
+    /**
+     * Converts a bitmask of time slot indices into the time slots of the given day.
+     *
+     * @param dayOfWeek the day
+     * @param mask      a bitmask with one bit per time slot
+     * @return the time slots whose bits are set, in the order of the day
+     */
+    public List<TimeSlot> toTimeSlots(DayOfWeek dayOfWeek, long mask) {
+        List<TimeSlot> timeSlotsPerDay = timetableTemplate.getTimeSlots(dayOfWeek);
+        List<TimeSlot> timeSlots = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            timeSlots.add(timeSlotsPerDay.get(Long.numberOfTrailingZeros(remaining)));
+        }
+        return timeSlots;
+    }
+
+    /**
+     * Looks up the position of a time slot within the given day of the model.
+     *
+     * @param dayOfWeek the day
+     * @param timeSlot  the time slot to look up
+     * @return the index of the time slot, or -1 if the day does not contain the time slot
+     */
+    public int getTimeSlotIndex(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        return timetableTemplate.getTimeSlotIndex(dayOfWeek, timeSlot);
+    }
+
+    /**
+     * Creates an immutable copy of the current occupancy, which can be read while this grid keeps changing.
+     *
+     * @return the snapshot of the booked time slots
+     */
+    public OccupancySnapshot snapshot() {
+        return new OccupancySnapshot(timetableTemplate, occupiedTimeSlots.clone());
+    }
+
+    public TimetableTemplate getTimetableTemplate() {
+        return timetableTemplate;
+    }
+
+    private long getDayMask(DayOfWeek dayOfWeek) {
+        return (1L << timetableTemplate.getTimeSlots(dayOfWeek).size()) - 1;
+    }
+
+    private static int dayIndex(DayOfWeek dayOfWeek) {
+        return dayOfWeek.getValue() - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.time.DayOfWeek;
+
+/**
+ * An immutable version of an {@link OccupancyGrid}, e.g. of a room, a teacher or a school class. <br>
+ * <p>
+ * The occupancy of a week is only seven bitmasks, so a snapshot simply copies them. Changing a snapshot creates a new one
+ * and leaves the original untouched, so a snapshot can be read from any thread while the grid it was taken from keeps changing.
+ */
+public final class OccupancySnapshot {
+    private final TimetableTemplate timetableTemplate;
+    private final long[] occupiedTimeSlots;
+
+    /**
+     * Creates a snapshot. The array is not copied and must not be changed afterwards.
+     *
+     * @param timetableTemplate the shared time slots of each day
+     * @param occupiedTimeSlots the bitmask of the booked time slots per day, indexed by the ordinal of the day
+     */
+    OccupancySnapshot(TimetableTemplate timetableTemplate, long[] occupiedTimeSlots) {
+        this.timetableTemplate = timetableTemplate;
+        this.occupiedTimeSlots = occupiedTimeSlots;
+    }
+
+    /**
+     * Returns whether the time slot was free on the given day. Time slots that are not part of the model are always free.
+     *
+     * @param dayOfWeek the day to check
+     * @param timeSlot  the time slot to check
+     * @return true if the time slot is not booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int timeSlotIndex = timetableTemplate.getTimeSlotIndex(dayOfWeek, timeSlot);
+        return timeSlotIndex < 0 || isFree(dayOfWeek, 1L << timeSlotIndex);
+    }
+
+    /**
+     * Returns whether all time slots of the bitmask were free on the given day.
+     *
+     * @param dayOfWeek    the day to check
+     * @param timeSlotMask a bitmask with one bit per time slot
+     * @return true if none of the time slots is booked
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, long timeSlotMask) {
+        return (occupiedTimeSlots[dayOfWeek.ordinal()] & timeSlotMask) == 0;
+    }
+
+    /**
+     * Returns the bitmask of all booked time slots of the given day.
+     *
+     * @param dayOfWeek the day
+     * @return a bitmask with one bit per time slot, set if the time slot is booked
+     */
+    public long getOccupiedMask(DayOfWeek dayOfWeek) {
+        return occupiedTimeSlots[dayOfWeek.ordinal()];
+    }
+
+    /**
+     * Creates a new snapshot in which the time slots of the bitmask are booked as well.
+     *
+     * @param dayOfWeek    the day
+     * @param timeSlotMask the time slots to book
+     * @return the new snapshot
+     */
+    public OccupancySnapshot withOccupied(DayOfWeek dayOfWeek, long timeSlotMask) {
+        long[] newOccupiedTimeSlots = occupiedTimeSlots.clone();
+        newOccupiedTimeSlots[dayOfWeek.ordinal()] |= timeSlotMask;
+        return new OccupancySnapshot(timetableTemplate, newOccupiedTimeSlots);
+    }
+
+    /**
+     * Creates a new snapshot in which the time slots of the bitmask are free.
+     *
+     * @param dayOfWeek    the day
+     * @param timeSlotMask the time slots to release
+     * @return the new snapshot
+     */
+    public OccupancySnapshot withReleased(DayOfWeek dayOfWeek, long timeSlotMask) {
+        long[] newOccupiedTimeSlots = occupiedTimeSlots.clone();
+        newOccupiedTimeSlots[dayOfWeek.ordinal()] &= ~timeSlotMask;
+        return new OccupancySnapshot(timetableTemplate, newOccupiedTimeSlots);
+    }
+
+    public TimetableTemplate getTimetableTemplate() {
+        return timetableTemplate;
+    }
+}
@@ -0,0 +1,182 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The timetable of a person, made of the individual lessons of the person and the lessons of the school classes the person attends. <br>
+ * <p>
+ * The lessons of a school class are not copied: the personal timetable reads the timetable of each attended school class
+ * whenever it is queried. So the generator only writes the timetable of the school class, and the memory needed grows with the
+ * number of school classes and not with the number of students. Individual lessons are added with {@link #addToTimetable(DayOfWeek, Lesson)}
+ * as before.
+ */
+public class PersonalTimetable extends Timetable {
+    private static final Comparator<Lesson> BY_START_TIME = Comparator.comparing(lesson -> lesson.timeSlot().getStartTime());
+
+    private final List<SchoolClass> attendedSchoolClasses = new ArrayList<>();
+
+    /**
+     * Creates an empty personal timetable based on the default {@link TimetableTemplate}.
+     */
+    public PersonalTimetable() {
+        super();
+    }
+
+    /**
+     * Creates an empty personal timetable based on the given template.
+     *
+     * @param timetableTemplate the time slots of each day
+     */
+    public PersonalTimetable(TimetableTemplate timetableTemplate) {
+        super(timetableTemplate);
+    }
+
+    /**
+     * Adds the lessons of a school class to the timetable. Adding the same school class twice has no effect.
+     *
+     * @param schoolClass the school class the person attends
+     */
+    public void attendSchoolClass(SchoolClass schoolClass) {
+        if (attendedSchoolClasses.stream().noneMatch(attendedSchoolClass -> attendedSchoolClass == schoolClass)) {
+            attendedSchoolClasses.add(schoolClass);
+        }
+    }
+
+    /**
+     * Returns the lessons of the person and of all attended school classes, ordered by their start time per day.
+     * The map is created on every call, so changes to it do not change the timetable.
+     * Without attended school classes, the individual lessons are returned directly.
+     *
+     * @return the lessons per day
+     */
+    @Override
+    public Map<DayOfWeek, List<Lesson>> getTimetable() {
+        Map<DayOfWeek, List<Lesson>> individualLessons = super.getTimetable();
+        if (attendedSchoolClasses.isEmpty()) {
+            return individualLessons;
+        }
+        Map<DayOfWeek, List<Lesson>> allLessons = new EnumMap<>(DayOfWeek.class);
+        individualLessons.forEach((dayOfWeek, lessons) -> allLessons.put(dayOfWeek, new ArrayList<>(lessons)));
+        for (SchoolClass schoolClass : attendedSchoolClasses) {
+            schoolClass.getTimetable().getTimetable().forEach((dayOfWeek, lessons) -> allLessons.computeIfAbsent(dayOfWeek, day -> new ArrayList<>()).addAll(lessons));
+        }
+        allLessons.values().forEach(lessons -> lessons.sort(BY_START_TIME));
+        return allLessons;
+    }
+
+    /**
+     * Creates an immutable version of the individual lessons and the lessons of the attended school classes.
+     * The lessons of a school class are taken from its published snapshot, see {@link Timetable#getPublishedSnapshot()},
+     * so the timetable of the school class is not read while the generator may still change it.
+     * Days with lessons of a school class are merged into new lists, so only the days with individual lessons alone are shared
+     * with the previous version. The version number is the sum of the versions of all parts, so it grows whenever one of them changes.
+     *
+     * @return the current version of the personal timetable with the last published lessons of the school classes
+     */
+    @Override
+    public TimetableSnapshot snapshot() {
+        TimetableSnapshot individualSnapshot = super.snapshot();
+        if (attendedSchoolClasses.isEmpty()) {
+            return individualSnapshot;
+        }
+        List<TimetableSnapshot> schoolClassSnapshots = new ArrayList<>();
+        long version = individualSnapshot.getVersion();
+        int amountOfSetLessonsPerWeek = individualSnapshot.getAmountOfSetLessonsPerWeek();
+        long[] occupiedTimeSlots = new long[DayOfWeek.values().length];
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            occupiedTimeSlots[dayOfWeek.ordinal()] = individualSnapshot.getOccupancySnapshot().getOccupiedMask(dayOfWeek);
+        }
+        for (SchoolClass schoolClass : attendedSchoolClasses) {
+            TimetableSnapshot schoolClassSnapshot = schoolClass.getTimetable().getPublishedSnapshot();
+            schoolClassSnapshots.add(schoolClassSnapshot);
+            version += schoolClassSnapshot.getVersion();
+            amountOfSetLessonsPerWeek += schoolClassSnapshot.getAmountOfSetLessonsPerWeek();
+            occupy(occupiedTimeSlots, schoolClassSnapshot);
+        }
+        List<List<Lesson>> lessonsPerDay = new ArrayList<>();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            List<Lesson> lessons = new ArrayList<>(individualSnapshot.getLessons(dayOfWeek));
+            schoolClassSnapshots.forEach(schoolClassSnapshot -> lessons.addAll(schoolClassSnapshot.getLessons(dayOfWeek)));
+            if (lessons.size() == individualSnapshot.getLessons(dayOfWeek).size()) {
+                lessonsPerDay.add(individualSnapshot.getLessons(dayOfWeek));
+            } else {
+                lessons.sort(BY_START_TIME);
+                lessonsPerDay.add(Collections.unmodifiableList(lessons));
+            }
+        }
+        return new TimetableSnapshot(getTimetableTemplate(), Collections.unmodifiableList(lessonsPerDay),
+                new OccupancySnapshot(getTimetableTemplate(), occupiedTimeSlots), amountOfSetLessonsPerWeek, version);
+    }
+
+    /**
+     * Books the time slots of the lessons of a school class snapshot in the occupancy of the person. Like {@link #getOccupancyGrid()},
+     * the bitmasks are combined directly if both use the same template, otherwise the time slots of the lessons are looked up.
+     */
+    private void occupy(long[] occupiedTimeSlots, TimetableSnapshot schoolClassSnapshot) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (schoolClassSnapshot.getTimetableTemplate() == getTimetableTemplate()) {
+                occupiedTimeSlots[dayOfWeek.ordinal()] |= schoolClassSnapshot.getOccupancySnapshot().getOccupiedMask(dayOfWeek);
+            } else {
+                for (Lesson lesson : schoolClassSnapshot.getLessons(dayOfWeek)) {
+                    int timeSlotIndex = getTimetableTemplate().getTimeSlotIndex(dayOfWeek, lesson.timeSlot());
+                    if (timeSlotIndex >= 0) {
+                        occupiedTimeSlots[dayOfWeek.ordinal()] |= 1L << timeSlotIndex;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of individual lessons and lessons of the attended school classes.
+     *
+     * @return the amount of lessons per week.
+     */
+    @Override
+    public int getAmountOfSetLessonsPerWeek() {
+        int amountOfSetLessonsPerWeek = super.getAmountOfSetLessonsPerWeek();
+        for (SchoolClass schoolClass : attendedSchoolClasses) {
+            amountOfSetLessonsPerWeek += schoolClass.getTimetable().getAmountOfSetLessonsPerWeek();
+        }
+        return amountOfSetLessonsPerWeek;
+    }
+
+    /**
+     * Returns the time slots booked by individual lessons or by lessons of the attended school classes.
+     * The grid is created on every call, so booking time slots in it does not change the timetable.
+     * Without attended school classes, the grid of the individual lessons is returned directly.
+     *
+     * @return the occupancy of the person
+     */
+    @Override
+    public OccupancyGrid getOccupancyGrid() {
+        OccupancyGrid individualOccupancy = super.getOccupancyGrid();
+        if (attendedSchoolClasses.isEmpty()) {
+            return individualOccupancy;
+        }
+        OccupancyGrid occupancyGrid = new OccupancyGrid(getTimetableTemplate());
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            occupancyGrid.occupy(dayOfWeek, individualOccupancy.getOccupiedMask(dayOfWeek));
+        }
+        for (SchoolClass schoolClass : attendedSchoolClasses) {
+            Timetable schoolClassTimetable = schoolClass.getTimetable();
+            if (schoolClassTimetable.getTimetableTemplate() == getTimetableTemplate()) {
+                OccupancyGrid schoolClassOccupancy = schoolClassTimetable.getOccupancyGrid();
+                for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                    occupancyGrid.occupy(dayOfWeek, schoolClassOccupancy.getOccupiedMask(dayOfWeek));
+                }
+            } else {
+                schoolClassTimetable.getTimetable().forEach((dayOfWeek, lessons) -> lessons.forEach(lesson -> occupancyGrid.occupy(dayOfWeek, lesson.timeSlot())));
+            }
+        }
+        return occupancyGrid;
+    }
+}
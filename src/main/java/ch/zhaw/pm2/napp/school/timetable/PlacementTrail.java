@@ -0,0 +1,103 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The PlacementTrail records every placement that is applied or removed, so that the changes can be undone later. <br>
+ * <p>
+ * A checkpoint is the current length of the trail. Rolling back to a checkpoint undoes the recorded changes in reverse order,
+ * which takes time proportional to the number of undone changes and not to the size of the timetables.
+ * This gives the solvers cheap undo for backtracking, what-if evaluation and recovery after a failure.
+ */
+public class PlacementTrail {
+    private final TimetableGenerator timetableGenerator;
+    private final List<TrailEntry> trailEntries = new ArrayList<>();
+
+    /**
+     * Creates an empty trail.
+     *
+     * @param timetableGenerator the generator applying and removing the placements
+     */
+    public PlacementTrail(TimetableGenerator timetableGenerator) {
+        this.timetableGenerator = timetableGenerator;
+    }
+
+    /**
+     * Applies the placement and records it.
+     *
+     * @param subjectPlacement the placement to apply
+     */
+    public void apply(SubjectPlacement subjectPlacement) {
+        timetableGenerator.applyPlacement(subjectPlacement);
+        trailEntries.add(new TrailEntry(subjectPlacement, true));
+    }
+
+    /**
+     * Removes the placement and records it.
+     *
+     * @param subjectPlacement the placement to remove
+     */
+    public void remove(SubjectPlacement subjectPlacement) {
+        timetableGenerator.removePlacement(subjectPlacement);
+        trailEntries.add(new TrailEntry(subjectPlacement, false));
+    }
+
+    /**
+     * Returns a checkpoint to which the trail can be rolled back.
+     *
+     * @return the current length of the trail
+     */
+    public int checkpoint() {
+        return trailEntries.size();
+    }
+
+    /**
+     * Undoes all changes recorded after the checkpoint, the latest first.
+     *
+     * @param checkpoint a checkpoint returned by {@link #checkpoint()}
+     */
+    public void rollbackTo(int checkpoint) {
+        while (trailEntries.size() > checkpoint) {
+            TrailEntry trailEntry = trailEntries.remove(trailEntries.size() - 1);
+            if (trailEntry.applied()) {
+                timetableGenerator.removePlacement(trailEntry.subjectPlacement());
+            } else {
+                timetableGenerator.applyPlacement(trailEntry.subjectPlacement());
+            }
+        }
+    }
+
+    /**
+     * Undoes all recorded changes.
+     */
+    public void rollbackAll() {
+        rollbackTo(0);
+    }
+
+    /**
+     * Returns the placements that are currently applied through this trail, in the order they were applied.
+     * It replays the trail once, so it takes time proportional to the length of the trail.
+     *
+     * @return the applied placements that were not removed or rolled back
+     */
+    public List<SubjectPlacement> getAppliedPlacements() {
+        Set<SubjectPlacement> appliedPlacements = new LinkedHashSet<>();
+        for (TrailEntry trailEntry : trailEntries) {
+            if (trailEntry.applied()) {
+                appliedPlacements.add(trailEntry.subjectPlacement());
+            } else {
+                appliedPlacements.remove(trailEntry.subjectPlacement());
+            }
+        }
+        return new ArrayList<>(appliedPlacements);
+    }
+
+    /**
+     * A recorded change: the placement and whether it was applied or removed.
+     */
+    private record TrailEntry(SubjectPlacement subjectPlacement, boolean applied) {
+    }
+}
@@ -0,0 +1,50 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategies;
+import ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This record represents one member of a portfolio, see {@link PortfolioTimetableSolver}.
+ *
+ * @param generationEngine   the algorithm generating the timetables, either greedy or backtracking
+ * @param schedulingStrategy the strategy deciding in which order the subjects are placed
+ * @param seed               the seed used to shuffle the order of the school classes, 0 keeps the original order.
+ *                           In a run with a {@link TimetableGenerator#setSeed(long) seed} the order is shuffled with a seed drawn from it instead
+ */
+public record PortfolioConfiguration(GenerationEngine generationEngine, SchedulingStrategy schedulingStrategy, long seed) {
+    public static final long KEEP_ORDER_SEED = 0;
+    private static final int DEFAULT_SEEDS_PER_CONFIGURATION = 2;
+
+    /**
+     * Creates a portfolio configuration.
+     *
+     * @throws IllegalArgumentException if the generation engine is {@link GenerationEngine#PORTFOLIO}
+     */
+    public PortfolioConfiguration {
+        if (generationEngine == GenerationEngine.PORTFOLIO) {
+            throw new IllegalArgumentException("A portfolio cannot contain another portfolio");
+        }
+    }
+
+    /**
+     * Creates the default portfolio: every registered scheduling strategy with the greedy and the backtracking engine,
+     * each once in the original order of the school classes and once shuffled.
+     *
+     * @return the configurations of the default portfolio
+     */
+    public static List<PortfolioConfiguration> createDefaultPortfolio() {
+        List<PortfolioConfiguration> portfolioConfigurations = new ArrayList<>();
+        for (String schedulingStrategyName : SchedulingStrategies.getSchedulingStrategyNames()) {
+            SchedulingStrategy schedulingStrategy = SchedulingStrategies.getSchedulingStrategy(schedulingStrategyName);
+            for (GenerationEngine generationEngine : List.of(GenerationEngine.GREEDY, GenerationEngine.BACKTRACKING)) {
+                for (long seed = KEEP_ORDER_SEED; seed < DEFAULT_SEEDS_PER_CONFIGURATION; seed++) {
+                    portfolioConfigurations.add(new PortfolioConfiguration(generationEngine, schedulingStrategy, seed));
+                }
+            }
+        }
+        return portfolioConfigurations;
+    }
+}
@@ -0,0 +1,206 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class generates the timetables with several configurations at the same time and keeps the best result. <br>
+ * <p>
+ * Every {@link PortfolioConfiguration} works on its own copy of the school on a {@link ForkJoinPool}, so the configurations
+ * do not influence each other. As soon as the first configuration has found timetables, all configurations that are still
+ * running are cancelled. Of the configurations finished by then, the one with the lowest {@link TimetableScore} wins and its
+ * timetables are applied to the original school. If no configuration finishes within the time budget, all of them are cancelled.
+ * <p>
+ * Which configurations have finished when the first one succeeds depends on the thread timing. For reproducible results
+ * the solver can wait for all configurations instead, so the winner only depends on the scores and the order of the configurations.
+ * If the generator has a {@link TimetableGenerator#setSeed(long) seed}, the shuffled configurations take their seeds from it
+ * instead of their own, so the seed of the run decides the orders of the school classes.
+ */
+public class PortfolioTimetableSolver {
+    private final TimetableGenerator timetableGenerator;
+    private final List<Teacher> allTeachers;
+    private final List<Building> schoolBuildings;
+    private final List<PortfolioConfiguration> portfolioConfigurations;
+    private final Duration timeBudget;
+    private final boolean waitForAllConfigurations;
+
+    /**
+     * Creates a portfolio solver.
+     *
+     * @param timetableGenerator      the generator of the original school, used to apply the winning timetables
+     * @param allTeachers             the teachers of the original school
+     * @param schoolBuildings         the buildings of the original school
+     * @param portfolioConfigurations the configurations to run at the same time
+     * @param timeBudget              the maximum wall-clock time the portfolio may take
+     */
+    public PortfolioTimetableSolver(TimetableGenerator timetableGenerator, List<Teacher> allTeachers, List<Building> schoolBuildings,
+                                    List<PortfolioConfiguration> portfolioConfigurations, Duration timeBudget) {
+        this(timetableGenerator, allTeachers, schoolBuildings, portfolioConfigurations, timeBudget, false);
+    }
+
+    /**
+     * Creates a portfolio solver.
+     *
+     * @param timetableGenerator       the generator of the original school, used to apply the winning timetables
+     * @param allTeachers              the teachers of the original school
+     * @param schoolBuildings          the buildings of the original school
+     * @param portfolioConfigurations  the configurations to run at the same time
+     * @param timeBudget               the maximum wall-clock time the portfolio may take
+     * @param waitForAllConfigurations true to run every configuration to the end within the time budget, so the result does not depend on the thread timing
+     */
+    public PortfolioTimetableSolver(TimetableGenerator timetableGenerator, List<Teacher> allTeachers, List<Building> schoolBuildings,
+                                    List<PortfolioConfiguration> portfolioConfigurations, Duration timeBudget, boolean waitForAllConfigurations) {
+        this.timetableGenerator = timetableGenerator;
+        this.allTeachers = allTeachers;
+        this.schoolBuildings = schoolBuildings;
+        this.portfolioConfigurations = portfolioConfigurations;
+        this.timeBudget = timeBudget;
+        this.waitForAllConfigurations = waitForAllConfigurations;
+    }
+
+    /**
+     * Generates the timetables for all school classes. Subjects that are already placed, e.g. pinned ones, are taken over
+     * into every copy and kept, so only the missing subjects are generated and applied.
+     *
+     * @param schoolClasses the school classes for which the timetables are to be created
+     * @return the configuration whose timetables were applied
+     * @throws TimetableException if no configuration found timetables within the time budget.
+     */
+    public PortfolioConfiguration generateTimetables(List<SchoolClass> schoolClasses) throws TimetableException {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        List<SubjectPlacement> existingPlacements = TimetableGenerator.collectPlacements(schoolClasses);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(Math.max(1, Math.min(portfolioConfigurations.size(), Runtime.getRuntime().availableProcessors())));
+        long[] shuffleSeeds = createShuffleSeeds();
+        PortfolioResult bestResult = null;
+        TimetableException firstFailure = null;
+        try {
+            CompletionService<PortfolioResult> completionService = new ExecutorCompletionService<>(forkJoinPool);
+            for (int i = 0; i < portfolioConfigurations.size(); i++) {
+                int configurationIndex = i;
+                completionService.submit(() -> runConfiguration(configurationIndex, shuffleSeeds[configurationIndex], schoolClasses, existingPlacements, deadline));
+            }
+            for (int pendingResults = portfolioConfigurations.size(); pendingResults > 0; pendingResults--) {
+                Future<PortfolioResult> finishedConfiguration = bestResult == null || waitForAllConfigurations
+                        ? completionService.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                        : completionService.poll();
+                if (finishedConfiguration == null) {
+                    break;
+                }
+                try {
+                    PortfolioResult result = finishedConfiguration.get();
+                    if (bestResult == null || result.isBetterThan(bestResult)) {
+                        bestResult = result;
+                    }
+                } catch (ExecutionException e) {
+                    TimetableException timetableException = findTimetableException(e);
+                    if (firstFailure == null) {
+                        firstFailure = timetableException;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimetableException("The timetable generation was interrupted.");
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+
+        if (bestResult == null) {
+            throw firstFailure != null ? firstFailure : BacktrackingTimetableSolver.createTimeBudgetExceededException(timeBudget);
+        }
+        Set<LessonDemand> placedLessonDemands = new HashSet<>();
+        for (SubjectPlacement existingPlacement : existingPlacements) {
+            placedLessonDemands.add(new LessonDemand(existingPlacement.schoolClass(), existingPlacement.lessons().get(0).subject()));
+        }
+        for (SubjectPlacement subjectPlacement : bestResult.subjectPlacements()) {
+            SubjectPlacement originalPlacement = bestResult.schoolStateCopy().toOriginal(subjectPlacement);
+            if (!placedLessonDemands.contains(new LessonDemand(originalPlacement.schoolClass(), originalPlacement.lessons().get(0).subject()))) {
+                timetableGenerator.applyPlacement(originalPlacement);
+            }
+        }
+        return bestResult.portfolioConfiguration();
+    }
+
+    /**
+     * Searches the {@link TimetableException} thrown by a configuration or a component. The {@link ForkJoinPool} wraps checked exceptions
+     * of its tasks into runtime exceptions, so the whole chain of causes is searched.
+     */
+    static TimetableException findTimetableException(ExecutionException executionException) {
+        for (Throwable cause = executionException.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimetableException timetableException) {
+                return timetableException;
+            }
+        }
+        throw new IllegalStateException("A parallel timetable generation failed unexpectedly", executionException.getCause());
+    }
+
+    /**
+     * Creates the seed each configuration shuffles the school classes with. Without a seed of the run these are the seeds
+     * of the configurations, otherwise one seed per configuration index is drawn from the seed of the run.
+     *
+     * @return the shuffle seeds in the order of the configurations
+     */
+    long[] createShuffleSeeds() {
+        long[] shuffleSeeds = new long[portfolioConfigurations.size()];
+        SplittableRandom seedRandom = new SplittableRandom(timetableGenerator.getSeed().orElse(0));
+        for (int i = 0; i < shuffleSeeds.length; i++) {
+            shuffleSeeds[i] = timetableGenerator.getSeed().isPresent() ? seedRandom.nextLong() : portfolioConfigurations.get(i).seed();
+        }
+        return shuffleSeeds;
+    }
+
+    private PortfolioResult runConfiguration(int configurationIndex, long shuffleSeed, List<SchoolClass> schoolClasses,
+                                             List<SubjectPlacement> existingPlacements, long deadline) throws TimetableException {
+        PortfolioConfiguration portfolioConfiguration = portfolioConfigurations.get(configurationIndex);
+        SchoolStateCopy schoolStateCopy = new SchoolStateCopy(allTeachers, schoolBuildings, schoolClasses);
+        TimetableGenerator copiedTimetableGenerator = new TimetableGenerator(schoolStateCopy.getTeachers(), schoolStateCopy.getBuildings(),
+                schoolStateCopy.getSchoolClasses());
+        copiedTimetableGenerator.setMinimumBlockSize(timetableGenerator.getMinimumBlockSize());
+        schoolStateCopy.copyRoomDistances(timetableGenerator.getRoomDistances(), copiedTimetableGenerator.getRoomDistances());
+        copiedTimetableGenerator.setGenerationMonitor(GenerationMonitor.forCancellation(timetableGenerator.getGenerationMonitor().getCancellationToken()));
+        existingPlacements.forEach(existingPlacement -> copiedTimetableGenerator.applyPlacement(schoolStateCopy.toCopy(existingPlacement)));
+        List<SchoolClass> copiedSchoolClasses = new ArrayList<>(schoolStateCopy.getSchoolClasses());
+        if (portfolioConfiguration.seed() != PortfolioConfiguration.KEEP_ORDER_SEED) {
+            Collections.shuffle(copiedSchoolClasses, new Random(shuffleSeed));
+        }
+
+        if (portfolioConfiguration.generationEngine() == GenerationEngine.BACKTRACKING) {
+            new BacktrackingTimetableSolver(copiedTimetableGenerator, timeBudget, portfolioConfiguration.schedulingStrategy()).generateTimetables(copiedSchoolClasses, deadline);
+        } else {
+            portfolioConfiguration.schedulingStrategy().generateTimetables(copiedSchoolClasses, copiedTimetableGenerator);
+        }
+        int weightedScore = TimetableScore.calculate(copiedSchoolClasses, copiedTimetableGenerator.getRoomDistances()).getWeightedScore();
+        return new PortfolioResult(configurationIndex, portfolioConfiguration, weightedScore,
+                schoolStateCopy, TimetableGenerator.collectPlacements(schoolStateCopy.getSchoolClasses()));
+    }
+
+    /**
+     * The timetables found by one configuration of the portfolio.
+     */
+    private record PortfolioResult(int configurationIndex, PortfolioConfiguration portfolioConfiguration, int weightedScore,
+                                   SchoolStateCopy schoolStateCopy, List<SubjectPlacement> subjectPlacements) {
+        boolean isBetterThan(PortfolioResult otherResult) {
+            if (weightedScore != otherResult.weightedScore) {
+                return weightedScore < otherResult.weightedScore;
+            }
+            return configurationIndex < otherResult.configurationIndex;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Floor;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class detects rooms and teachers that are interchangeable, so a feasibility search only has to try one of them. <br>
+ * <p>
+ * When the generator is created, the rooms are grouped into equivalence classes by capacity, building, floor and time slots,
+ * and the teachers by subjects, workload and time slots. Two resources of the same class are only interchangeable
+ * as long as they have the same bookings and, for teachers, the same days at school, which can change during a repair.
+ * This is compared when a search lists its candidates: of several interchangeable free resources only the first one is kept.
+ * Every complete timetable using a skipped resource has a twin using the kept one, with the remaining bookings of the two resources swapped,
+ * so no solution is lost. The score of the twin can differ, e.g. the walking distance of a school class depends on the rooms
+ * it already uses, so the pruning is only meant for searches that look for any solution, not for the optimizer.
+ * <p>
+ * A room whose walking distance was overridden differs from the rooms next to it and is never treated as interchangeable,
+ * neither is a teacher without a timetable.
+ */
+class ResourceSymmetry {
+    private final Map<Room, Integer> roomClasses = new IdentityHashMap<>();
+    private final Map<Teacher, Integer> teacherClasses = new IdentityHashMap<>();
+    private final RoomDistances roomDistances;
+
+    /**
+     * Detects the equivalence classes of the rooms and teachers.
+     *
+     * @param allTeachers   the teachers of the school
+     * @param rooms         the rooms of the school
+     * @param roomDistances the walking distances between the rooms
+     */
+    ResourceSymmetry(List<Teacher> allTeachers, List<Room> rooms, RoomDistances roomDistances) {
+        this.roomDistances = roomDistances;
+        Map<RoomKey, Integer> roomClassIds = new HashMap<>();
+        for (Room room : rooms) {
+            RoomKey roomKey = new RoomKey(room.getCapacity(), room.getBuilding(), room.getFloor(), room.getRoomAvailability().getTimetableTemplate());
+            roomClasses.put(room, roomClassIds.computeIfAbsent(roomKey, newKey -> roomClassIds.size()));
+        }
+        Map<TeacherKey, Integer> teacherClassIds = new HashMap<>();
+        for (Teacher teacher : allTeachers) {
+            if (teacher.getTimetable() == null) {
+                continue;
+            }
+            TeacherKey teacherKey = new TeacherKey(new HashSet<>(teacher.getSubjects()), teacher.getWorkload(), teacher.getTimetable().getTimetableTemplate());
+            teacherClasses.putIfAbsent(teacher, teacherClassIds.computeIfAbsent(teacherKey, newKey -> teacherClassIds.size()));
+        }
+    }
+
+    /**
+     * Removes the rooms that are interchangeable with a room before them in the list.
+     *
+     * @param rooms the free rooms of a block
+     * @return the rooms that lead to different timetables, in the same order
+     */
+    List<Room> removeInterchangeableRooms(List<Room> rooms) {
+        List<Room> distinctRooms = new ArrayList<>();
+        for (Room room : rooms) {
+            if (distinctRooms.stream().noneMatch(distinctRoom -> areInterchangeable(distinctRoom, room))) {
+                distinctRooms.add(room);
+            }
+        }
+        return distinctRooms;
+    }
+
+    /**
+     * Removes the teachers that are interchangeable with a teacher before them in the list.
+     *
+     * @param teachers the available teachers of a block
+     * @return the teachers that lead to different timetables, in the same order
+     */
+    List<Teacher> removeInterchangeableTeachers(List<Teacher> teachers) {
+        List<Teacher> distinctTeachers = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            if (distinctTeachers.stream().noneMatch(distinctTeacher -> areInterchangeable(distinctTeacher, teacher))) {
+                distinctTeachers.add(teacher);
+            }
+        }
+        return distinctTeachers;
+    }
+
+    private boolean areInterchangeable(Room firstRoom, Room secondRoom) {
+        Integer roomClass = roomClasses.get(firstRoom);
+        return roomClass != null && roomClass.equals(roomClasses.get(secondRoom))
+                && !roomDistances.hasOverriddenDistance(firstRoom) && !roomDistances.hasOverriddenDistance(secondRoom)
+                && haveSameBookings(firstRoom.getRoomAvailability(), secondRoom.getRoomAvailability());
+    }
+
+    private boolean areInterchangeable(Teacher firstTeacher, Teacher secondTeacher) {
+        Integer teacherClass = teacherClasses.get(firstTeacher);
+        return teacherClass != null && teacherClass.equals(teacherClasses.get(secondTeacher))
+                && toDaySet(firstTeacher.getAvailableWeekDays()).equals(toDaySet(secondTeacher.getAvailableWeekDays()))
+                && haveSameBookings(firstTeacher.getTimetable().getOccupancyGrid(), secondTeacher.getTimetable().getOccupancyGrid());
+    }
+
+    private static boolean haveSameBookings(OccupancyGrid firstGrid, OccupancyGrid secondGrid) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (firstGrid.getOccupiedMask(dayOfWeek) != secondGrid.getOccupiedMask(dayOfWeek)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<DayOfWeek> toDaySet(List<DayOfWeek> weekDays) {
+        Set<DayOfWeek> daySet = EnumSet.noneOf(DayOfWeek.class);
+        daySet.addAll(weekDays);
+        return daySet;
+    }
+
+    /**
+     * The properties that make two rooms interchangeable. Buildings and floors are compared by identity.
+     */
+    private record RoomKey(int capacity, Building building, Floor floor, TimetableTemplate timetableTemplate) {
+    }
+
+    /**
+     * The properties that make two teachers interchangeable. The days at school are compared when the candidates are listed.
+     */
+    private record TeacherKey(Set<Subject> subjects, double workload, TimetableTemplate timetableTemplate) {
+    }
+}
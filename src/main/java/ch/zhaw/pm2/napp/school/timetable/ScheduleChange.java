@@ -0,0 +1,83 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+
+/**
+ * A change of the resources of a school during the semester, which is handled by the {@link TimetableRepairer}.
+ * Each change knows how to apply itself to the resource, how to undo it again and which placements it affects.
+ */
+public sealed interface ScheduleChange permits ScheduleChange.TeacherUnavailable, ScheduleChange.RoomClosed {
+
+    /**
+     * Changes the resource. The lessons already set stay in the timetables.
+     *
+     * @return true if the resource was changed, false if it was already in the requested state
+     */
+    boolean apply();
+
+    /**
+     * Undoes {@link #apply()}.
+     */
+    void revert();
+
+    /**
+     * Returns whether the placement can no longer take place after the change.
+     *
+     * @param subjectPlacement the placement to check
+     * @return true if the placement has to be moved
+     */
+    boolean affects(SubjectPlacement subjectPlacement);
+
+    /**
+     * A teacher can no longer work on a day of the week.
+     *
+     * @param teacher   the teacher
+     * @param dayOfWeek the day the teacher drops
+     */
+    record TeacherUnavailable(Teacher teacher, DayOfWeek dayOfWeek) implements ScheduleChange {
+        @Override
+        public boolean apply() {
+            return teacher.removeAvailableWeekDay(dayOfWeek);
+        }
+
+        @Override
+        public void revert() {
+            teacher.addAvailableWeekDay(dayOfWeek);
+        }
+
+        @Override
+        public boolean affects(SubjectPlacement subjectPlacement) {
+            return subjectPlacement.dayOfWeek() == dayOfWeek
+                    && subjectPlacement.lessons().stream().anyMatch(lesson -> lesson.teacher() == teacher);
+        }
+    }
+
+    /**
+     * A room can no longer be used.
+     *
+     * @param room the closed room
+     */
+    record RoomClosed(Room room) implements ScheduleChange {
+        @Override
+        public boolean apply() {
+            if (room.isClosed()) {
+                return false;
+            }
+            room.setClosed(true);
+            return true;
+        }
+
+        @Override
+        public void revert() {
+            room.setClosed(false);
+        }
+
+        @Override
+        public boolean affects(SubjectPlacement subjectPlacement) {
+            return subjectPlacement.lessons().stream().anyMatch(lesson -> lesson.room() == room);
+        }
+    }
+}
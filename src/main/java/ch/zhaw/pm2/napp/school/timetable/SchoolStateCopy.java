@@ -0,0 +1,147 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Floor;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A copy of the teachers, buildings and school classes of a school with empty timetables.
+ * A generator can work on the copy without touching the original school, and the result can be mapped back afterwards.
+ */
+class SchoolStateCopy {
+    private final List<Teacher> teachers = new ArrayList<>();
+    private final List<Building> buildings = new ArrayList<>();
+    private final List<SchoolClass> schoolClasses = new ArrayList<>();
+    private final Map<Teacher, Teacher> originalTeachers = new IdentityHashMap<>();
+    private final Map<Teacher, Teacher> copiedTeachers = new IdentityHashMap<>();
+    private final Map<Room, Room> originalRooms = new IdentityHashMap<>();
+    private final Map<Room, Room> copiedRooms = new IdentityHashMap<>();
+    private final Map<SchoolClass, SchoolClass> originalSchoolClasses = new IdentityHashMap<>();
+    private final Map<SchoolClass, SchoolClass> copiedSchoolClasses = new IdentityHashMap<>();
+
+    /**
+     * Copies the school. The originals are only read.
+     *
+     * @param allTeachers     the teachers of the school
+     * @param schoolBuildings the buildings of the school
+     * @param schoolClasses   the school classes of the school
+     */
+    SchoolStateCopy(List<Teacher> allTeachers, List<Building> schoolBuildings, List<SchoolClass> schoolClasses) {
+        for (Teacher teacher : allTeachers) {
+            teachers.add(copyTeacher(teacher));
+        }
+        for (Building building : schoolBuildings) {
+            buildings.add(copyBuilding(building));
+        }
+        for (SchoolClass schoolClass : schoolClasses) {
+            this.schoolClasses.add(copySchoolClass(schoolClass));
+        }
+    }
+
+    List<Teacher> getTeachers() {
+        return teachers;
+    }
+
+    List<Building> getBuildings() {
+        return buildings;
+    }
+
+    List<SchoolClass> getSchoolClasses() {
+        return schoolClasses;
+    }
+
+    /**
+     * Converts a placement made on the copy into the same placement on the original school.
+     *
+     * @param subjectPlacement the placement of a copied school class
+     * @return the placement with the original school class, teachers and rooms
+     */
+    SubjectPlacement toOriginal(SubjectPlacement subjectPlacement) {
+        List<Lesson> lessons = new ArrayList<>();
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            lessons.add(new Lesson(lesson.subject(), originalTeachers.get(lesson.teacher()), lesson.timeSlot(), originalRooms.get(lesson.room())));
+        }
+        return new SubjectPlacement(originalSchoolClasses.get(subjectPlacement.schoolClass()), subjectPlacement.dayOfWeek(), lessons);
+    }
+
+    /**
+     * Converts a placement of the original school into the same placement on the copy, e.g. to take over pinned lessons.
+     *
+     * @param subjectPlacement the placement of an original school class
+     * @return the placement with the copied school class, teachers and rooms
+     */
+    SubjectPlacement toCopy(SubjectPlacement subjectPlacement) {
+        List<Lesson> lessons = new ArrayList<>();
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            lessons.add(new Lesson(lesson.subject(), copiedTeachers.get(lesson.teacher()), lesson.timeSlot(), copiedRooms.get(lesson.room())));
+        }
+        return new SubjectPlacement(copiedSchoolClasses.get(subjectPlacement.schoolClass()), subjectPlacement.dayOfWeek(), lessons);
+    }
+
+    /**
+     * Takes over the walking distances of the original rooms, including the overridden ones, into the distances of the copied rooms.
+     *
+     * @param originalRoomDistances the distance matrix of the original buildings
+     * @param copiedRoomDistances   the distance matrix of the copied buildings
+     */
+    void copyRoomDistances(RoomDistances originalRoomDistances, RoomDistances copiedRoomDistances) {
+        List<Room> copiedRooms = copiedRoomDistances.getRooms();
+        for (int from = 0; from < copiedRooms.size(); from++) {
+            Room originalRoom = originalRooms.get(copiedRooms.get(from));
+            for (int to = from + 1; to < copiedRooms.size(); to++) {
+                int originalDistance = originalRoomDistances.getDistance(originalRoom, originalRooms.get(copiedRooms.get(to)));
+                if (copiedRoomDistances.getDistance(copiedRooms.get(from), copiedRooms.get(to)) != originalDistance) {
+                    copiedRoomDistances.setDistance(copiedRooms.get(from), copiedRooms.get(to), originalDistance);
+                }
+            }
+        }
+    }
+
+    private Teacher copyTeacher(Teacher teacher) {
+        Teacher copiedTeacher = copiedTeachers.get(teacher);
+        if (copiedTeacher == null) {
+            copiedTeacher = new Teacher(teacher.getMatriculationNumber(), teacher.getLastName(), teacher.getFirstName(), teacher.getSchoolVisitorRole(),
+                    teacher.getWorkload(), teacher.getAvailableWeekDays(), teacher.getSubjects(), teacher.getTimetable().getTimetableTemplate());
+            copiedTeachers.put(teacher, copiedTeacher);
+            originalTeachers.put(copiedTeacher, teacher);
+        }
+        return copiedTeacher;
+    }
+
+    private Building copyBuilding(Building building) {
+        Building copiedBuilding = new Building(building.getBuildingIdentifier());
+        for (Floor floor : building.getFloors()) {
+            for (Room room : floor.getRooms()) {
+                Room copiedRoom = new Room(room.getRoomIdentifier(), room.getCapacity(), room.getRoomAvailability().getTimetableTemplate());
+                copiedRoom.setClosed(room.isClosed());
+                originalRooms.put(copiedRoom, room);
+                copiedRooms.put(room, copiedRoom);
+                copiedBuilding.addRoomToFloor(copiedRoom, floor.getFloorIdentifier());
+            }
+        }
+        return copiedBuilding;
+    }
+
+    private SchoolClass copySchoolClass(SchoolClass schoolClass) {
+        SchoolClass copiedSchoolClass = new SchoolClass(schoolClass.getId(), schoolClass.getSubjects(), schoolClass.getTimetable().getTimetableTemplate());
+        for (Person student : schoolClass.getStudents()) {
+            copiedSchoolClass.addStudent(new Person(student.getMatriculationNumber(), student.getLastName(), student.getFirstName(),
+                    student.getSchoolVisitorRole(), student.getSubjects(), student.getTimetable().getTimetableTemplate()));
+        }
+        for (Teacher teacher : schoolClass.getTeachers()) {
+            copiedSchoolClass.addTeacher(copyTeacher(teacher));
+        }
+        originalSchoolClasses.put(copiedSchoolClass, schoolClass);
+        copiedSchoolClasses.put(schoolClass, copiedSchoolClass);
+        return copiedSchoolClass;
+    }
+}
@@ -0,0 +1,16 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * This record represents the lessons of one subject that are placed together on one day for a school class.
+ *
+ * @param schoolClass the school class attending the lessons
+ * @param dayOfWeek   the day on which the lessons take place
+ * @param lessons     the lessons of the subject, one per time slot
+ */
+public record SubjectPlacement(SchoolClass schoolClass, DayOfWeek dayOfWeek, List<Lesson> lessons) {
+}
@@ -0,0 +1,46 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of teachers and rooms that a planned, but not yet committed, timetable would occupy.
+ * The bookings are only visible to the planning thread, so several school classes can be planned at the same time
+ * without touching the shared teacher and room timetables.
+ */
+class TentativeBookings {
+    private final Map<Teacher, OccupancyGrid> teacherBookings = new HashMap<>();
+    private final Map<Room, OccupancyGrid> roomBookings = new HashMap<>();
+    private final Map<Teacher, Integer> teacherLessons = new HashMap<>();
+
+    /**
+     * Records all lessons of the placement as booked.
+     *
+     * @param subjectPlacement the planned placement
+     */
+    void book(SubjectPlacement subjectPlacement) {
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            teacherBookings.computeIfAbsent(lesson.teacher(), teacher -> new OccupancyGrid(teacher.getTimetable().getTimetableTemplate())).occupy(subjectPlacement.dayOfWeek(), lesson.timeSlot());
+            roomBookings.computeIfAbsent(lesson.room(), room -> new OccupancyGrid(room.getRoomAvailability().getTimetableTemplate())).occupy(subjectPlacement.dayOfWeek(), lesson.timeSlot());
+            teacherLessons.merge(lesson.teacher(), 1, Integer::sum);
+        }
+    }
+
+    boolean isTeacherFree(Teacher teacher, DayOfWeek dayOfWeek, long timeSlotMask) {
+        OccupancyGrid bookings = teacherBookings.get(teacher);
+        return bookings == null || bookings.isFree(dayOfWeek, timeSlotMask);
+    }
+
+    boolean isRoomFree(Room room, DayOfWeek dayOfWeek, long timeSlotMask) {
+        OccupancyGrid bookings = roomBookings.get(room);
+        return bookings == null || bookings.isFree(dayOfWeek, timeSlotMask);
+    }
+
+    int getBookedLessons(Teacher teacher) {
+        return teacherLessons.getOrDefault(teacher, 0);
+    }
+}
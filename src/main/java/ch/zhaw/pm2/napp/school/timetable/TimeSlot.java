@@ -1,16 +1,22 @@
 package ch.zhaw.pm2.napp.school.timetable;
 
 import java.time.LocalTime;
+import java.util.Objects;
 
 import static ch.zhaw.pm2.napp.school.School.LESSON_LENGTH;
 
 /**
  * This class represents a timeslot in a timetable, with a start time, end time and a weekday.
  * Timeslots have a start time and end time and toString method is a combination of strings of both.
+ * Canonical timeslots are handed out by the {@link TimeSlotRegistry} and carry an ordinal, so they can be compared by an int.
  */
 public class TimeSlot {
+    static final int NOT_REGISTERED = -1;
+
     private final LocalTime startTime;
     private final LocalTime endTime;
+    private final int ordinal;
+    private final int hashCode;
 
     /**
      * Creates a timeslot with a start time, end time and a weekday.
@@ -19,8 +25,7 @@ public class TimeSlot {
      * @param endTime   the end time.
      */
     public TimeSlot(LocalTime startTime, LocalTime endTime) {
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this(startTime, endTime, NOT_REGISTERED);
     }
 
     /**
@@ -30,8 +35,21 @@ public class TimeSlot {
      * @param startTime the start time.
      */
     public TimeSlot(LocalTime startTime) {
+        this(startTime, startTime.plusMinutes(LESSON_LENGTH), NOT_REGISTERED);
+    }
+
+    /**
+     * Creates a canonical timeslot, only used by the {@link TimeSlotRegistry}.
+     *
+     * @param startTime the start time.
+     * @param endTime   the end time.
+     * @param ordinal   the dense id of the timeslot within the registry.
+     */
+    TimeSlot(LocalTime startTime, LocalTime endTime, int ordinal) {
         this.startTime = startTime;
-        this.endTime = startTime.plusMinutes(LESSON_LENGTH);
+        this.endTime = endTime;
+        this.ordinal = ordinal;
+        this.hashCode = Objects.hash(startTime, endTime);
     }
 
     @Override
@@ -39,15 +57,36 @@ public class TimeSlot {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         TimeSlot timeSlot = (TimeSlot) obj;
+        if (ordinal != NOT_REGISTERED && timeSlot.ordinal != NOT_REGISTERED) {
+            return ordinal == timeSlot.ordinal;
+        }
         return startTime.equals(timeSlot.startTime) && endTime.equals(timeSlot.endTime);
     }
 
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
     @Override
     public String toString() {
         return this.startTime + "-" + this.endTime;
     }
 
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
     public LocalTime getEndTime() {
         return endTime;
     }
+
+    /**
+     * Returns the dense id of the timeslot, see {@link TimeSlotRegistry}.
+     *
+     * @return the ordinal, or -1 if this timeslot was not created by the registry
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
 }
@@ -0,0 +1,76 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The TimeSlotRegistry interns timeslots, so that every start and end time exists only once as a {@link TimeSlot}.
+ * Each canonical timeslot gets a dense ordinal starting at 0, which can be used to index arrays and bitsets
+ * and to compare timeslots by an int instead of two {@link java.time.LocalTime} objects.
+ */
+public final class TimeSlotRegistry {
+    private static final Map<TimeSlot, TimeSlot> CANONICAL_TIME_SLOTS = new ConcurrentHashMap<>();
+    private static final List<TimeSlot> TIME_SLOTS_BY_ORDINAL = new ArrayList<>();
+
+    private TimeSlotRegistry() {
+    }
+
+    /**
+     * Returns the canonical timeslot with the same start and end time. It is registered if it does not exist yet.
+     *
+     * @param timeSlot the timeslot to intern
+     * @return the canonical timeslot with an ordinal
+     */
+    public static TimeSlot intern(TimeSlot timeSlot) {
+        if (timeSlot.getOrdinal() != TimeSlot.NOT_REGISTERED) {
+            return timeSlot;
+        }
+        TimeSlot canonicalTimeSlot = CANONICAL_TIME_SLOTS.get(timeSlot);
+        return canonicalTimeSlot != null ? canonicalTimeSlot : register(timeSlot);
+    }
+
+    /**
+     * Returns the ordinal of the timeslot without registering it.
+     *
+     * @param timeSlot the timeslot to look up
+     * @return the ordinal, or -1 if no equal timeslot was registered
+     */
+    public static int getOrdinal(TimeSlot timeSlot) {
+        if (timeSlot.getOrdinal() != TimeSlot.NOT_REGISTERED) {
+            return timeSlot.getOrdinal();
+        }
+        TimeSlot canonicalTimeSlot = CANONICAL_TIME_SLOTS.get(timeSlot);
+        return canonicalTimeSlot != null ? canonicalTimeSlot.getOrdinal() : TimeSlot.NOT_REGISTERED;
+    }
+
+    /**
+     * Returns the canonical timeslot with the given ordinal.
+     *
+     * @param ordinal the ordinal of the timeslot
+     * @return the canonical timeslot
+     */
+    public static synchronized TimeSlot getTimeSlot(int ordinal) {
+        return TIME_SLOTS_BY_ORDINAL.get(ordinal);
+    }
+
+    /**
+     * Returns the amount of registered timeslots, which is also the next free ordinal.
+     *
+     * @return the amount of registered timeslots
+     */
+    public static synchronized int size() {
+        return TIME_SLOTS_BY_ORDINAL.size();
+    }
+
+    private static synchronized TimeSlot register(TimeSlot timeSlot) {
+        TimeSlot canonicalTimeSlot = CANONICAL_TIME_SLOTS.get(timeSlot);
+        if (canonicalTimeSlot == null) {
+            canonicalTimeSlot = new TimeSlot(timeSlot.getStartTime(), timeSlot.getEndTime(), TIME_SLOTS_BY_ORDINAL.size());
+            TIME_SLOTS_BY_ORDINAL.add(canonicalTimeSlot);
+            CANONICAL_TIME_SLOTS.put(canonicalTimeSlot, canonicalTimeSlot);
+        }
+        return canonicalTimeSlot;
+    }
+}
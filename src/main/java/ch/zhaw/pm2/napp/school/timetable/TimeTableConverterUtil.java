@@ -12,9 +12,28 @@ import java.util.List;
  * @author buechad1
  */
 public class TimeTableConverterUtil {
+    public static final String SEED_LINE_PREFIX = "SEED";
+
     private TimeTableConverterUtil() {
     }
 
+    /**
+     * Converts the given timetable like {@link #convertTimetablesToCsvString(Timetable)} and adds the seed of the generation as first line,
+     * so the timetable can be generated again, see {@link ch.zhaw.pm2.napp.school.School#setSeed(long)}.
+     *
+     * @param timetable - the timetable {@link Timetable} object to convert into csv based strings
+     * @param seed      - the seed the timetable was generated with
+     * @return an array containing the seed line followed by the csv lines of the timetable
+     * @throws TimetableConversionException if given timetable is null an exception is thrown as conversion cannot be done.
+     */
+    public static String[] convertTimetablesToCsvString(Timetable timetable, long seed) throws TimetableConversionException {
+        final String[] timetableLines = convertTimetablesToCsvString(timetable);
+        final String[] csvLines = new String[timetableLines.length + 1];
+        csvLines[0] = SEED_LINE_PREFIX + ";" + seed;
+        System.arraycopy(timetableLines, 0, csvLines, 1, timetableLines.length);
+        return csvLines;
+    }
+
     /**
      * Converts the give timetable object into a String Array containing each individual line of in a csv formatted way
      *
@@ -50,7 +69,9 @@ public class TimeTableConverterUtil {
                 .append(lesson.teacher().getFirstName())
                 .append(" ")
                 .append(lesson.teacher().getLastName())
-                .append("]")
+                .append(" (")
+                .append(lesson.teacher().getMatriculationNumber())
+                .append(")]")
                 .append(";"));
         return stringBuilder.toString();
     }
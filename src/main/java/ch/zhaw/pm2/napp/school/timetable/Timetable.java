@@ -2,27 +2,65 @@ package ch.zhaw.pm2.napp.school.timetable;
 
 import java.time.DayOfWeek;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * The Timetable class contains the timetable and the logic to check if the TimeSlot is free.
- * The timetable a HashMap containing the day of the week as key and a list of lessons with timeslots each.
+ * The timetable is an EnumMap containing the day of the week as key and a list of lessons with timeslots each, so the days are always in the order of the week.
+ * <p>
+ * Immutable versions of the timetable can be taken with {@link #snapshot()}. The timetable remembers the days changed since the last one,
+ * so a new {@link TimetableSnapshot} only copies these days and shares all others with the previous version.
  *
  * @author fupat002
  */
 public class Timetable {
     private final Map<DayOfWeek, List<Lesson>> timetable;
-    private final TimetableModel timetableModel;
+    private final TimetableTemplate timetableTemplate;
+    private final OccupancyGrid occupancyGrid;
+    private int amountOfSetLessonsPerWeek;
+    private int changedDays;
+    private TimetableSnapshot latestSnapshot;
+    private volatile TimetableSnapshot publishedSnapshot;
 
     /**
-     * Creates an empty timetable.
+     * Creates an empty timetable based on the default {@link TimetableTemplate}.
      */
     public Timetable() {
-        this.timetable = new HashMap<>();
-        this.timetableModel = new TimetableModel();
+        this(TimetableTemplate.getDefaultTemplate());
+    }
+
+    /**
+     * Creates an empty timetable based on the given template.
+     *
+     * @param timetableTemplate the time slots of each day
+     */
+    public Timetable(TimetableTemplate timetableTemplate) {
+        this.timetable = new EnumMap<>(DayOfWeek.class);
+        this.timetableTemplate = timetableTemplate;
+        this.occupancyGrid = new OccupancyGrid(timetableTemplate);
+        this.latestSnapshot = timetableTemplate.getEmptySnapshot();
+        this.publishedSnapshot = latestSnapshot;
+    }
+
+    /**
+     * Creates a timetable with the lessons of a snapshot, e.g. to continue working on a what-if scenario.
+     *
+     * @param timetableSnapshot the version to start from
+     */
+    public Timetable(TimetableSnapshot timetableSnapshot) {
+        this(timetableSnapshot.getTimetableTemplate());
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (!timetableSnapshot.getLessons(dayOfWeek).isEmpty()) {
+                timetable.put(dayOfWeek, new ArrayList<>(timetableSnapshot.getLessons(dayOfWeek)));
+            }
+            occupancyGrid.occupy(dayOfWeek, timetableSnapshot.getOccupancySnapshot().getOccupiedMask(dayOfWeek));
+        }
+        this.amountOfSetLessonsPerWeek = timetableSnapshot.getAmountOfSetLessonsPerWeek();
+        this.latestSnapshot = timetableSnapshot;
+        this.publishedSnapshot = timetableSnapshot;
     }
 
     /**
@@ -38,92 +76,65 @@ public class Timetable {
         return getFreeTimeSlotsAfterTheOtherPerDay(subject.weeklyLessons(), dayOfWeek);
     }
 
-    private List<List<TimeSlot>> getFreeTimeSlotsAfterTheOtherPerDay(int numberOfTimeSlots, DayOfWeek dayOfWeek) {
+    /**
+     * Searches all blocks of free time slots one after the other on a day.
+     *
+     * @param numberOfTimeSlots the length of the blocks
+     * @param dayOfWeek         the day from which you want the TimeSlots
+     * @return a list of all free blocks of the given length
+     */
+    public List<List<TimeSlot>> getFreeTimeSlotsAfterTheOtherPerDay(int numberOfTimeSlots, DayOfWeek dayOfWeek) {
         List<List<TimeSlot>> freeTimeSlotsAfterTheOtherPerDay = new ArrayList<>();
-        List<TimeSlot> allFreeTimeSlotsPerDay = getFreeTimeSlots(dayOfWeek);
-        List<TimeSlot> timeSlotsModelPerDay = timetableModel.getTimetableModel().get(dayOfWeek);
-        int placesPerDayForSubject = allFreeTimeSlotsPerDay.size() - (numberOfTimeSlots - 1);//Example: With allFreeTimeSlotsPerDay.size() = 10 and numberOfTimeSlots 2 there are 9 possible ways the two TimeSlots could fit in.
-        List<TimeSlot> tempFreeTimeSlots = new ArrayList<>();
-
-        for (int freeTimeSlotsIndex = 0; freeTimeSlotsIndex < placesPerDayForSubject; freeTimeSlotsIndex++) {
-            TimeSlot freeTimeSlot = allFreeTimeSlotsPerDay.get(freeTimeSlotsIndex);
+        OccupancyGrid occupancyGrid = getOccupancyGrid();
+        long blockStarts = occupancyGrid.getFreeBlockStarts(dayOfWeek, numberOfTimeSlots);
+        long blockMask = (1L << numberOfTimeSlots) - 1;
 
-            for (int modelTimeSlotIndex = 0; modelTimeSlotIndex < timeSlotsModelPerDay.size(); modelTimeSlotIndex++) {
-                TimeSlot modelTimeSlot = timeSlotsModelPerDay.get(modelTimeSlotIndex);
-                tempFreeTimeSlots.addAll(compareFreeTimeSlots(numberOfTimeSlots, allFreeTimeSlotsPerDay, timeSlotsModelPerDay, freeTimeSlotsIndex, freeTimeSlot, modelTimeSlotIndex, modelTimeSlot));
-            }
-            if (tempFreeTimeSlots.size() == numberOfTimeSlots) {
-                freeTimeSlotsAfterTheOtherPerDay.add(tempFreeTimeSlots);
-                tempFreeTimeSlots = new ArrayList<>(); //reset temporary list
-            }
+        for (long remainingStarts = blockStarts; remainingStarts != 0; remainingStarts &= remainingStarts - 1) {
+            int firstTimeSlotIndex = Long.numberOfTrailingZeros(remainingStarts);
+            freeTimeSlotsAfterTheOtherPerDay.add(occupancyGrid.toTimeSlots(dayOfWeek, blockMask << firstTimeSlotIndex));
         }
-
         return freeTimeSlotsAfterTheOtherPerDay;
     }
 
-    private List<TimeSlot> compareFreeTimeSlots(int numberOfTimeSlots, List<TimeSlot> allFreeTimeSlotsPerDay, List<TimeSlot> timeSlotsPerDay, int freeTimeSlotsIndex, TimeSlot freeTimeSlot, int modelTimeSlotIndex, TimeSlot modelTimeSchlot) {
-        List<TimeSlot> tempFreeTimeSlots = new ArrayList<>();
-        if (modelTimeSchlot.equals(freeTimeSlot)) {
-            tempFreeTimeSlots.add(freeTimeSlot);
-            tempFreeTimeSlots.addAll(nextFreeTimeSlot(numberOfTimeSlots, allFreeTimeSlotsPerDay, timeSlotsPerDay, freeTimeSlotsIndex, modelTimeSlotIndex));
-        }
-        return tempFreeTimeSlots;
-    }
-
-    private List<TimeSlot> nextFreeTimeSlot(int numberOfTimeSlots, List<TimeSlot> allFreeTimeSlotsPerDay, List<TimeSlot> timeSlotsPerDay, int freeTimeSlotsIndex, int modelTimeSlotIndex) {
-        List<TimeSlot> tempFreeTimeSlots = new ArrayList<>();
-        for (int i = 1; i < numberOfTimeSlots; i++) {
-            TimeSlot nextFreeTimeSlot = allFreeTimeSlotsPerDay.get(freeTimeSlotsIndex + i);
-            TimeSlot nextModelTimeSchlot = timeSlotsPerDay.get(modelTimeSlotIndex + i);
-            if (nextFreeTimeSlot.equals(nextModelTimeSchlot)) {
-                tempFreeTimeSlots.add(nextFreeTimeSlot);
-            }
-        }
-        return tempFreeTimeSlots;
-    }
-
-    private List<TimeSlot> getFreeTimeSlots(DayOfWeek dayOfWeek) {
-        List<TimeSlot> freeTimeSlotsAtDay = new ArrayList<>();
-
-        for (TimeSlot freeTimeSlot : timetableModel.getTimetableModel().get(dayOfWeek)) {
-            if (isFree(dayOfWeek, freeTimeSlot)) {
-                freeTimeSlotsAtDay.add(freeTimeSlot);
-            }
-        }
-        return freeTimeSlotsAtDay;
+    /**
+     * Returns whether the time slot is part of a free block long enough for the subject.
+     *
+     * @param dayOfWeek the day to check
+     * @param timeSlot  the time slot that has to be free
+     * @param subject   the subject whose weekly lessons determine the length of the block
+     * @return true if the subject could be placed in a block containing the time slot
+     */
+    public boolean isFreeForSubject(DayOfWeek dayOfWeek, TimeSlot timeSlot, Subject subject) {
+        return getOccupancyGrid().isInFreeBlock(dayOfWeek, timeSlot, subject.weeklyLessons());
     }
 
-    private boolean isFree(DayOfWeek dayOfWeek, TimeSlot timeSlotToCheck) {
-        if (timetable.get(dayOfWeek) == null) {
-            return true;
-        }
-        return !timetable.get(dayOfWeek).stream().map(Lesson::timeSlot).collect(Collectors.toList()).contains(timeSlotToCheck);
+    /**
+     * Returns whether no lesson takes place at the given time slot.
+     *
+     * @param dayOfWeek       the day to check
+     * @param timeSlotToCheck the time slot to check
+     * @return true if the time slot is free
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, TimeSlot timeSlotToCheck) {
+        return getOccupancyGrid().isFree(dayOfWeek, timeSlotToCheck);
     }
 
+    /**
+     * Returns the amount of time slots per week of the timetable template.
+     *
+     * @return the amount of possible lessons per week.
+     */
     public int getAmountOfPossibleLessonsPerWeek() {
-        Map<DayOfWeek, List<TimeSlot>> timetableSlots = timetableModel.getTimetableModel();
-        int weeklyLessons = 0;
-        for (int i = 1; i <= timetableSlots.size(); i++) {
-            DayOfWeek dayOfWeek = DayOfWeek.of(i);
-            weeklyLessons += timetableSlots.get(dayOfWeek).size();
-        }
-        return weeklyLessons;
+        return timetableTemplate.getAmountOfTimeSlotsPerWeek();
     }
 
     /**
-     * Calculates the amount of possible set lessons per week based on weekdays and max lessons per day
+     * Returns the amount of lessons set in this timetable. The counter is updated whenever a lesson is added or removed.
      *
      * @return the amount of lessons per week.
      */
     public int getAmountOfSetLessonsPerWeek() {
-        int weeklyLessons = 0;
-        for (int i = 1; i <= timetable.size(); i++) {
-            DayOfWeek dayOfWeek = DayOfWeek.of(i);
-            if (timetable.get(dayOfWeek) != null) {
-                weeklyLessons += timetable.get(dayOfWeek).size();
-            }
-        }
-        return weeklyLessons;
+        return amountOfSetLessonsPerWeek;
     }
 
     /**
@@ -133,6 +144,9 @@ public class Timetable {
      * @param lesson    the lesson that should be added to the list of timeslots
      */
     public void addToTimetable(DayOfWeek dayOfWeek, Lesson lesson) {
+        occupancyGrid.occupy(dayOfWeek, lesson.timeSlot());
+        amountOfSetLessonsPerWeek++;
+        changedDays |= 1 << dayOfWeek.ordinal();
         if (timetable.containsKey(dayOfWeek)) {
             timetable.get(dayOfWeek).add(lesson);
         } else {
@@ -142,7 +156,77 @@ public class Timetable {
         }
     }
 
+    /**
+     * Removes a lesson from the timetable and frees its time slot, unless another lesson still takes place at that time.
+     * The list of the day is searched from the end, so undoing the latest lessons first is cheap.
+     *
+     * @param dayOfWeek the day of week of the lesson
+     * @param lesson    the lesson that should be removed
+     */
+    public void removeFromTimetable(DayOfWeek dayOfWeek, Lesson lesson) {
+        List<Lesson> lessonList = timetable.get(dayOfWeek);
+        int lessonIndex = lessonList == null ? -1 : lessonList.lastIndexOf(lesson);
+        if (lessonIndex < 0) {
+            return;
+        }
+        lessonList.remove(lessonIndex);
+        amountOfSetLessonsPerWeek--;
+        changedDays |= 1 << dayOfWeek.ordinal();
+        if (lessonList.stream().noneMatch(remainingLesson -> remainingLesson.timeSlot().equals(lesson.timeSlot()))) {
+            occupancyGrid.release(dayOfWeek, lesson.timeSlot());
+        }
+        if (lessonList.isEmpty()) {
+            timetable.remove(dayOfWeek);
+        }
+    }
+
+    /**
+     * Creates an immutable version of the timetable. Only the days changed since the last snapshot are copied,
+     * all other days are shared with it. Without any change the last snapshot is returned.
+     * Like all changes of the timetable, it has to be called by the thread changing the timetable.
+     *
+     * @return the current version of the timetable
+     */
+    public TimetableSnapshot snapshot() {
+        if (changedDays != 0) {
+            List<List<Lesson>> lessonsPerDay = new ArrayList<>(DayOfWeek.values().length);
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                boolean isChanged = (changedDays & 1 << dayOfWeek.ordinal()) != 0;
+                lessonsPerDay.add(isChanged ? List.copyOf(timetable.getOrDefault(dayOfWeek, List.of())) : latestSnapshot.getLessons(dayOfWeek));
+            }
+            latestSnapshot = new TimetableSnapshot(timetableTemplate, Collections.unmodifiableList(lessonsPerDay), occupancyGrid.snapshot(),
+                    amountOfSetLessonsPerWeek, latestSnapshot.getVersion() + 1);
+            changedDays = 0;
+        }
+        return latestSnapshot;
+    }
+
+    /**
+     * Takes a snapshot and makes it the one returned by {@link #getPublishedSnapshot()}.
+     * It has to be called by the thread changing the timetable, e.g. the generator whenever it found better timetables.
+     */
+    public void publishSnapshot() {
+        publishedSnapshot = snapshot();
+    }
+
+    /**
+     * Returns the last published snapshot. It can be called from any thread, e.g. the UI, and never waits for the thread changing the timetable.
+     *
+     * @return the last published version of the timetable, the empty timetable if none was published yet
+     */
+    public TimetableSnapshot getPublishedSnapshot() {
+        return publishedSnapshot;
+    }
+
     public Map<DayOfWeek, List<Lesson>> getTimetable() {
         return timetable;
     }
+
+    public TimetableTemplate getTimetableTemplate() {
+        return timetableTemplate;
+    }
+
+    public OccupancyGrid getOccupancyGrid() {
+        return occupancyGrid;
+    }
 }
\ No newline at end of file
@@ -3,15 +3,27 @@ package ch.zhaw.pm2.napp.school.timetable;
 import ch.zhaw.pm2.napp.school.ModuleSchedule;
 import ch.zhaw.pm2.napp.school.building.Building;
 import ch.zhaw.pm2.napp.school.building.Room;
-import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.building.RoomIndex;
 import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
 import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis.Bottleneck;
 import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
 
 import java.time.DayOfWeek;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static ch.zhaw.pm2.napp.school.School.WORKDAYS_PER_WEEK;
 
@@ -19,12 +31,23 @@ import static ch.zhaw.pm2.napp.school.School.WORKDAYS_PER_WEEK;
  * This class contains the algorithm to generate a timetable. <br>
  * <p>
  * The TimetableGenerator uses the free TimeSlots in the school class {@link Timetable} and the school class {@link ModuleSchedule} to search for suitable teachers and rooms. <br>
- * <ul> A suitable {@link Room} is one that is not occupied at this time and that has enough space for all students & teachers.<br>
+ * <ul> A suitable {@link Room} is one that is not occupied at this time and that has enough space for all students & teachers. Of all suitable rooms the smallest one is taken.<br>
  * A suitable {@link Teacher} is one who can teach the subject, who is free at that time, who is in school that day and who still has capacity based on the workload.<ul>
  */
 public class TimetableGenerator {
+    private static final TentativeBookings NO_TENTATIVE_BOOKINGS = new TentativeBookings();
+    private static final int NO_BLOCK_SPLITTING = 0;
+    private static final int SPLIT_SEARCH_STEP_LIMIT = 1000;
+
     private final List<Teacher> allTeachers;
-    private final List<Building> schoolBuildings;
+    private final CompiledSchoolModel compiledSchoolModel;
+    private final RoomIndex roomIndex;
+    private final RoomDistances roomDistances;
+    private final ResourceSymmetry resourceSymmetry;
+    private int minimumBlockSize = NO_BLOCK_SPLITTING;
+    private GenerationMonitor generationMonitor = GenerationMonitor.inactive();
+    private OptionalLong seed = OptionalLong.empty();
+    private final Set<LessonDemand> pinnedLessonDemands = new HashSet<>();
 
     /**
      * Creates a timetable generator.
@@ -33,101 +56,892 @@ public class TimetableGenerator {
      * @param schoolBuildings from the school
      */
     public TimetableGenerator(List<Teacher> allTeachers, List<Building> schoolBuildings) {
+        this(allTeachers, schoolBuildings, List.of());
+    }
+
+    /**
+     * Creates a timetable generator and compiles the school into int ids and primitive arrays, see {@link CompiledSchoolModel}.
+     *
+     * @param allTeachers     from the school
+     * @param schoolBuildings from the school
+     * @param schoolClasses   from the school
+     */
+    public TimetableGenerator(List<Teacher> allTeachers, List<Building> schoolBuildings, List<SchoolClass> schoolClasses) {
+        this.allTeachers = allTeachers;
+        this.roomIndex = new RoomIndex(schoolBuildings);
+        this.compiledSchoolModel = new CompiledSchoolModel(allTeachers, roomIndex.getRoomsByCapacity(), schoolClasses);
+        this.roomDistances = new RoomDistances(schoolBuildings);
+        this.resourceSymmetry = new ResourceSymmetry(allTeachers, roomIndex.getRoomsByCapacity(), roomDistances);
+    }
+
+    private TimetableGenerator(List<Teacher> allTeachers, CompiledSchoolModel compiledSchoolModel, RoomIndex roomIndex,
+                               RoomDistances roomDistances, ResourceSymmetry resourceSymmetry, int minimumBlockSize) {
         this.allTeachers = allTeachers;
-        this.schoolBuildings = schoolBuildings;
+        this.compiledSchoolModel = compiledSchoolModel;
+        this.roomIndex = roomIndex;
+        this.roomDistances = roomDistances;
+        this.resourceSymmetry = resourceSymmetry;
+        this.minimumBlockSize = minimumBlockSize;
+    }
+
+    /**
+     * Creates a generator with the same teachers and settings that only places lessons in the given rooms.
+     *
+     * @param rooms the rooms the new generator may use
+     * @return the generator restricted to the rooms
+     */
+    TimetableGenerator restrictToRooms(List<Room> rooms) {
+        RoomIndex restrictedRoomIndex = new RoomIndex(List.of());
+        rooms.forEach(restrictedRoomIndex::addRoom);
+        TimetableGenerator restrictedTimetableGenerator = new TimetableGenerator(allTeachers, compiledSchoolModel, restrictedRoomIndex,
+                roomDistances, resourceSymmetry, minimumBlockSize);
+        restrictedTimetableGenerator.setGenerationMonitor(generationMonitor);
+        restrictedTimetableGenerator.seed = seed;
+        return restrictedTimetableGenerator;
     }
 
     /**
-     * Generates a timetable for a school class.
+     * Checks with the sums of the weekly lessons whether the teachers and rooms can be sufficient for the school classes at all.
+     * It takes a few milliseconds and should be called before an expensive generation, see {@link FeasibilityCheck}.
+     *
+     * @param schoolClasses the school classes whose timetables are to be generated
+     * @throws TimetableException listing every shortfall if the resources are not sufficient.
+     */
+    public void checkFeasibility(List<SchoolClass> schoolClasses) throws TimetableException {
+        new FeasibilityCheck(compiledSchoolModel, roomIndex).check(schoolClasses);
+    }
+
+    /**
+     * Generates a timetable for a school class. Subjects that are already placed, e.g. pinned ones, are kept.
+     * If a subject cannot be placed, the subjects already placed for the school class are removed again.
      *
      * @param schoolClass The school class for which the timetable is to be created
      * @throws TimetableException if no teacher, room or free time slot was found for a subject.
      */
     public void generateTimeTableForClass(SchoolClass schoolClass) throws TimetableException {
-        for (Subject subject : schoolClass.getModuleSchedule().requiredSubjects()) {
-            boolean placeForSubjectFound = false;
-            int weekDay = 1;
-            while (weekDay <= WORKDAYS_PER_WEEK && !placeForSubjectFound) {
-                DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
-                List<TimeSlot> freeSubjectTimeSlotSchoolClass = schoolClass.getTimetable().getFreeTimeSlotsForSubjectPerDay(subject, dayOfWeek).stream().findFirst().orElse(new ArrayList<>());
-                Room availableRoom = getAvailableRooms(dayOfWeek, freeSubjectTimeSlotSchoolClass, schoolClass.size()).stream().findFirst().orElse(null);
-                Teacher availableTeacher = getAvailableTeachers(dayOfWeek, freeSubjectTimeSlotSchoolClass, subject).stream().findFirst().orElse(null);
+        PlacementTrail placementTrail = new PlacementTrail(this);
+        for (Subject subject : getUnplacedSubjects(schoolClass)) {
+            if (generationMonitor.isCancelled()) {
+                placementTrail.rollbackAll();
+                generationMonitor.checkCancelled();
+            }
+            List<SubjectPlacement> subjectPlacements = findPlacements(schoolClass, schoolClass.getTimetable(), subject, NO_TENTATIVE_BOOKINGS);
+            if (subjectPlacements == null) {
+                placementTrail.rollbackAll();
+                throw createNoFreeTimeSlotException(subject, schoolClass);
+            }
+            subjectPlacements.forEach(placementTrail::apply);
+        }
+    }
 
-                for (TimeSlot availableTimeSlot : freeSubjectTimeSlotSchoolClass) {
-                    if (availableTeacher != null && availableRoom != null) {
-                        Lesson lesson = new Lesson(subject, availableTeacher, availableTimeSlot, availableRoom);
-                        schoolClass.getTimetable().addToTimetable(dayOfWeek, lesson);
-                        addTimetableToEveryStudentInSchoolClass(dayOfWeek, lesson, schoolClass);
-                        availableTeacher.getTimetable().addToTimetable(dayOfWeek, lesson);
-                        availableRoom.setRoomAvailability(dayOfWeek, availableTimeSlot);
-                        placeForSubjectFound = true;
+    /**
+     * Places a subject in the first day where it fits into the timetable of the school class with a free teacher and a free room.
+     * If no day has enough free time slots in a row and splitting is allowed, the subject is placed in several smaller blocks.
+     *
+     * @param lessonDemand the school class and the subject to place
+     * @throws TimetableException if no teacher, room or free time slot was found for the subject or the generation was cancelled.
+     */
+    public void placeLessonDemand(LessonDemand lessonDemand) throws TimetableException {
+        generationMonitor.checkCancelled();
+        SchoolClass schoolClass = lessonDemand.schoolClass();
+        List<SubjectPlacement> subjectPlacements = findPlacements(schoolClass, schoolClass.getTimetable(), lessonDemand.subject(), NO_TENTATIVE_BOOKINGS);
+        if (subjectPlacements == null) {
+            throw createNoFreeTimeSlotException(lessonDemand.subject(), schoolClass);
+        }
+        subjectPlacements.forEach(this::applyPlacement);
+    }
+
+    /**
+     * Applies the placements of an earlier generation, e.g. read by the {@link ch.zhaw.pm2.napp.fileio.loader.TimetableCsvLoader},
+     * as the starting point of the next one. The placements are checked per subject of a school class: the subject must still be required,
+     * all its weekly lessons must be placed with one qualified teacher who works on these days and has enough capacity,
+     * and every lesson needs a free time slot of the school class, a free teacher and a free, open room that is large enough.
+     * Subjects failing a check are left out completely, so the generation places them anew.
+     * <p>
+     * The applied subjects are pinned: the generation only fills in the subjects that are still missing and the {@link TimetableOptimizer}
+     * does not move them.
+     *
+     * @param subjectPlacements the placements of the earlier generation
+     * @return the placements that were applied
+     */
+    public List<SubjectPlacement> pinPlacements(List<SubjectPlacement> subjectPlacements) {
+        Map<LessonDemand, List<SubjectPlacement>> placementsPerDemand = new LinkedHashMap<>();
+        for (SubjectPlacement subjectPlacement : subjectPlacements) {
+            if (!subjectPlacement.lessons().isEmpty()) {
+                LessonDemand lessonDemand = new LessonDemand(subjectPlacement.schoolClass(), subjectPlacement.lessons().get(0).subject());
+                placementsPerDemand.computeIfAbsent(lessonDemand, demand -> new ArrayList<>()).add(subjectPlacement);
+            }
+        }
+        List<SubjectPlacement> pinnedPlacements = new ArrayList<>();
+        for (Map.Entry<LessonDemand, List<SubjectPlacement>> demandPlacements : placementsPerDemand.entrySet()) {
+            if (isPinnable(demandPlacements.getKey(), demandPlacements.getValue()) && applyIfFree(demandPlacements.getValue())) {
+                pinnedLessonDemands.add(demandPlacements.getKey());
+                pinnedPlacements.addAll(demandPlacements.getValue());
+            }
+        }
+        return pinnedPlacements;
+    }
+
+    /**
+     * Returns whether the subject of the placement was pinned by {@link #pinPlacements(List)}.
+     *
+     * @param subjectPlacement the placement to check
+     * @return true if the subject must stay where it is
+     */
+    boolean isPinned(SubjectPlacement subjectPlacement) {
+        return pinnedLessonDemands.contains(new LessonDemand(subjectPlacement.schoolClass(), subjectPlacement.lessons().get(0).subject()));
+    }
+
+    /**
+     * Allows the generator to split a subject into smaller blocks on different days if no day has enough free time slots in a row
+     * for all its weekly lessons. All blocks of a subject are taught by the same teacher.
+     * The search for the blocks is bounded, so a subject that cannot be split fails quickly.
+     *
+     * @param minimumBlockSize the minimum number of lessons in a row of every block, {@value #NO_BLOCK_SPLITTING} to never split a subject
+     * @throws IllegalArgumentException if the minimum block size is negative
+     */
+    public void setMinimumBlockSize(int minimumBlockSize) {
+        if (minimumBlockSize < 0) {
+            throw new IllegalArgumentException("The minimum block size must not be negative.");
+        }
+        this.minimumBlockSize = minimumBlockSize;
+    }
+
+    public int getMinimumBlockSize() {
+        return minimumBlockSize;
+    }
+
+    /**
+     * Sets the monitor that is told about every applied and removed placement and whose cancellation token stops the generation.
+     *
+     * @param generationMonitor the monitor of the current generation, {@link GenerationMonitor#inactive()} if none is running
+     */
+    public void setGenerationMonitor(GenerationMonitor generationMonitor) {
+        this.generationMonitor = generationMonitor;
+    }
+
+    public GenerationMonitor getGenerationMonitor() {
+        return generationMonitor;
+    }
+
+    /**
+     * Sets the seed of a reproducible run. The {@link PortfolioTimetableSolver} derives the orders in which its configurations
+     * generate the school classes from it, so another seed explores other timetables.
+     *
+     * @param seed the seed of the run
+     */
+    public void setSeed(long seed) {
+        this.seed = OptionalLong.of(seed);
+    }
+
+    /**
+     * Returns the seed of a reproducible run.
+     *
+     * @return the seed, or empty if the run is not reproducible
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    CompiledSchoolModel getCompiledSchoolModel() {
+        return compiledSchoolModel;
+    }
+
+    RoomIndex getRoomIndex() {
+        return roomIndex;
+    }
+
+    /**
+     * Returns the walking distances between the rooms, which can be overridden for single pairs of rooms.
+     *
+     * @return the distance matrix of all rooms of the school
+     */
+    public RoomDistances getRoomDistances() {
+        return roomDistances;
+    }
+
+    /**
+     * Creates the lesson demands of all required subjects of the school classes, in the order of the classes and their module schedules.
+     * Subjects that are already placed in the timetable of their school class, e.g. pinned ones, are left out.
+     *
+     * @param schoolClasses the school classes
+     * @return a lesson demand for each required subject of each school class that is not placed yet
+     */
+    public static List<LessonDemand> createLessonDemands(List<SchoolClass> schoolClasses) {
+        List<LessonDemand> lessonDemands = new ArrayList<>();
+        for (SchoolClass schoolClass : schoolClasses) {
+            for (Subject subject : getUnplacedSubjects(schoolClass)) {
+                lessonDemands.add(new LessonDemand(schoolClass, subject));
+            }
+        }
+        return lessonDemands;
+    }
+
+    /**
+     * Groups the lessons of the school classes into one placement per subject and day.
+     *
+     * @param schoolClasses the school classes whose timetables have already been generated
+     * @return the placements of all subjects, in the order of the school classes, days and module schedules
+     */
+    static List<SubjectPlacement> collectPlacements(List<SchoolClass> schoolClasses) {
+        List<SubjectPlacement> subjectPlacements = new ArrayList<>();
+        for (SchoolClass schoolClass : schoolClasses) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                Map<Subject, List<Lesson>> lessonsPerSubject = new HashMap<>();
+                for (Lesson lesson : schoolClass.getTimetable().getTimetable().getOrDefault(dayOfWeek, List.of())) {
+                    lessonsPerSubject.computeIfAbsent(lesson.subject(), subject -> new ArrayList<>()).add(lesson);
+                }
+                for (Subject subject : schoolClass.getModuleSchedule().requiredSubjects()) {
+                    List<Lesson> lessons = lessonsPerSubject.get(subject);
+                    if (lessons != null) {
+                        subjectPlacements.add(new SubjectPlacement(schoolClass, dayOfWeek, lessons));
+                    }
+                }
+            }
+        }
+        return subjectPlacements;
+    }
+
+    /**
+     * Counts the teachers of the school who can teach the subject.
+     *
+     * @param subject the subject
+     * @return the number of qualified teachers
+     */
+    public int countQualifiedTeachers(Subject subject) {
+        return compiledSchoolModel.getQualifiedTeachers(subject).size();
+    }
+
+    /**
+     * Counts the rooms of the school that have enough space for the school class.
+     *
+     * @param schoolClass the school class
+     * @return the number of rooms that are large enough
+     */
+    public int countSuitableRooms(SchoolClass schoolClass) {
+        return roomIndex.countRoomsWithCapacity(compiledSchoolModel.getSchoolClassSize(schoolClass));
+    }
+
+    /**
+     * Finds the resource that prevents the subject from being placed for the school class in the current timetables.
+     * The resources are checked from the cheapest to the most expensive check, which takes a few bitmask comparisons
+     * per free block and does not search any placements.
+     *
+     * @param lessonDemand the school class and the subject that could not be placed
+     * @return the diagnosis naming the bottleneck
+     */
+    public InfeasibilityDiagnosis diagnose(LessonDemand lessonDemand) {
+        SchoolClass schoolClass = lessonDemand.schoolClass();
+        Subject subject = lessonDemand.subject();
+        List<Teacher> qualifiedTeachers = compiledSchoolModel.getQualifiedTeachers(subject);
+        if (qualifiedTeachers.isEmpty()) {
+            return createDiagnosis(lessonDemand, Bottleneck.NO_QUALIFIED_TEACHER, "No teacher can teach the subject.");
+        }
+        List<Teacher> teachersWithWorkload = qualifiedTeachers.stream().filter(teacher -> teacher.hasCapacityFor(subject.weeklyLessons())).toList();
+        if (teachersWithWorkload.isEmpty()) {
+            return createDiagnosis(lessonDemand, Bottleneck.NO_REMAINING_WORKLOAD, "None of the " + qualifiedTeachers.size()
+                    + " qualified teachers has workload left for " + subject.weeklyLessons() + " more lessons per week.");
+        }
+        int suitableRooms = roomIndex.countRoomsWithCapacity(compiledSchoolModel.getSchoolClassSize(schoolClass));
+        if (suitableRooms == 0) {
+            return createDiagnosis(lessonDemand, Bottleneck.NO_ROOM_LARGE_ENOUGH, "No room has space for " + schoolClass.size() + " people.");
+        }
+
+        boolean hasFreeBlock = false;
+        boolean hasTeacherDuringBlock = false;
+        for (int weekDay = 1; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+            DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
+            for (List<TimeSlot> freeTimeSlots : schoolClass.getTimetable().getFreeTimeSlotsForSubjectPerDay(subject, dayOfWeek)) {
+                hasFreeBlock = true;
+                long timeSlotMask = schoolClass.getTimetable().getOccupancyGrid().toTimeSlotMask(dayOfWeek, freeTimeSlots);
+                if (teachersWithWorkload.stream().anyMatch(teacher -> teacher.isFreeToTeach(dayOfWeek, timeSlotMask, subject))) {
+                    hasTeacherDuringBlock = true;
+                    if (getBestFittingRoom(dayOfWeek, timeSlotMask, compiledSchoolModel.getSchoolClassSize(schoolClass), NO_TENTATIVE_BOOKINGS) != null) {
+                        return createDiagnosis(lessonDemand, Bottleneck.CONFLICTING_BOOKINGS, "A teacher and a room are free on " + dayOfWeek
+                                + ", but they were booked by other subjects placed at the same time.");
                     }
                 }
-                weekDay++;
             }
-            if (!placeForSubjectFound) {
-                throw new TimetableException("No free timeslot found for the subject \"" + subject.name() + "\" and the school class \"" + schoolClass.getId() + "\". Check the resources.");
+        }
+        if (!hasFreeBlock) {
+            return createDiagnosis(lessonDemand, Bottleneck.NO_CONTIGUOUS_BLOCK, "The school class has no free block of "
+                    + subject.weeklyLessons() + " time slots in a row on any day.");
+        }
+        if (!hasTeacherDuringBlock) {
+            return createDiagnosis(lessonDemand, Bottleneck.NO_TEACHER_FREE_DURING_BLOCK, "None of the " + teachersWithWorkload.size()
+                    + " qualified teachers with workload left is at school and free during a free block of the school class.");
+        }
+        return createDiagnosis(lessonDemand, Bottleneck.NO_ROOM_FREE_DURING_BLOCK, "All " + suitableRooms + " rooms with space for "
+                + schoolClass.size() + " people are occupied whenever a qualified teacher is free.");
+    }
+
+    /**
+     * Generates the timetables of several school classes in parallel.
+     * <p>
+     * The generation works in rounds. In each round the executor plans all remaining school classes at the same time
+     * against the current state of the teachers and rooms, without changing it. Only when every plan of the round is finished,
+     * the plans are committed one after the other in the order of the list. A plan whose teachers or rooms were taken by a plan committed earlier
+     * in the same round is discarded and the school class is planned again in the next round.
+     * Because the first plan of every round can always be committed, the generation always terminates and
+     * the result is free of conflicts and independent of the thread timing.
+     *
+     * @param schoolClasses the school classes for which the timetables are to be created
+     * @param executor      the executor running the planning tasks
+     * @throws TimetableException if no teacher, room or free time slot was found for a subject or the generation was interrupted.
+     */
+    public void generateTimeTablesInParallel(List<SchoolClass> schoolClasses, ExecutorService executor) throws TimetableException {
+        List<SchoolClass> pendingSchoolClasses = new ArrayList<>(schoolClasses);
+        while (!pendingSchoolClasses.isEmpty()) {
+            List<Callable<List<SubjectPlacement>>> planningTasks = new ArrayList<>();
+            for (SchoolClass schoolClass : pendingSchoolClasses) {
+                planningTasks.add(() -> planTimetableForClass(schoolClass));
+            }
+            List<List<SubjectPlacement>> plannedTimetables = new ArrayList<>();
+            for (Future<List<SubjectPlacement>> plannedTimetable : invokeAll(executor, planningTasks)) {
+                plannedTimetables.add(getPlannedTimetable(plannedTimetable));
             }
+
+            List<SchoolClass> conflictingSchoolClasses = new ArrayList<>();
+            for (int i = 0; i < pendingSchoolClasses.size(); i++) {
+                List<SubjectPlacement> plannedTimetable = plannedTimetables.get(i);
+                if (isStillValid(plannedTimetable)) {
+                    plannedTimetable.forEach(this::applyPlacement);
+                } else {
+                    conflictingSchoolClasses.add(pendingSchoolClasses.get(i));
+                }
+            }
+            pendingSchoolClasses = conflictingSchoolClasses;
         }
     }
 
-    private void addTimetableToEveryStudentInSchoolClass(DayOfWeek dayOfWeek, Lesson lesson, SchoolClass schoolClass) {
-        for (Person student : schoolClass.getStudents()) {
-            student.getTimetable().addToTimetable(dayOfWeek, lesson);
+    /**
+     * Runs the planning tasks and waits until all of them are finished, so no task reads the state while a plan is committed.
+     */
+    private static List<Future<List<SubjectPlacement>>> invokeAll(ExecutorService executor, List<Callable<List<SubjectPlacement>>> planningTasks)
+            throws TimetableException {
+        try {
+            return executor.invokeAll(planningTasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimetableException("The timetable generation was interrupted.");
         }
     }
 
-    private List<Teacher> getAvailableTeachers(DayOfWeek dayOfWeek, List<TimeSlot> timeSlots, Subject subject) {
-        List<Teacher> availableTeachers = new ArrayList<>();
+    private List<SubjectPlacement> getPlannedTimetable(Future<List<SubjectPlacement>> plannedTimetable) throws TimetableException {
+        try {
+            return plannedTimetable.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimetableException("The timetable generation was interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimetableException timetableException) {
+                throw timetableException;
+            }
+            throw new IllegalStateException("Planning a timetable failed unexpectedly", e.getCause());
+        }
+    }
+
+    /**
+     * Plans all subjects of a school class without changing any timetable or room.
+     *
+     * @param schoolClass the school class to plan
+     * @return the planned placements of all subjects
+     * @throws TimetableException if no teacher, room or free time slot was found for a subject.
+     */
+    private List<SubjectPlacement> planTimetableForClass(SchoolClass schoolClass) throws TimetableException {
+        Timetable plannedTimetable = new Timetable(schoolClass.getTimetable().getTimetableTemplate());
+        schoolClass.getTimetable().getTimetable().forEach((dayOfWeek, lessons) -> lessons.forEach(lesson -> plannedTimetable.addToTimetable(dayOfWeek, lesson)));
+        TentativeBookings tentativeBookings = new TentativeBookings();
+        List<SubjectPlacement> subjectPlacements = new ArrayList<>();
+
+        for (Subject subject : getUnplacedSubjects(schoolClass)) {
+            List<SubjectPlacement> plannedPlacements = findPlacements(schoolClass, plannedTimetable, subject, tentativeBookings);
+            if (plannedPlacements == null) {
+                throw createNoFreeTimeSlotException(subject, schoolClass);
+            }
+            for (SubjectPlacement subjectPlacement : plannedPlacements) {
+                subjectPlacement.lessons().forEach(lesson -> plannedTimetable.addToTimetable(subjectPlacement.dayOfWeek(), lesson));
+                tentativeBookings.book(subjectPlacement);
+                subjectPlacements.add(subjectPlacement);
+            }
+        }
+        return subjectPlacements;
+    }
+
+    /**
+     * Checks the parts of the placements of a subject that do not depend on the other timetables:
+     * the subject, the number of lessons, the teacher and the rooms.
+     */
+    private boolean isPinnable(LessonDemand lessonDemand, List<SubjectPlacement> subjectPlacements) {
+        SchoolClass schoolClass = lessonDemand.schoolClass();
+        Subject subject = lessonDemand.subject();
+        if (!schoolClass.getModuleSchedule().requiredSubjects().contains(subject) || hasSubjectPlaced(schoolClass, subject)) {
+            return false;
+        }
+        Teacher teacher = subjectPlacements.get(0).lessons().get(0).teacher();
+        int teacherId = compiledSchoolModel.getTeacherId(teacher);
+        int subjectId = compiledSchoolModel.getSubjectId(subject);
+        if (teacherId == CompiledSchoolModel.UNKNOWN_ID || subjectId == CompiledSchoolModel.UNKNOWN_ID || !compiledSchoolModel.canTeach(teacherId, subjectId)) {
+            return false;
+        }
+        int placedLessons = 0;
+        for (SubjectPlacement subjectPlacement : subjectPlacements) {
+            if (!compiledSchoolModel.isAvailableOn(teacherId, subjectPlacement.dayOfWeek())) {
+                return false;
+            }
+            for (Lesson lesson : subjectPlacement.lessons()) {
+                int roomId = compiledSchoolModel.getRoomId(lesson.room());
+                if (!lesson.subject().equals(subject) || lesson.teacher() != teacher || roomId == CompiledSchoolModel.UNKNOWN_ID
+                        || compiledSchoolModel.getRoomCapacity(roomId) < compiledSchoolModel.getSchoolClassSize(schoolClass)) {
+                    return false;
+                }
+                placedLessons++;
+            }
+        }
+        return placedLessons == subject.weeklyLessons() && compiledSchoolModel.hasCapacityFor(teacherId, placedLessons);
+    }
+
+    /**
+     * Applies the placements of a subject one after the other as long as the time slots of the school class, the teacher and the rooms are free.
+     * If one is not, the placements applied so far are removed again.
+     */
+    private boolean applyIfFree(List<SubjectPlacement> subjectPlacements) {
+        PlacementTrail placementTrail = new PlacementTrail(this);
+        for (SubjectPlacement subjectPlacement : subjectPlacements) {
+            if (!isFree(subjectPlacement)) {
+                placementTrail.rollbackAll();
+                return false;
+            }
+            placementTrail.apply(subjectPlacement);
+        }
+        return true;
+    }
+
+    private static boolean isFree(SubjectPlacement subjectPlacement) {
+        DayOfWeek dayOfWeek = subjectPlacement.dayOfWeek();
+        Timetable classTimetable = subjectPlacement.schoolClass().getTimetable();
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            OccupancyGrid teacherGrid = lesson.teacher().getTimetable().getOccupancyGrid();
+            OccupancyGrid roomGrid = lesson.room().getRoomAvailability();
+            if (!isInTemplate(classTimetable.getOccupancyGrid(), dayOfWeek, lesson.timeSlot()) || !isInTemplate(teacherGrid, dayOfWeek, lesson.timeSlot())
+                    || !isInTemplate(roomGrid, dayOfWeek, lesson.timeSlot()) || !classTimetable.isFree(dayOfWeek, lesson.timeSlot())
+                    || !teacherGrid.isFree(dayOfWeek, lesson.timeSlot()) || lesson.room().isClosed() || !roomGrid.isFree(dayOfWeek, lesson.timeSlot())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isInTemplate(OccupancyGrid occupancyGrid, DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        return occupancyGrid.getTimetableTemplate().getTimeSlotIndex(dayOfWeek, timeSlot) >= 0;
+    }
 
-        for (TimeSlot timeSlot : timeSlots) {
-            List<Teacher> availableTeachersForOneTimeSlot = allTeachers.stream().filter(teacher -> teacher.isFreeToTeach(dayOfWeek, timeSlot, subject)).collect(Collectors.toList());
-
-            if (availableTeachers.isEmpty()) {
-                availableTeachers.addAll(availableTeachersForOneTimeSlot);
-            } else {
-                List<Teacher> availableTeachersForSeveralTimeSlots = new ArrayList<>();
-                for (Teacher availableTeacherForOneTimeSlot : availableTeachersForOneTimeSlot) {
-                    for (Teacher availableTeacher : availableTeachers) {
-                        if (availableTeacherForOneTimeSlot.equals(availableTeacher)) {
-                            availableTeachersForSeveralTimeSlots.add(availableTeacher);
+    /**
+     * Returns the required subjects of the school class that have no lesson in its timetable yet.
+     *
+     * @param schoolClass the school class
+     * @return the subjects still to place, in the order of the module schedule
+     */
+    static List<Subject> getUnplacedSubjects(SchoolClass schoolClass) {
+        List<Subject> unplacedSubjects = new ArrayList<>();
+        for (Subject subject : schoolClass.getModuleSchedule().requiredSubjects()) {
+            if (!hasSubjectPlaced(schoolClass, subject)) {
+                unplacedSubjects.add(subject);
+            }
+        }
+        return unplacedSubjects;
+    }
+
+    /**
+     * Returns whether the school class has at least one lesson of the subject in its timetable.
+     *
+     * @param schoolClass the school class
+     * @param subject     the subject
+     * @return true if the subject is placed, completely or in parts
+     */
+    static boolean hasSubjectPlaced(SchoolClass schoolClass, Subject subject) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (hasSubjectOnDay(schoolClass.getTimetable(), dayOfWeek, subject)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether all teachers and rooms of a planned timetable are still free and no teacher exceeds the workload.
+     */
+    private boolean isStillValid(List<SubjectPlacement> plannedTimetable) {
+        Map<Teacher, Integer> plannedLessonsPerTeacher = new HashMap<>();
+        for (SubjectPlacement subjectPlacement : plannedTimetable) {
+            DayOfWeek dayOfWeek = subjectPlacement.dayOfWeek();
+            for (Lesson lesson : subjectPlacement.lessons()) {
+                if (!lesson.teacher().getTimetable().isFree(dayOfWeek, lesson.timeSlot()) || !lesson.room().getRoomAvailability().isFree(dayOfWeek, lesson.timeSlot())) {
+                    return false;
+                }
+                plannedLessonsPerTeacher.merge(lesson.teacher(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Teacher, Integer> plannedLessons : plannedLessonsPerTeacher.entrySet()) {
+            if (!plannedLessons.getKey().hasCapacityFor(plannedLessons.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches the placement of a subject in one block and, if splitting is allowed and that fails, in several smaller blocks on different days.
+     *
+     * @return the placements of the subject or null if none was found
+     */
+    private List<SubjectPlacement> findPlacements(SchoolClass schoolClass, Timetable timetable, Subject subject, TentativeBookings tentativeBookings) {
+        SubjectPlacement subjectPlacement = findPlacement(schoolClass, timetable, subject, tentativeBookings);
+        if (subjectPlacement != null) {
+            return List.of(subjectPlacement);
+        }
+        if (minimumBlockSize == NO_BLOCK_SPLITTING || minimumBlockSize >= subject.weeklyLessons()) {
+            return null;
+        }
+        return new SplitBlockSearch(schoolClass, timetable, subject, tentativeBookings).search();
+    }
+
+    /**
+     * Searches the first day on which the subject fits into the timetable with a free teacher and a free room.
+     *
+     * @return the placement of the subject or null if none was found
+     */
+    private SubjectPlacement findPlacement(SchoolClass schoolClass, Timetable timetable, Subject subject, TentativeBookings tentativeBookings) {
+        for (int weekDay = 1; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+            DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
+            List<TimeSlot> freeSubjectTimeSlotSchoolClass = timetable.getFreeTimeSlotsForSubjectPerDay(subject, dayOfWeek).stream().findFirst().orElse(new ArrayList<>());
+            long timeSlotMask = timetable.getOccupancyGrid().toTimeSlotMask(dayOfWeek, freeSubjectTimeSlotSchoolClass);
+            Room availableRoom = getClosestFittingRoom(timetable, dayOfWeek, timeSlotMask, compiledSchoolModel.getSchoolClassSize(schoolClass), tentativeBookings);
+            Teacher availableTeacher = getAvailableTeachers(dayOfWeek, timeSlotMask, subject, subject.weeklyLessons(), tentativeBookings).stream().findFirst().orElse(null);
+
+            if (!freeSubjectTimeSlotSchoolClass.isEmpty() && availableTeacher != null && availableRoom != null) {
+                List<Lesson> lessons = new ArrayList<>();
+                for (TimeSlot availableTimeSlot : freeSubjectTimeSlotSchoolClass) {
+                    lessons.add(new Lesson(subject, availableTeacher, availableTimeSlot, availableRoom));
+                }
+                return new SubjectPlacement(schoolClass, dayOfWeek, lessons);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists the placements of a subject for a school class that the backtracking search has to try: each free block of time slots on each day,
+     * combined with each teacher and each room that are free during the whole block.
+     * Of interchangeable teachers and rooms only the first one is combined, see {@link ResourceSymmetry}. This keeps every solution,
+     * but not every score, so searches that rate the placements use {@link #findAllPlacements(SchoolClass, Subject, int)}.
+     *
+     * @param lessonDemand the school class and the subject to place
+     * @return the placements that can currently be applied, one per group of interchangeable resources
+     */
+    List<SubjectPlacement> findAllPlacements(LessonDemand lessonDemand) {
+        return findAllPlacements(lessonDemand.schoolClass(), lessonDemand.subject(), lessonDemand.subject().weeklyLessons(), true);
+    }
+
+    /**
+     * Lists every possible placement of a block of a subject for a school class. Days on which the school class already has
+     * a lesson of the subject are skipped, so the blocks of a split subject stay on different days. If other blocks of the subject
+     * are placed, only their teacher is combined, so all blocks of a subject are taught by the same teacher.
+     *
+     * @param schoolClass      the school class
+     * @param subject          the subject of the block
+     * @param numberOfLessons the number of lessons in a row of the block
+     * @return all placements of the block that can currently be applied
+     */
+    List<SubjectPlacement> findAllPlacements(SchoolClass schoolClass, Subject subject, int numberOfLessons) {
+        return findAllPlacements(schoolClass, subject, numberOfLessons, false);
+    }
+
+    private List<SubjectPlacement> findAllPlacements(SchoolClass schoolClass, Subject subject, int numberOfLessons, boolean skipInterchangeableResources) {
+        List<SubjectPlacement> subjectPlacements = new ArrayList<>();
+        Teacher teacherOfOtherBlocks = getTeacherOfPlacedLessons(schoolClass, subject);
+        for (int weekDay = 1; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+            DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
+            if (hasSubjectOnDay(schoolClass.getTimetable(), dayOfWeek, subject)) {
+                continue;
+            }
+            for (List<TimeSlot> freeTimeSlots : schoolClass.getTimetable().getFreeTimeSlotsAfterTheOtherPerDay(numberOfLessons, dayOfWeek)) {
+                long timeSlotMask = schoolClass.getTimetable().getOccupancyGrid().toTimeSlotMask(dayOfWeek, freeTimeSlots);
+                List<Room> availableRooms = getAvailableRooms(dayOfWeek, timeSlotMask, compiledSchoolModel.getSchoolClassSize(schoolClass), NO_TENTATIVE_BOOKINGS);
+                if (skipInterchangeableResources) {
+                    availableRooms = resourceSymmetry.removeInterchangeableRooms(availableRooms);
+                }
+                if (availableRooms.isEmpty()) {
+                    continue;
+                }
+                List<Teacher> availableTeachers = getAvailableTeachers(dayOfWeek, timeSlotMask, subject, numberOfLessons, NO_TENTATIVE_BOOKINGS);
+                if (teacherOfOtherBlocks != null) {
+                    availableTeachers.removeIf(availableTeacher -> availableTeacher != teacherOfOtherBlocks);
+                }
+                if (skipInterchangeableResources) {
+                    availableTeachers = resourceSymmetry.removeInterchangeableTeachers(availableTeachers);
+                }
+                for (Teacher availableTeacher : availableTeachers) {
+                    for (Room availableRoom : availableRooms) {
+                        List<Lesson> lessons = new ArrayList<>();
+                        for (TimeSlot timeSlot : freeTimeSlots) {
+                            lessons.add(new Lesson(subject, availableTeacher, timeSlot, availableRoom));
                         }
+                        subjectPlacements.add(new SubjectPlacement(schoolClass, dayOfWeek, lessons));
                     }
                 }
-                availableTeachers = availableTeachersForSeveralTimeSlots;
+            }
+        }
+        return subjectPlacements;
+    }
+
+    /**
+     * Returns whether the subject can currently be placed for the school class at all.
+     *
+     * @param lessonDemand the school class and the subject to place
+     * @return true if at least one placement exists
+     */
+    boolean hasAnyPlacement(LessonDemand lessonDemand) {
+        SchoolClass schoolClass = lessonDemand.schoolClass();
+        Subject subject = lessonDemand.subject();
+        for (int weekDay = 1; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+            DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
+            for (List<TimeSlot> freeTimeSlots : schoolClass.getTimetable().getFreeTimeSlotsForSubjectPerDay(subject, dayOfWeek)) {
+                long timeSlotMask = schoolClass.getTimetable().getOccupancyGrid().toTimeSlotMask(dayOfWeek, freeTimeSlots);
+                if (getBestFittingRoom(dayOfWeek, timeSlotMask, compiledSchoolModel.getSchoolClassSize(schoolClass), NO_TENTATIVE_BOOKINGS) != null
+                        && !getAvailableTeachers(dayOfWeek, timeSlotMask, subject, subject.weeklyLessons(), NO_TENTATIVE_BOOKINGS).isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds all lessons of the placement to the school class, the teacher and the room. The students see them through their {@link PersonalTimetable}.
+     *
+     * @param subjectPlacement the placement to apply
+     */
+    void applyPlacement(SubjectPlacement subjectPlacement) {
+        DayOfWeek dayOfWeek = subjectPlacement.dayOfWeek();
+        SchoolClass schoolClass = subjectPlacement.schoolClass();
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            schoolClass.getTimetable().addToTimetable(dayOfWeek, lesson);
+            lesson.teacher().getTimetable().addToTimetable(dayOfWeek, lesson);
+            lesson.room().setRoomAvailability(dayOfWeek, lesson.timeSlot());
+        }
+        generationMonitor.placementApplied(subjectPlacement);
+    }
+
+    /**
+     * Removes all lessons of the placement from the school class, the teacher and the room.
+     * This reverts {@link #applyPlacement(SubjectPlacement)}.
+     *
+     * @param subjectPlacement the placement to remove
+     */
+    void removePlacement(SubjectPlacement subjectPlacement) {
+        DayOfWeek dayOfWeek = subjectPlacement.dayOfWeek();
+        SchoolClass schoolClass = subjectPlacement.schoolClass();
+        for (Lesson lesson : subjectPlacement.lessons()) {
+            schoolClass.getTimetable().removeFromTimetable(dayOfWeek, lesson);
+            lesson.teacher().getTimetable().removeFromTimetable(dayOfWeek, lesson);
+            lesson.room().releaseRoomAvailability(dayOfWeek, lesson.timeSlot());
+        }
+        generationMonitor.placementRemoved(subjectPlacement);
+    }
+
+    private TimetableException createNoFreeTimeSlotException(Subject subject, SchoolClass schoolClass) {
+        InfeasibilityDiagnosis diagnosis = diagnose(new LessonDemand(schoolClass, subject));
+        return new TimetableException("No free timeslot found for the subject \"" + subject.name() + "\" and the school class \"" + schoolClass.getId() + "\". "
+                + diagnosis.explanation(), List.of(diagnosis));
+    }
+
+    private static InfeasibilityDiagnosis createDiagnosis(LessonDemand lessonDemand, Bottleneck bottleneck, String explanation) {
+        return new InfeasibilityDiagnosis(lessonDemand.schoolClass().getId(), lessonDemand.subject().name(), bottleneck, explanation);
+    }
+
+    private static boolean hasSubjectOnDay(Timetable timetable, DayOfWeek dayOfWeek, Subject subject) {
+        return timetable.getTimetable().getOrDefault(dayOfWeek, List.of()).stream().anyMatch(lesson -> lesson.subject().equals(subject));
+    }
+
+    /**
+     * Returns the teacher of the lessons of the subject that are already in the timetable of the school class, e.g. of the other blocks of a split subject.
+     *
+     * @return the teacher or null if the subject is not placed
+     */
+    private static Teacher getTeacherOfPlacedLessons(SchoolClass schoolClass, Subject subject) {
+        for (List<Lesson> lessons : schoolClass.getTimetable().getTimetable().values()) {
+            for (Lesson lesson : lessons) {
+                if (lesson.subject().equals(subject)) {
+                    return lesson.teacher();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Searches the teachers who can teach the subject during the whole block of time slots and have workload left for its lessons.
+     * Only the qualified teachers of the subject are checked, walking their ids in the {@link CompiledSchoolModel}:
+     * the day at school is a bit test and the whole block a single bitmask comparison.
+     */
+    private List<Teacher> getAvailableTeachers(DayOfWeek dayOfWeek, long timeSlotMask, Subject subject, int numberOfLessons, TentativeBookings tentativeBookings) {
+        List<Teacher> availableTeachers = new ArrayList<>();
+        int subjectId = compiledSchoolModel.getSubjectId(subject);
+        if (timeSlotMask == 0 || subjectId == CompiledSchoolModel.UNKNOWN_ID) {
+            return availableTeachers;
+        }
+        for (int i = compiledSchoolModel.getQualifiedTeacherOffset(subjectId); i < compiledSchoolModel.getQualifiedTeacherOffset(subjectId + 1); i++) {
+            int teacherId = compiledSchoolModel.getQualifiedTeacherId(i);
+            Teacher teacher = compiledSchoolModel.getTeacher(teacherId);
+            if (compiledSchoolModel.isAvailableOn(teacherId, dayOfWeek)
+                    && teacher.getTimetable().getOccupancyGrid().isFree(dayOfWeek, timeSlotMask)
+                    && tentativeBookings.isTeacherFree(teacher, dayOfWeek, timeSlotMask)
+                    && compiledSchoolModel.hasCapacityFor(teacherId, tentativeBookings.getBookedLessons(teacher) + numberOfLessons)) {
+                availableTeachers.add(teacher);
             }
         }
         return availableTeachers;
     }
 
-    private List<Room> getAvailableRooms(DayOfWeek dayOfWeek, List<TimeSlot> timeSlots, int size) {
-        List<Room> availableRooms = new ArrayList<>();
+    /**
+     * Searches the smallest room with enough space that is free during the whole block of time slots.
+     */
+    private Room getBestFittingRoom(DayOfWeek dayOfWeek, long timeSlotMask, int size, TentativeBookings tentativeBookings) {
+        if (timeSlotMask == 0) {
+            return null;
+        }
+        return roomIndex.findSmallestFreeRoom(dayOfWeek, timeSlotMask, size, room -> tentativeBookings.isRoomFree(room, dayOfWeek, timeSlotMask));
+    }
+
+    /**
+     * Searches the room with enough space that is free during the whole block of time slots and is the shortest walk away from
+     * the rooms of the lessons of the school class right before and after the block. Of rooms equally far away the smallest is taken.
+     */
+    private Room getClosestFittingRoom(Timetable timetable, DayOfWeek dayOfWeek, long timeSlotMask, int size, TentativeBookings tentativeBookings) {
+        if (timeSlotMask == 0) {
+            return null;
+        }
+        Room roomBefore = getRoomAt(timetable, dayOfWeek, Long.numberOfTrailingZeros(timeSlotMask) - 1);
+        Room roomAfter = getRoomAt(timetable, dayOfWeek, Long.SIZE - Long.numberOfLeadingZeros(timeSlotMask));
+        if (roomBefore == null && roomAfter == null) {
+            return getBestFittingRoom(dayOfWeek, timeSlotMask, size, tentativeBookings);
+        }
+        return roomIndex.findClosestFreeRoom(dayOfWeek, timeSlotMask, size, room -> tentativeBookings.isRoomFree(room, dayOfWeek, timeSlotMask),
+                room -> (roomBefore == null ? 0 : roomDistances.getDistance(roomBefore, room)) + (roomAfter == null ? 0 : roomDistances.getDistance(room, roomAfter)));
+    }
 
-        for (TimeSlot timeSlot : timeSlots) {
-            List<Room> availableRoomsForOneTimeSlot = getAllRooms().stream().filter(room -> room.isAvailable(dayOfWeek, timeSlot, size)).collect(Collectors.toList());
+    private static Room getRoomAt(Timetable timetable, DayOfWeek dayOfWeek, int timeSlotIndex) {
+        if (timeSlotIndex < 0 || timeSlotIndex >= Long.SIZE || timetable.getOccupancyGrid().isFree(dayOfWeek, timeSlotIndex)) {
+            return null;
+        }
+        for (Lesson lesson : timetable.getTimetable().getOrDefault(dayOfWeek, List.of())) {
+            if (timetable.getOccupancyGrid().getTimeSlotIndex(dayOfWeek, lesson.timeSlot()) == timeSlotIndex) {
+                return lesson.room();
+            }
+        }
+        return null;
+    }
 
-            if (availableRooms.isEmpty()) {
-                availableRooms.addAll(availableRoomsForOneTimeSlot);
-            } else {
-                List<Room> availableRoomsForSeveralTimeSlots = new ArrayList<>();
-                for (Room availableRoomForOneTimeSlot : availableRoomsForOneTimeSlot) {
-                    for (Room availableRoom : availableRooms) {
-                        if (availableRoomForOneTimeSlot.equals(availableRoom)) {
-                            availableRoomsForSeveralTimeSlots.add(availableRoom);
+    /**
+     * Searches all rooms with enough space that are free during the whole block of time slots, smallest first.
+     */
+    private List<Room> getAvailableRooms(DayOfWeek dayOfWeek, long timeSlotMask, int size, TentativeBookings tentativeBookings) {
+        if (timeSlotMask == 0) {
+            return new ArrayList<>();
+        }
+        return roomIndex.findFreeRooms(dayOfWeek, timeSlotMask, size, room -> tentativeBookings.isRoomFree(room, dayOfWeek, timeSlotMask));
+    }
+
+    /**
+     * A bounded search splitting a subject into blocks on different days.
+     * Each qualified teacher is tried in turn. Starting with the longest possible block, it places one block per day and
+     * backtracks if the remaining lessons cannot be split into blocks of at least the minimum block size.
+     * After {@value #SPLIT_SEARCH_STEP_LIMIT} checked blocks the search gives up.
+     */
+    private class SplitBlockSearch {
+        private final SchoolClass schoolClass;
+        private final Timetable timetable;
+        private final Subject subject;
+        private final TentativeBookings tentativeBookings;
+        private int remainingSteps = SPLIT_SEARCH_STEP_LIMIT;
+
+        SplitBlockSearch(SchoolClass schoolClass, Timetable timetable, Subject subject, TentativeBookings tentativeBookings) {
+            this.schoolClass = schoolClass;
+            this.timetable = timetable;
+            this.subject = subject;
+            this.tentativeBookings = tentativeBookings;
+        }
+
+        /**
+         * Searches the blocks of the subject with the first teacher for whom a split exists.
+         * A teacher interchangeable with one who already failed would fail as well and is skipped. Tentative bookings are not
+         * part of the comparison, so with tentative bookings every teacher is tried.
+         *
+         * @return the blocks of the subject or null if it could not be split within the step limit
+         */
+        List<SubjectPlacement> search() {
+            List<Teacher> qualifiedTeachers = compiledSchoolModel.getQualifiedTeachers(subject);
+            if (tentativeBookings == NO_TENTATIVE_BOOKINGS) {
+                qualifiedTeachers = resourceSymmetry.removeInterchangeableTeachers(qualifiedTeachers);
+            }
+            for (Teacher teacher : qualifiedTeachers) {
+                if (!teacher.hasCapacityFor(tentativeBookings.getBookedLessons(teacher) + subject.weeklyLessons())) {
+                    continue;
+                }
+                List<SubjectPlacement> blocks = new ArrayList<>();
+                if (placeBlocks(teacher, subject.weeklyLessons(), 1, blocks)) {
+                    return blocks;
+                }
+                if (remainingSteps <= 0) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private boolean placeBlocks(Teacher teacher, int remainingLessons, int firstWeekDay, List<SubjectPlacement> blocks) {
+            if (remainingLessons == 0) {
+                return true;
+            }
+            for (int weekDay = firstWeekDay; weekDay <= WORKDAYS_PER_WEEK; weekDay++) {
+                DayOfWeek dayOfWeek = DayOfWeek.of(weekDay);
+                for (int blockSize = remainingLessons; blockSize >= minimumBlockSize; blockSize--) {
+                    int lessonsAfterBlock = remainingLessons - blockSize;
+                    if (lessonsAfterBlock != 0 && lessonsAfterBlock < minimumBlockSize) {
+                        continue;
+                    }
+                    if (remainingSteps-- <= 0) {
+                        return false;
+                    }
+                    SubjectPlacement block = findBlock(teacher, dayOfWeek, blockSize);
+                    if (block != null) {
+                        blocks.add(block);
+                        if (placeBlocks(teacher, lessonsAfterBlock, weekDay + 1, blocks)) {
+                            return true;
                         }
+                        blocks.remove(blocks.size() - 1);
                     }
                 }
-                availableRooms = availableRoomsForSeveralTimeSlots;
             }
+            return false;
         }
-        return availableRooms;
-    }
 
-    private List<Room> getAllRooms() {
-        List<Room> rooms = new ArrayList<>();
-        for (Building building : schoolBuildings) {
-            rooms.addAll(building.getAllRooms());
+        private SubjectPlacement findBlock(Teacher teacher, DayOfWeek dayOfWeek, int blockSize) {
+            for (List<TimeSlot> freeTimeSlots : timetable.getFreeTimeSlotsAfterTheOtherPerDay(blockSize, dayOfWeek)) {
+                long timeSlotMask = timetable.getOccupancyGrid().toTimeSlotMask(dayOfWeek, freeTimeSlots);
+                if (teacher.isFreeToTeach(dayOfWeek, timeSlotMask, subject) && tentativeBookings.isTeacherFree(teacher, dayOfWeek, timeSlotMask)) {
+                    Room room = getClosestFittingRoom(timetable, dayOfWeek, timeSlotMask, compiledSchoolModel.getSchoolClassSize(schoolClass), tentativeBookings);
+                    if (room != null) {
+                        List<Lesson> lessons = new ArrayList<>();
+                        for (TimeSlot timeSlot : freeTimeSlots) {
+                            lessons.add(new Lesson(subject, teacher, timeSlot, room));
+                        }
+                        return new SubjectPlacement(schoolClass, dayOfWeek, lessons);
+                    }
+                }
+            }
+            return null;
         }
-        return rooms;
     }
 }
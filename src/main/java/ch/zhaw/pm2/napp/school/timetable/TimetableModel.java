@@ -10,6 +10,7 @@ import static ch.zhaw.pm2.napp.school.School.*;
 
 /**
  * This class includes the model of a school timetable, so that the long and short breaks can be taken into account.
+ * It is only built once into the shared {@link TimetableTemplate}, which all timetables and rooms refer to.
  */
 public class TimetableModel {
     private static final int FIRST = 0;
@@ -0,0 +1,228 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * This class improves existing timetables with a tabu search. <br>
+ * <p>
+ * The optimizer starts from the timetables generated before, e.g. by the first-fit algorithm of the {@link TimetableGenerator},
+ * and lowers the weighted {@link TimetableScore} until the time budget is used up.
+ * In every step one subject of a school class is taken out and all its other possible placements are rated in parallel.
+ * The subject is moved to the best one, even if it is worse, so the search can leave local optima.
+ * Moving a subject back to where it came from is forbidden for a few steps (tabu), unless it leads to a new best score.
+ * Subjects pinned with {@link TimetableGenerator#pinPlacements(List)} are never moved.
+ * <p>
+ * The best timetables found so far can be read at any time while the optimizer is running and are published to the
+ * {@link GenerationMonitor} of the generator. When it stops, the best timetables are applied again.
+ * Cancelling the generation stops the optimizer like a used up time budget.
+ * <p>
+ * An optimizer limited by a number of iterations instead of a time budget does not depend on the speed of the machine,
+ * so with the same seeded {@link Random} it always produces the same timetables.
+ */
+public class TimetableOptimizer {
+    private static final int TABU_TENURE = 10;
+    private static final int PARALLEL_EVALUATION_THRESHOLD = 32;
+    private static final int NO_CANDIDATE = -1;
+    private static final int NO_ITERATION_LIMIT = Integer.MAX_VALUE;
+    private static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    private final TimetableGenerator timetableGenerator;
+    private final long timeBudgetNanos;
+    private final int iterationLimit;
+    private final Random random;
+    private volatile List<SubjectPlacement> bestPlacements = List.of();
+    private volatile TimetableScore bestScore;
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     * @param timeBudget         the wall-clock time the optimizer may take
+     */
+    public TimetableOptimizer(TimetableGenerator timetableGenerator, Duration timeBudget) {
+        this(timetableGenerator, timeBudget, new Random());
+    }
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     * @param timeBudget         the wall-clock time the optimizer may take
+     * @param random             the source for choosing which subject is moved next
+     */
+    public TimetableOptimizer(TimetableGenerator timetableGenerator, Duration timeBudget, Random random) {
+        this(timetableGenerator, timeBudget.toNanos(), NO_ITERATION_LIMIT, random);
+    }
+
+    /**
+     * Creates an optimizer that stops after a number of iterations, regardless of the time it takes.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     * @param iterationLimit     the number of subjects the optimizer tries to move
+     * @param random             the source for choosing which subject is moved next
+     */
+    public TimetableOptimizer(TimetableGenerator timetableGenerator, int iterationLimit, Random random) {
+        this(timetableGenerator, NO_TIME_LIMIT, iterationLimit, random);
+    }
+
+    private TimetableOptimizer(TimetableGenerator timetableGenerator, long timeBudgetNanos, int iterationLimit, Random random) {
+        this.timetableGenerator = timetableGenerator;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.iterationLimit = iterationLimit;
+        this.random = random;
+    }
+
+    /**
+     * Improves the timetables of the school classes until the time budget or the iterations are used up, the thread is interrupted
+     * or the generation is cancelled.
+     * Afterwards the best timetables found are applied.
+     *
+     * @param schoolClasses the school classes whose timetables have already been generated
+     * @return the score of the best timetables
+     */
+    public TimetableScore optimize(List<SchoolClass> schoolClasses) {
+        List<SubjectPlacement> currentPlacements = TimetableGenerator.collectPlacements(schoolClasses);
+        int currentScore = TimetableScore.calculate(schoolClasses, timetableGenerator.getRoomDistances()).getWeightedScore();
+        int bestWeightedScore = currentScore;
+        publishBest(currentPlacements, schoolClasses);
+        List<Integer> movablePlacementIndices = new ArrayList<>();
+        for (int i = 0; i < currentPlacements.size(); i++) {
+            if (!timetableGenerator.isPinned(currentPlacements.get(i))) {
+                movablePlacementIndices.add(i);
+            }
+        }
+
+        Map<TabuPosition, Integer> tabuUntilIteration = new HashMap<>();
+        long startTime = System.nanoTime();
+        for (int iteration = 0; !movablePlacementIndices.isEmpty() && iteration < iterationLimit && System.nanoTime() - startTime < timeBudgetNanos
+                && !Thread.currentThread().isInterrupted() && !timetableGenerator.getGenerationMonitor().isCancelled(); iteration++) {
+            int placementIndex = movablePlacementIndices.get(random.nextInt(movablePlacementIndices.size()));
+            SubjectPlacement movedPlacement = currentPlacements.get(placementIndex);
+            timetableGenerator.removePlacement(movedPlacement);
+            int removedScore = getPlacementScore(movedPlacement);
+
+            List<SubjectPlacement> candidates = timetableGenerator.findAllPlacements(movedPlacement.schoolClass(), getSubject(movedPlacement), movedPlacement.lessons().size());
+            candidates.remove(movedPlacement);
+            int[] candidateScores = rateCandidates(candidates);
+
+            int chosenCandidate = NO_CANDIDATE;
+            for (int i = 0; i < candidates.size(); i++) {
+                int newScore = currentScore - removedScore + candidateScores[i];
+                boolean isTabu = tabuUntilIteration.getOrDefault(TabuPosition.of(candidates.get(i)), -1) >= iteration;
+                if ((!isTabu || newScore < bestWeightedScore) && (chosenCandidate == NO_CANDIDATE || candidateScores[i] < candidateScores[chosenCandidate])) {
+                    chosenCandidate = i;
+                }
+            }
+            if (chosenCandidate == NO_CANDIDATE) {
+                timetableGenerator.applyPlacement(movedPlacement);
+                continue;
+            }
+
+            SubjectPlacement chosenPlacement = candidates.get(chosenCandidate);
+            timetableGenerator.applyPlacement(chosenPlacement);
+            currentPlacements.set(placementIndex, chosenPlacement);
+            tabuUntilIteration.put(TabuPosition.of(movedPlacement), iteration + TABU_TENURE);
+            currentScore = currentScore - removedScore + candidateScores[chosenCandidate];
+            if (currentScore < bestWeightedScore) {
+                bestWeightedScore = currentScore;
+                publishBest(currentPlacements, schoolClasses);
+            }
+        }
+        restoreBest(currentPlacements);
+        timetableGenerator.getGenerationMonitor().publishBest(bestPlacements, bestScore, true);
+        return bestScore;
+    }
+
+    /**
+     * Returns the best placements found so far. It can be called from another thread while the optimizer is running.
+     *
+     * @return the placements of all subjects of the best timetables
+     */
+    public List<SubjectPlacement> getBestPlacements() {
+        return bestPlacements;
+    }
+
+    /**
+     * Returns the score of the best timetables found so far. It can be called from another thread while the optimizer is running.
+     *
+     * @return the best score, or null if the optimizer has not been started yet
+     */
+    public TimetableScore getBestScore() {
+        return bestScore;
+    }
+
+    private void publishBest(List<SubjectPlacement> currentPlacements, List<SchoolClass> schoolClasses) {
+        bestPlacements = List.copyOf(currentPlacements);
+        bestScore = TimetableScore.calculate(schoolClasses, timetableGenerator.getRoomDistances());
+        timetableGenerator.getGenerationMonitor().publishBest(bestPlacements, bestScore, false);
+    }
+
+    private void restoreBest(List<SubjectPlacement> currentPlacements) {
+        List<SubjectPlacement> placementsToRestore = bestPlacements;
+        if (currentPlacements.equals(placementsToRestore)) {
+            return;
+        }
+        currentPlacements.forEach(timetableGenerator::removePlacement);
+        placementsToRestore.forEach(timetableGenerator::applyPlacement);
+    }
+
+    private int[] rateCandidates(List<SubjectPlacement> candidates) {
+        if (candidates.size() < PARALLEL_EVALUATION_THRESHOLD) {
+            return candidates.stream().mapToInt(this::getPlacementScore).toArray();
+        }
+        return candidates.parallelStream().mapToInt(this::getPlacementScore).toArray();
+    }
+
+    /**
+     * Calculates by how much the weighted score would rise if the placement was applied.
+     * Only the day of the placement in the timetables of its school class and teacher is affected, so nothing else is rated.
+     */
+    private int getPlacementScore(SubjectPlacement subjectPlacement) {
+        DayOfWeek dayOfWeek = subjectPlacement.dayOfWeek();
+        List<TimeSlot> timeSlots = subjectPlacement.lessons().stream().map(Lesson::timeSlot).toList();
+
+        Timetable classTimetable = subjectPlacement.schoolClass().getTimetable();
+        OccupancyGrid classGrid = classTimetable.getOccupancyGrid();
+        long classMask = classGrid.getOccupiedMask(dayOfWeek);
+        int classGaps = TimetableScore.countGaps(classMask | classGrid.toTimeSlotMask(dayOfWeek, timeSlots)) - TimetableScore.countGaps(classMask);
+
+        Teacher teacher = subjectPlacement.lessons().get(0).teacher();
+        OccupancyGrid teacherGrid = teacher.getTimetable().getOccupancyGrid();
+        long teacherMask = teacherGrid.getOccupiedMask(dayOfWeek);
+        int teacherIdlePeriods = TimetableScore.countGaps(teacherMask | teacherGrid.toTimeSlotMask(dayOfWeek, timeSlots)) - TimetableScore.countGaps(teacherMask);
+
+        List<Lesson> classLessons = classTimetable.getTimetable().getOrDefault(dayOfWeek, List.of());
+        Room[] roomsWithPlacement = TimetableScore.getRoomPerTimeSlot(classGrid, dayOfWeek, classLessons, subjectPlacement.lessons());
+        Room[] roomsWithoutPlacement = TimetableScore.getRoomPerTimeSlot(classGrid, dayOfWeek, classLessons, List.of());
+        int roomChanges = TimetableScore.countRoomChanges(roomsWithPlacement) - TimetableScore.countRoomChanges(roomsWithoutPlacement);
+        RoomDistances roomDistances = timetableGenerator.getRoomDistances();
+        int walkingDistance = TimetableScore.countWalkingDistance(roomsWithPlacement, roomDistances) - TimetableScore.countWalkingDistance(roomsWithoutPlacement, roomDistances);
+
+        return new TimetableScore(classGaps, teacherIdlePeriods, roomChanges, walkingDistance).getWeightedScore();
+    }
+
+    private static Subject getSubject(SubjectPlacement subjectPlacement) {
+        return subjectPlacement.lessons().get(0).subject();
+    }
+
+    /**
+     * The position a subject of a school class is moved away from, which is tabu for a few steps.
+     */
+    private record TabuPosition(SchoolClass schoolClass, Subject subject, DayOfWeek dayOfWeek, TimeSlot firstTimeSlot) {
+        static TabuPosition of(SubjectPlacement subjectPlacement) {
+            Lesson firstLesson = subjectPlacement.lessons().get(0);
+            return new TabuPosition(subjectPlacement.schoolClass(), firstLesson.subject(), subjectPlacement.dayOfWeek(), firstLesson.timeSlot());
+        }
+    }
+}
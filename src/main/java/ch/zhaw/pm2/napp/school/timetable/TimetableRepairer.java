@@ -0,0 +1,95 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class adapts generated timetables to a {@link ScheduleChange} without generating them again. <br>
+ * <p>
+ * Only the subjects affected by the change are taken out and placed again, all other lessons stay where they are.
+ * A subject is kept at its time slots with another teacher or room if possible, so the students do not notice the change.
+ * Otherwise it is moved to the first possible placement. If one of the subjects cannot be placed again,
+ * the change is undone and the timetables are restored.
+ */
+public class TimetableRepairer {
+    private final TimetableGenerator timetableGenerator;
+
+    /**
+     * Creates a repairer.
+     *
+     * @param timetableGenerator the generator providing the possible placements
+     */
+    public TimetableRepairer(TimetableGenerator timetableGenerator) {
+        this.timetableGenerator = timetableGenerator;
+    }
+
+    /**
+     * Applies the change to the resource and moves all affected subjects of the school classes.
+     *
+     * @param scheduleChange the change to apply
+     * @param schoolClasses  the school classes whose timetables have already been generated
+     * @return the new placements of the moved subjects
+     * @throws TimetableException if an affected subject cannot be placed again. The change is undone in that case.
+     */
+    public List<SubjectPlacement> repair(ScheduleChange scheduleChange, List<SchoolClass> schoolClasses) throws TimetableException {
+        if (!scheduleChange.apply()) {
+            return new ArrayList<>();
+        }
+        timetableGenerator.getCompiledSchoolModel().refreshAvailableWeekDays();
+        List<SubjectPlacement> affectedPlacements = new ArrayList<>();
+        for (SubjectPlacement subjectPlacement : TimetableGenerator.collectPlacements(schoolClasses)) {
+            if (scheduleChange.affects(subjectPlacement)) {
+                affectedPlacements.add(subjectPlacement);
+            }
+        }
+        PlacementTrail placementTrail = new PlacementTrail(timetableGenerator);
+        affectedPlacements.forEach(placementTrail::remove);
+
+        List<SubjectPlacement> newPlacements = new ArrayList<>();
+        for (SubjectPlacement affectedPlacement : affectedPlacements) {
+            SubjectPlacement newPlacement = findReplacement(affectedPlacement);
+            if (newPlacement == null) {
+                Subject subject = affectedPlacement.lessons().get(0).subject();
+                InfeasibilityDiagnosis diagnosis = timetableGenerator.diagnose(new LessonDemand(affectedPlacement.schoolClass(), subject));
+                placementTrail.rollbackAll();
+                scheduleChange.revert();
+                timetableGenerator.getCompiledSchoolModel().refreshAvailableWeekDays();
+                throw new TimetableException("The subject \"" + subject.name() + "\" of the school class \"" + affectedPlacement.schoolClass().getId()
+                        + "\" cannot be moved. " + diagnosis.explanation() + " The change was not applied.", List.of(diagnosis));
+            }
+            placementTrail.apply(newPlacement);
+            newPlacements.add(newPlacement);
+        }
+        return newPlacements;
+    }
+
+    /**
+     * Searches a new placement for the subject, preferring the same day and time slots as before.
+     */
+    private SubjectPlacement findReplacement(SubjectPlacement affectedPlacement) {
+        Subject subject = affectedPlacement.lessons().get(0).subject();
+        List<SubjectPlacement> candidates = timetableGenerator.findAllPlacements(affectedPlacement.schoolClass(), subject, affectedPlacement.lessons().size());
+        for (SubjectPlacement candidate : candidates) {
+            if (hasSameTimeSlots(candidate, affectedPlacement)) {
+                return candidate;
+            }
+        }
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    private static boolean hasSameTimeSlots(SubjectPlacement candidate, SubjectPlacement affectedPlacement) {
+        if (candidate.dayOfWeek() != affectedPlacement.dayOfWeek() || candidate.lessons().size() != affectedPlacement.lessons().size()) {
+            return false;
+        }
+        for (int i = 0; i < candidate.lessons().size(); i++) {
+            if (!candidate.lessons().get(i).timeSlot().equals(affectedPlacement.lessons().get(i).timeSlot())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
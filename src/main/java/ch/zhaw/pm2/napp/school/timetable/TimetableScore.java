@@ -0,0 +1,151 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.building.RoomDistances;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+
+import java.time.DayOfWeek;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This record represents the quality of the timetables of several school classes. A lower score is better.
+ * <p>
+ * The students of a school class share the timetable of the class, so the free time slots between two lessons
+ * of a class are the gaps of all its students.
+ *
+ * @param classGaps          the free time slots between the first and the last lesson of each school class per day
+ * @param teacherIdlePeriods the free time slots between the first and the last lesson of each teacher per day
+ * @param roomChanges        how often a school class has to change the room between two lessons of the same day
+ * @param walkingDistance    how far a school class has to walk between two lessons of the same day, see {@link RoomDistances#getDistance(Room, Room)}
+ */
+public record TimetableScore(int classGaps, int teacherIdlePeriods, int roomChanges, int walkingDistance) {
+    static final int CLASS_GAP_WEIGHT = 3;
+    static final int TEACHER_IDLE_PERIOD_WEIGHT = 2;
+    static final int ROOM_CHANGE_WEIGHT = 1;
+    static final int WALKING_DISTANCE_WEIGHT = 1;
+
+    /**
+     * Calculates the score of the current timetables of the school classes and of all their teachers.
+     *
+     * @param schoolClasses the school classes to rate
+     * @param roomDistances the walking distances between the rooms, see {@link TimetableGenerator#getRoomDistances()}
+     * @return the score
+     */
+    public static TimetableScore calculate(List<SchoolClass> schoolClasses, RoomDistances roomDistances) {
+        int classGaps = 0;
+        int roomChanges = 0;
+        int walkingDistance = 0;
+        Set<Teacher> teachers = new LinkedHashSet<>();
+        for (SchoolClass schoolClass : schoolClasses) {
+            Timetable timetable = schoolClass.getTimetable();
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                classGaps += countGaps(timetable.getOccupancyGrid().getOccupiedMask(dayOfWeek));
+                List<Lesson> lessons = timetable.getTimetable().getOrDefault(dayOfWeek, List.of());
+                Room[] roomPerTimeSlot = getRoomPerTimeSlot(timetable.getOccupancyGrid(), dayOfWeek, lessons, List.of());
+                roomChanges += countRoomChanges(roomPerTimeSlot);
+                walkingDistance += countWalkingDistance(roomPerTimeSlot, roomDistances);
+                lessons.forEach(lesson -> teachers.add(lesson.teacher()));
+            }
+        }
+        int teacherIdlePeriods = 0;
+        for (Teacher teacher : teachers) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                teacherIdlePeriods += countGaps(teacher.getTimetable().getOccupancyGrid().getOccupiedMask(dayOfWeek));
+            }
+        }
+        return new TimetableScore(classGaps, teacherIdlePeriods, roomChanges, walkingDistance);
+    }
+
+    /**
+     * Returns the weighted sum of all criteria.
+     *
+     * @return the weighted score, lower is better
+     */
+    public int getWeightedScore() {
+        return classGaps * CLASS_GAP_WEIGHT + teacherIdlePeriods * TEACHER_IDLE_PERIOD_WEIGHT + roomChanges * ROOM_CHANGE_WEIGHT
+                + walkingDistance * WALKING_DISTANCE_WEIGHT;
+    }
+
+    /**
+     * Counts the free time slots between the first and the last booked time slot of a day.
+     *
+     * @param occupiedMask the booked time slots of the day, see {@link OccupancyGrid}
+     * @return the amount of free time slots in between
+     */
+    static int countGaps(long occupiedMask) {
+        if (occupiedMask == 0) {
+            return 0;
+        }
+        int span = Long.SIZE - Long.numberOfLeadingZeros(occupiedMask) - Long.numberOfTrailingZeros(occupiedMask);
+        return span - Long.bitCount(occupiedMask);
+    }
+
+    /**
+     * Orders the rooms of the lessons of a day by their time slots.
+     *
+     * @param occupancyGrid     the grid used to order the lessons
+     * @param dayOfWeek         the day of the lessons
+     * @param lessons           the lessons of the day
+     * @param additionalLessons lessons that are not yet part of the timetable but should be taken into account
+     * @return the room of each time slot of the day, null for the free time slots
+     */
+    static Room[] getRoomPerTimeSlot(OccupancyGrid occupancyGrid, DayOfWeek dayOfWeek, List<Lesson> lessons, List<Lesson> additionalLessons) {
+        Room[] roomPerTimeSlot = new Room[Long.SIZE];
+        addRooms(roomPerTimeSlot, occupancyGrid, dayOfWeek, lessons);
+        addRooms(roomPerTimeSlot, occupancyGrid, dayOfWeek, additionalLessons);
+        return roomPerTimeSlot;
+    }
+
+    /**
+     * Counts how often the room changes between two lessons following each other on the same day.
+     *
+     * @param roomPerTimeSlot the rooms of a day, see {@link #getRoomPerTimeSlot(OccupancyGrid, DayOfWeek, List, List)}
+     * @return the amount of room changes
+     */
+    static int countRoomChanges(Room[] roomPerTimeSlot) {
+        int roomChanges = 0;
+        Room previousRoom = null;
+        for (Room room : roomPerTimeSlot) {
+            if (room != null) {
+                if (previousRoom != null && previousRoom != room) {
+                    roomChanges++;
+                }
+                previousRoom = room;
+            }
+        }
+        return roomChanges;
+    }
+
+    /**
+     * Sums up the walking distances between the rooms of two lessons following each other on the same day.
+     *
+     * @param roomPerTimeSlot the rooms of a day, see {@link #getRoomPerTimeSlot(OccupancyGrid, DayOfWeek, List, List)}
+     * @param roomDistances   the walking distances between the rooms
+     * @return the walking distance of the day
+     */
+    static int countWalkingDistance(Room[] roomPerTimeSlot, RoomDistances roomDistances) {
+        int walkingDistance = 0;
+        Room previousRoom = null;
+        for (Room room : roomPerTimeSlot) {
+            if (room != null) {
+                if (previousRoom != null) {
+                    walkingDistance += roomDistances.getDistance(previousRoom, room);
+                }
+                previousRoom = room;
+            }
+        }
+        return walkingDistance;
+    }
+
+    private static void addRooms(Room[] roomPerTimeSlot, OccupancyGrid occupancyGrid, DayOfWeek dayOfWeek, List<Lesson> lessons) {
+        for (Lesson lesson : lessons) {
+            int timeSlotIndex = occupancyGrid.getTimeSlotIndex(dayOfWeek, lesson.timeSlot());
+            if (timeSlotIndex >= 0) {
+                roomPerTimeSlot[timeSlotIndex] = lesson.room();
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable version of a {@link Timetable}. <br>
+ * <p>
+ * A snapshot holds one unmodifiable list of lessons per day. A new version only creates new lists for the days that changed and
+ * shares all other days with the previous version (structural sharing), so taking a snapshot costs time in the number of changed days.
+ * Since nothing in a snapshot ever changes, it can be read from any thread without locks, e.g. by the UI while the generator keeps
+ * changing the timetable, see {@link Timetable#publishSnapshot()}.
+ * <p>
+ * What-if scenarios can be branched from a snapshot without touching the timetable: {@link #withLesson(DayOfWeek, Lesson)} and
+ * {@link #withoutLesson(DayOfWeek, Lesson)} return new versions and leave this one as it is.
+ * A branch can be turned back into a timetable with {@link Timetable#Timetable(TimetableSnapshot)}.
+ */
+public final class TimetableSnapshot {
+    private final TimetableTemplate timetableTemplate;
+    private final List<List<Lesson>> lessonsPerDay;
+    private final OccupancySnapshot occupancySnapshot;
+    private final int amountOfSetLessonsPerWeek;
+    private final long version;
+
+    /**
+     * Creates a snapshot. The lists are not copied and must not be changed afterwards.
+     *
+     * @param timetableTemplate         the time slots of each day
+     * @param lessonsPerDay             the unmodifiable lessons of each day, indexed by the ordinal of the day
+     * @param occupancySnapshot         the booked time slots
+     * @param amountOfSetLessonsPerWeek the number of lessons of all days
+     * @param version                   the number of versions before this one
+     */
+    TimetableSnapshot(TimetableTemplate timetableTemplate, List<List<Lesson>> lessonsPerDay, OccupancySnapshot occupancySnapshot,
+                      int amountOfSetLessonsPerWeek, long version) {
+        this.timetableTemplate = timetableTemplate;
+        this.lessonsPerDay = lessonsPerDay;
+        this.occupancySnapshot = occupancySnapshot;
+        this.amountOfSetLessonsPerWeek = amountOfSetLessonsPerWeek;
+        this.version = version;
+    }
+
+    /**
+     * Creates the first version of an empty timetable. Timetables share the one of their template, see {@link TimetableTemplate#getEmptySnapshot()}.
+     *
+     * @param timetableTemplate the time slots of each day
+     * @return the empty snapshot
+     */
+    static TimetableSnapshot empty(TimetableTemplate timetableTemplate) {
+        return new TimetableSnapshot(timetableTemplate, Collections.nCopies(DayOfWeek.values().length, List.of()),
+                new OccupancyGrid(timetableTemplate).snapshot(), 0, 0);
+    }
+
+    /**
+     * Creates a new version with an additional lesson. Only the list of the day is copied.
+     *
+     * @param dayOfWeek the day of the lesson
+     * @param lesson    the lesson to add
+     * @return the new snapshot
+     */
+    public TimetableSnapshot withLesson(DayOfWeek dayOfWeek, Lesson lesson) {
+        List<Lesson> lessons = new ArrayList<>(getLessons(dayOfWeek));
+        lessons.add(lesson);
+        OccupancySnapshot newOccupancySnapshot = occupancySnapshot.withOccupied(dayOfWeek, toTimeSlotMask(dayOfWeek, lesson.timeSlot()));
+        return new TimetableSnapshot(timetableTemplate, withDay(dayOfWeek, lessons), newOccupancySnapshot, amountOfSetLessonsPerWeek + 1, version + 1);
+    }
+
+    /**
+     * Creates a new version without the lesson. Its time slot becomes free unless another lesson still takes place at that time.
+     * Only the list of the day is copied.
+     *
+     * @param dayOfWeek the day of the lesson
+     * @param lesson    the lesson to remove
+     * @return the new snapshot, or this one if it does not contain the lesson
+     */
+    public TimetableSnapshot withoutLesson(DayOfWeek dayOfWeek, Lesson lesson) {
+        List<Lesson> lessons = new ArrayList<>(getLessons(dayOfWeek));
+        int lessonIndex = lessons.lastIndexOf(lesson);
+        if (lessonIndex < 0) {
+            return this;
+        }
+        lessons.remove(lessonIndex);
+        OccupancySnapshot newOccupancySnapshot = occupancySnapshot;
+        if (lessons.stream().noneMatch(remainingLesson -> remainingLesson.timeSlot().equals(lesson.timeSlot()))) {
+            newOccupancySnapshot = occupancySnapshot.withReleased(dayOfWeek, toTimeSlotMask(dayOfWeek, lesson.timeSlot()));
+        }
+        return new TimetableSnapshot(timetableTemplate, withDay(dayOfWeek, lessons), newOccupancySnapshot, amountOfSetLessonsPerWeek - 1, version + 1);
+    }
+
+    /**
+     * Returns the lessons of a day.
+     *
+     * @param dayOfWeek the day
+     * @return the unmodifiable lessons of the day, an empty list if there are none
+     */
+    public List<Lesson> getLessons(DayOfWeek dayOfWeek) {
+        return lessonsPerDay.get(dayOfWeek.ordinal());
+    }
+
+    /**
+     * Returns the lessons per day like {@link Timetable#getTimetable()}. Days without lessons are left out.
+     *
+     * @return an unmodifiable map with the days in the order of the week
+     */
+    public Map<DayOfWeek, List<Lesson>> getTimetable() {
+        Map<DayOfWeek, List<Lesson>> timetable = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (!getLessons(dayOfWeek).isEmpty()) {
+                timetable.put(dayOfWeek, getLessons(dayOfWeek));
+            }
+        }
+        return Collections.unmodifiableMap(timetable);
+    }
+
+    /**
+     * Returns whether no lesson takes place at the given time slot.
+     *
+     * @param dayOfWeek       the day to check
+     * @param timeSlotToCheck the time slot to check
+     * @return true if the time slot is free
+     */
+    public boolean isFree(DayOfWeek dayOfWeek, TimeSlot timeSlotToCheck) {
+        return occupancySnapshot.isFree(dayOfWeek, timeSlotToCheck);
+    }
+
+    public OccupancySnapshot getOccupancySnapshot() {
+        return occupancySnapshot;
+    }
+
+    public int getAmountOfSetLessonsPerWeek() {
+        return amountOfSetLessonsPerWeek;
+    }
+
+    /**
+     * Returns how many versions were created before this one, so readers can tell whether the timetable changed.
+     *
+     * @return the version number, 0 for the empty timetable
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public TimetableTemplate getTimetableTemplate() {
+        return timetableTemplate;
+    }
+
+    /**
+     * Creates the list of the days with the given lessons on one day, sharing the lists of all other days.
+     *
+     * @param dayOfWeek the changed day
+     * @param lessons   the new lessons of the day
+     * @return the lessons per day of the new version
+     */
+    private List<List<Lesson>> withDay(DayOfWeek dayOfWeek, List<Lesson> lessons) {
+        List<List<Lesson>> newLessonsPerDay = new ArrayList<>(lessonsPerDay);
+        newLessonsPerDay.set(dayOfWeek.ordinal(), Collections.unmodifiableList(lessons));
+        return Collections.unmodifiableList(newLessonsPerDay);
+    }
+
+    private long toTimeSlotMask(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int timeSlotIndex = timetableTemplate.getTimeSlotIndex(dayOfWeek, timeSlot);
+        return timeSlotIndex < 0 ? 0 : 1L << timeSlotIndex;
+    }
+}
@@ -0,0 +1,154 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The TimetableTemplate is the immutable set of time slots of a school week.
+ * It is built once from the {@link TimetableModel} and shared by all timetables and rooms, which only refer to the time slots
+ * by their position within the day. Every weekday can have its own schema, e.g. a free wednesday afternoon.
+ * A school with its own template passes it to the CSV loaders and the {@link ch.zhaw.pm2.napp.school.School}.
+ * All time slots are interned in the {@link TimeSlotRegistry}, so the position of a time slot is looked up by its ordinal.
+ */
+public final class TimetableTemplate {
+    private static final int NOT_IN_DAY = -1;
+    private static final TimetableTemplate DEFAULT_TEMPLATE = new TimetableTemplate(new TimetableModel().getTimetableModel());
+
+    private final Map<DayOfWeek, List<TimeSlot>> timeSlotsPerDay;
+    private final int[][] timeSlotIndicesByOrdinal = new int[DayOfWeek.values().length][];
+    private final int amountOfTimeSlotsPerWeek;
+    private final TimetableSnapshot emptySnapshot;
+
+    /**
+     * Creates a template from the time slots of each day. The lists are copied, so later changes to the model have no effect.
+     *
+     * @param timeSlotsModel the time slots of each day, in chronological order
+     */
+    public TimetableTemplate(Map<DayOfWeek, List<TimeSlot>> timeSlotsModel) {
+        Map<DayOfWeek, List<TimeSlot>> copiedTimeSlots = new EnumMap<>(DayOfWeek.class);
+        int timeSlotsPerWeek = 0;
+        for (Map.Entry<DayOfWeek, List<TimeSlot>> day : timeSlotsModel.entrySet()) {
+            List<TimeSlot> canonicalTimeSlots = new ArrayList<>(day.getValue().size());
+            for (TimeSlot timeSlot : day.getValue()) {
+                canonicalTimeSlots.add(TimeSlotRegistry.intern(timeSlot));
+            }
+            copiedTimeSlots.put(day.getKey(), List.copyOf(canonicalTimeSlots));
+            timeSlotsPerWeek += canonicalTimeSlots.size();
+        }
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            timeSlotIndicesByOrdinal[dayOfWeek.ordinal()] = createTimeSlotIndices(copiedTimeSlots.getOrDefault(dayOfWeek, List.of()));
+        }
+        this.timeSlotsPerDay = Collections.unmodifiableMap(copiedTimeSlots);
+        this.amountOfTimeSlotsPerWeek = timeSlotsPerWeek;
+        this.emptySnapshot = TimetableSnapshot.empty(this);
+    }
+
+    /**
+     * Returns the template with the default school day of the {@link TimetableModel} on every day.
+     *
+     * @return the default template
+     */
+    public static TimetableTemplate getDefaultTemplate() {
+        return DEFAULT_TEMPLATE;
+    }
+
+    /**
+     * Creates a copy of this template in which the given day ends at the closing time.
+     * All time slots that end later are dropped, e.g. to keep the wednesday afternoon free.
+     *
+     * @param dayOfWeek   the day to shorten
+     * @param closingTime the time at which the last lesson of the day has to end
+     * @return the new template
+     */
+    public TimetableTemplate withClosingTime(DayOfWeek dayOfWeek, LocalTime closingTime) {
+        Map<DayOfWeek, List<TimeSlot>> timeSlotsModel = new EnumMap<>(timeSlotsPerDay);
+        List<TimeSlot> remainingTimeSlots = new ArrayList<>();
+        for (TimeSlot timeSlot : getTimeSlots(dayOfWeek)) {
+            if (!timeSlot.getEndTime().isAfter(closingTime)) {
+                remainingTimeSlots.add(timeSlot);
+            }
+        }
+        timeSlotsModel.put(dayOfWeek, remainingTimeSlots);
+        return new TimetableTemplate(timeSlotsModel);
+    }
+
+    /**
+     * Returns the time slots of the given day.
+     *
+     * @param dayOfWeek the day
+     * @return an unmodifiable list of the time slots in chronological order, empty if there are no lessons on that day
+     */
+    public List<TimeSlot> getTimeSlots(DayOfWeek dayOfWeek) {
+        return timeSlotsPerDay.getOrDefault(dayOfWeek, List.of());
+    }
+
+    /**
+     * Returns the time slot at the given position of the day.
+     *
+     * @param dayOfWeek     the day
+     * @param timeSlotIndex the position of the time slot within the day
+     * @return the time slot
+     */
+    public TimeSlot getTimeSlot(DayOfWeek dayOfWeek, int timeSlotIndex) {
+        return getTimeSlots(dayOfWeek).get(timeSlotIndex);
+    }
+
+    /**
+     * Looks up the position of a time slot within the given day. For canonical time slots this is a single array access.
+     *
+     * @param dayOfWeek the day
+     * @param timeSlot  the time slot to look up
+     * @return the index of the time slot, or -1 if the day does not contain the time slot
+     */
+    public int getTimeSlotIndex(DayOfWeek dayOfWeek, TimeSlot timeSlot) {
+        int ordinal = TimeSlotRegistry.getOrdinal(timeSlot);
+        int[] timeSlotIndices = timeSlotIndicesByOrdinal[dayOfWeek.ordinal()];
+        return ordinal >= 0 && ordinal < timeSlotIndices.length ? timeSlotIndices[ordinal] : NOT_IN_DAY;
+    }
+
+    /**
+     * Returns the amount of time slots of all days together.
+     *
+     * @return the amount of time slots per week
+     */
+    public int getAmountOfTimeSlotsPerWeek() {
+        return amountOfTimeSlotsPerWeek;
+    }
+
+    /**
+     * Returns the first version of every empty timetable based on this template. It is immutable, so all of them share it.
+     *
+     * @return the empty snapshot
+     */
+    TimetableSnapshot getEmptySnapshot() {
+        return emptySnapshot;
+    }
+
+    /**
+     * Returns the time slots of all days in the same form as {@link TimetableModel#getTimetableModel()}.
+     *
+     * @return an unmodifiable map with each day of week and its time slots
+     */
+    public Map<DayOfWeek, List<TimeSlot>> getTimeSlotsPerDay() {
+        return timeSlotsPerDay;
+    }
+
+    private static int[] createTimeSlotIndices(List<TimeSlot> canonicalTimeSlots) {
+        int highestOrdinal = TimeSlot.NOT_REGISTERED;
+        for (TimeSlot timeSlot : canonicalTimeSlots) {
+            highestOrdinal = Math.max(highestOrdinal, timeSlot.getOrdinal());
+        }
+        int[] timeSlotIndices = new int[highestOrdinal + 1];
+        Arrays.fill(timeSlotIndices, NOT_IN_DAY);
+        for (int timeSlotIndex = 0; timeSlotIndex < canonicalTimeSlots.size(); timeSlotIndex++) {
+            timeSlotIndices[canonicalTimeSlots.get(timeSlotIndex).getOrdinal()] = timeSlotIndex;
+        }
+        return timeSlotIndices;
+    }
+}
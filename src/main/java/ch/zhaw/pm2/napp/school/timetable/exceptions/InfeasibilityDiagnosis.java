@@ -0,0 +1,46 @@
+package ch.zhaw.pm2.napp.school.timetable.exceptions;
+
+/**
+ * This record explains why a subject of a school class could not be placed in the timetable.
+ *
+ * @param schoolClassId the id of the school class
+ * @param subjectName   the name of the subject that could not be placed
+ * @param bottleneck    the resource that prevented the placement
+ * @param explanation   a readable explanation including the numbers that were checked
+ */
+public record InfeasibilityDiagnosis(String schoolClassId, String subjectName, Bottleneck bottleneck, String explanation) {
+
+    /**
+     * The resources that can prevent a subject from being placed, in the order in which they are checked.
+     */
+    public enum Bottleneck {
+        /**
+         * No teacher of the school can teach the subject.
+         */
+        NO_QUALIFIED_TEACHER,
+        /**
+         * The qualified teachers do not have enough workload left for the weekly lessons of the subject.
+         */
+        NO_REMAINING_WORKLOAD,
+        /**
+         * No room of the school is large enough for the school class.
+         */
+        NO_ROOM_LARGE_ENOUGH,
+        /**
+         * The timetable of the school class has no free block of time slots as long as the subject needs on any day.
+         */
+        NO_CONTIGUOUS_BLOCK,
+        /**
+         * No qualified teacher with workload left is available during any free block of the school class.
+         */
+        NO_TEACHER_FREE_DURING_BLOCK,
+        /**
+         * All rooms that are large enough are occupied during the free blocks in which a teacher is available.
+         */
+        NO_ROOM_FREE_DURING_BLOCK,
+        /**
+         * The subject fits on its own, but the teachers and rooms were booked by other subjects placed at the same time.
+         */
+        CONFLICTING_BOOKINGS
+    }
+}
@@ -0,0 +1,18 @@
+package ch.zhaw.pm2.napp.school.timetable.exceptions;
+
+/**
+ * This exception is thrown when no timetable was found within the time budget of the generation.
+ * Other than a failure because of missing resources, a retry within the same budget cannot succeed.
+ */
+public class TimeBudgetExceededException extends TimetableException {
+
+    /**
+     * Constructs a new TimeBudgetExceededException with the specified detail message.
+     *
+     * @param message a detail message. The detail message is saved for later retrieval by the getMessage() method.
+     */
+    public TimeBudgetExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -1,11 +1,15 @@
 package ch.zhaw.pm2.napp.school.timetable.exceptions;
 
+import java.util.List;
+
 /**
  * This class is a custom exception thrown when timetable generation fails.
+ * If subjects could not be placed, the exception explains for each of them which resource was missing.
  *
  * @author fupat002
  */
 public class TimetableException extends Exception {
+    private final List<InfeasibilityDiagnosis> diagnoses;
 
     /**
      * Constructs a new TimetableException with the specified detail message.
@@ -13,7 +17,27 @@ public class TimetableException extends Exception {
      * @param message a detail message. The detail message is saved for later retrieval by the getMessage() method.
      */
     public TimetableException(String message) {
+        this(message, List.of());
+    }
+
+    /**
+     * Constructs a new TimetableException with the specified detail message and the diagnoses of the subjects that could not be placed.
+     *
+     * @param message   a detail message. The detail message is saved for later retrieval by the getMessage() method.
+     * @param diagnoses the explanations why the subjects could not be placed
+     */
+    public TimetableException(String message, List<InfeasibilityDiagnosis> diagnoses) {
         super(message);
+        this.diagnoses = List.copyOf(diagnoses);
+    }
+
+    /**
+     * Returns the explanations why subjects could not be placed.
+     *
+     * @return the diagnoses, an empty list if the generation failed for another reason
+     */
+    public List<InfeasibilityDiagnosis> getDiagnoses() {
+        return diagnoses;
     }
 
 }
@@ -37,4 +37,22 @@ public class TimeTableExporter {
             throw new TimetableExportException(e.getMessage());
         }
     }
+
+    /**
+     * Exports the timetables into csv files based on the given school entities. Each file starts with the seed of the generation.
+     *
+     * @param schoolEntities - a complete collection of all school entities or the selected ones.
+     * @param seed           - the seed the timetables were generated with, see {@link ch.zhaw.pm2.napp.school.School#setSeed(long)}
+     * @param <T>            - a generic parameter of type {@link AbstractSchoolEntity}
+     * @throws TimetableExportException - throws a custom {@link TimetableExportException} if an exception occurs while creating the csv file
+     */
+    public <T extends AbstractSchoolEntity> void exportTimeTables(List<T> schoolEntities, long seed) throws TimetableExportException, TimetableConversionException {
+        try {
+            for (T schoolEntity : schoolEntities) {
+                csvWriter.writeCsv(schoolEntity.getId(), convertTimetablesToCsvString(schoolEntity.getTimetable(), seed));
+            }
+        } catch (IOException e) {
+            throw new TimetableExportException(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package ch.zhaw.pm2.napp.school.timetable.strategy;
+
+import ch.zhaw.pm2.napp.school.timetable.LessonDemand;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+
+import java.util.List;
+
+/**
+ * Places the subjects in the order in which the school classes and their subjects were loaded from the csv files.
+ */
+public class FirstFitSchedulingStrategy implements SchedulingStrategy {
+    public static final String NAME = "first-fit";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<LessonDemand> orderLessonDemands(List<LessonDemand> lessonDemands, TimetableGenerator timetableGenerator) {
+        return lessonDemands;
+    }
+}
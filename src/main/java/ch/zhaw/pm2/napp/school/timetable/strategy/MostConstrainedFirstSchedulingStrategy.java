@@ -0,0 +1,46 @@
+package ch.zhaw.pm2.napp.school.timetable.strategy;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.timetable.LessonDemand;
+import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places the most constrained subjects first, similar to the DSatur heuristic for graph colouring.
+ * <p>
+ * A subject is more constrained the fewer teachers can teach it, the more consecutive lessons it needs
+ * and the fewer rooms are large enough for its school class. Placing those subjects while the timetables are still empty
+ * avoids that they are blocked by subjects that would have fitted anywhere.
+ * Equally constrained subjects keep the order of the csv files.
+ */
+public class MostConstrainedFirstSchedulingStrategy implements SchedulingStrategy {
+    public static final String NAME = "most-constrained-first";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public List<LessonDemand> orderLessonDemands(List<LessonDemand> lessonDemands, TimetableGenerator timetableGenerator) {
+        Map<Subject, Integer> qualifiedTeachers = new HashMap<>();
+        Map<SchoolClass, Integer> suitableRooms = new HashMap<>();
+        for (LessonDemand lessonDemand : lessonDemands) {
+            qualifiedTeachers.computeIfAbsent(lessonDemand.subject(), timetableGenerator::countQualifiedTeachers);
+            suitableRooms.computeIfAbsent(lessonDemand.schoolClass(), timetableGenerator::countSuitableRooms);
+        }
+
+        List<LessonDemand> orderedLessonDemands = new ArrayList<>(lessonDemands);
+        orderedLessonDemands.sort(Comparator
+                .comparingInt((LessonDemand lessonDemand) -> qualifiedTeachers.get(lessonDemand.subject()))
+                .thenComparing(lessonDemand -> lessonDemand.subject().weeklyLessons(), Comparator.reverseOrder())
+                .thenComparingInt(lessonDemand -> suitableRooms.get(lessonDemand.schoolClass())));
+        return orderedLessonDemands;
+    }
+}
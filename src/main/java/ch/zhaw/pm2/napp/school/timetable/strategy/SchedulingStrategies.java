@@ -0,0 +1,43 @@
+package ch.zhaw.pm2.napp.school.timetable.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * SchedulingStrategies
+ * A static utility class to look up the {@link SchedulingStrategy} implementations registered with the {@link ServiceLoader}.
+ */
+public class SchedulingStrategies {
+    private SchedulingStrategies() {
+    }
+
+    /**
+     * Returns the registered scheduling strategy with the given name.
+     *
+     * @param name the name of the strategy, e.g. {@value FirstFitSchedulingStrategy#NAME}
+     * @return a new instance of the strategy
+     * @throws IllegalArgumentException if no strategy with this name is registered
+     */
+    public static SchedulingStrategy getSchedulingStrategy(String name) {
+        for (SchedulingStrategy schedulingStrategy : ServiceLoader.load(SchedulingStrategy.class)) {
+            if (schedulingStrategy.getName().equals(name)) {
+                return schedulingStrategy;
+            }
+        }
+        throw new IllegalArgumentException("No scheduling strategy with the name \"" + name + "\" found");
+    }
+
+    /**
+     * Returns the names of all registered scheduling strategies.
+     *
+     * @return the names of the strategies
+     */
+    public static List<String> getSchedulingStrategyNames() {
+        List<String> names = new ArrayList<>();
+        for (SchedulingStrategy schedulingStrategy : ServiceLoader.load(SchedulingStrategy.class)) {
+            names.add(schedulingStrategy.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,48 @@
+package ch.zhaw.pm2.napp.school.timetable.strategy;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.timetable.LessonDemand;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+
+import java.util.List;
+
+/**
+ * A scheduling strategy decides in which order the subjects of the school classes are placed into the timetables.
+ * <p>
+ * Implementations are discovered with the {@link java.util.ServiceLoader} and can be selected by their name,
+ * see {@link SchedulingStrategies}. To add a strategy, implement this interface with a public no-argument constructor
+ * and register the class in {@code META-INF/services/ch.zhaw.pm2.napp.school.timetable.strategy.SchedulingStrategy}.
+ */
+public interface SchedulingStrategy {
+
+    /**
+     * Returns the unique name under which the strategy can be selected.
+     *
+     * @return the name of the strategy
+     */
+    String getName();
+
+    /**
+     * Sorts the lesson demands in the order in which they should be placed.
+     *
+     * @param lessonDemands      all lesson demands, in the order of the school classes and their module schedules
+     * @param timetableGenerator the generator that will place the lesson demands
+     * @return the lesson demands in placement order
+     */
+    List<LessonDemand> orderLessonDemands(List<LessonDemand> lessonDemands, TimetableGenerator timetableGenerator);
+
+    /**
+     * Generates the timetables of all school classes by placing each lesson demand, in the order of the strategy,
+     * in the first place where it fits.
+     *
+     * @param schoolClasses      the school classes for which the timetables are to be created
+     * @param timetableGenerator the generator placing the lesson demands
+     * @throws TimetableException if no teacher, room or free time slot was found for a subject.
+     */
+    default void generateTimetables(List<SchoolClass> schoolClasses, TimetableGenerator timetableGenerator) throws TimetableException {
+        for (LessonDemand lessonDemand : orderLessonDemands(TimetableGenerator.createLessonDemands(schoolClasses), timetableGenerator)) {
+            timetableGenerator.placeLessonDemand(lessonDemand);
+        }
+    }
+}
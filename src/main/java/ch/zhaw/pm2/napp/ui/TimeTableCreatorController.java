@@ -28,6 +28,7 @@ import javafx.stage.Stage;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.logging.Logger;
 
 import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
@@ -68,6 +69,8 @@ public class TimeTableCreatorController {
     private List<Person> schoolAttendees;
 
     private List<SchoolClass> schoolClasses;
+
+    private long generationSeed;
     private List<Building> buildings;
 
     /**
@@ -115,9 +118,18 @@ public class TimeTableCreatorController {
         timetableViewController.initialize(schoolAttendees, schoolClasses);
     }
 
+    /**
+     * Generates the timetables with a new random seed that is written into the export, so every run from the UI can be repeated.
+     * Seeding makes every run reproducible, see {@link School#setSeed(long)}: the portfolio waits for all of its configurations
+     * and the optimization stops after a number of iterations instead of its time budget.
+     *
+     * @throws TimetableException if no timetables were found
+     */
     private void generateTimeTables() throws TimetableException {
         final List<Teacher> allTeachers = getAllTeachers(schoolAttendees);
         School school = new School(allTeachers, buildings, schoolClasses);
+        generationSeed = new Random().nextLong();
+        school.setSeed(generationSeed);
         school.generateTimetableForAllSchoolClasses();
     }
 
@@ -140,7 +152,7 @@ public class TimeTableCreatorController {
                 allEntities.addAll(schoolClasses);
                 allEntities.addAll(schoolAttendees);
                 final TimeTableExporter timeTableExporter = new TimeTableExporter();
-                timeTableExporter.exportTimeTables(allEntities);
+                timeTableExporter.exportTimeTables(allEntities, generationSeed);
                 showAlertDialog("Success!", "Timetable exported successfully");
             }
         } catch (TimetableConversionException | TimetableExportException e) {
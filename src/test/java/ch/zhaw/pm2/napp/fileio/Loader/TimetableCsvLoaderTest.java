@@ -0,0 +1,169 @@
+package ch.zhaw.pm2.napp.fileio.Loader;
+
+import ch.zhaw.pm2.napp.fileio.loader.TimetableCsvLoader;
+import ch.zhaw.pm2.napp.fileio.loader.exception.BadCsvFormatException;
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.SubjectPlacement;
+import ch.zhaw.pm2.napp.school.timetable.TimeTableConverterUtil;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableConversionException;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.SchoolUtil.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contains Unit Tests to check that a timetable exported by the TimeTableConverterUtil can be loaded and pinned again
+ */
+class TimetableCsvLoaderTest {
+    private static final long SEED = 42;
+    private static final int FIRST_LIST_INDEX = 0;
+
+    private File exportedTimetable;
+
+    /**
+     * Generates the timetable of the first school class and exports it with a seed line, like the TimeTableExporter does.
+     *
+     * @throws TimetableException           - if this Exception is thrown, check functionality of the TimetableGenerator
+     * @throws TimetableConversionException - if this Exception is thrown, check functionality of the TimeTableConverterUtil
+     * @throws IOException                  - if the temporary file cannot be written
+     */
+    @BeforeEach
+    void setUp() throws TimetableException, TimetableConversionException, IOException {
+        SchoolClass schoolClass = createAllSchoolClasses().get(FIRST_LIST_INDEX);
+        new TimetableGenerator(createAllTeachers(), createAllBuildings()).generateTimeTableForClass(schoolClass);
+        exportedTimetable = Files.createTempFile("1A", ".csv").toFile();
+        Files.write(exportedTimetable.toPath(), List.of(TimeTableConverterUtil.convertTimetablesToCsvString(schoolClass.getTimetable(), SEED)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(exportedTimetable.toPath());
+    }
+
+    /**
+     * Loads the exported timetable into a new school with the same resources. All lessons are found again and can be pinned,
+     * so the generation has nothing left to place.
+     */
+    @Test
+    void positiveTestUnchangedSchoolIsPinnedCompletely() throws BadCsvFormatException, TimetableException {
+        List<Teacher> allTeachers = createAllTeachers();
+        List<Building> schoolBuildings = createAllBuildings();
+        SchoolClass schoolClass = createAllSchoolClasses().get(FIRST_LIST_INDEX);
+        TimetableCsvLoader timetableCsvLoader = new TimetableCsvLoader(exportedTimetable, schoolClass, allTeachers, schoolBuildings);
+
+        assertEquals(SEED, timetableCsvLoader.getSeed().orElseThrow());
+        assertTrue(timetableCsvLoader.getSkippedLessons().isEmpty());
+        assertEquals(3, timetableCsvLoader.getSubjectPlacements().size());
+
+        TimetableGenerator timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+        List<SubjectPlacement> pinnedPlacements = timetableGenerator.pinPlacements(timetableCsvLoader.getSubjectPlacements());
+        assertEquals(3, pinnedPlacements.size());
+        assertTrue(TimetableGenerator.createLessonDemands(List.of(schoolClass)).isEmpty());
+
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+        assertEquals(7, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+    }
+
+    /**
+     * Sport now needs two lessons per week. Its exported lesson is no longer valid and is generated anew, the other subjects stay pinned.
+     */
+    @Test
+    void positiveTestChangedSubjectIsGeneratedAnew() throws BadCsvFormatException, TimetableException {
+        List<Subject> subjects = new ArrayList<>(createSubjectList());
+        subjects.set(2, new Subject("Sport", 2));
+        List<Teacher> allTeachers = new ArrayList<>();
+        for (Teacher teacher : createAllTeachers()) {
+            allTeachers.add(new Teacher(teacher.getMatriculationNumber(), teacher.getLastName(), teacher.getFirstName(), teacher.getSchoolVisitorRole(),
+                    teacher.getWorkload(), teacher.getAvailableWeekDays(), subjects));
+        }
+        List<Building> schoolBuildings = createAllBuildings();
+        SchoolClass schoolClass = new SchoolClass("1A", subjects);
+        schoolClass.addStudent(createAllStudents().get(FIRST_LIST_INDEX));
+        TimetableCsvLoader timetableCsvLoader = new TimetableCsvLoader(exportedTimetable, schoolClass, allTeachers, schoolBuildings);
+
+        TimetableGenerator timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+        List<SubjectPlacement> pinnedPlacements = timetableGenerator.pinPlacements(timetableCsvLoader.getSubjectPlacements());
+        assertEquals(2, pinnedPlacements.size());
+        assertEquals(6, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+        assertEquals(8, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(6, schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY).stream()
+                .filter(lesson -> !lesson.subject().name().equals("Sport")).count());
+    }
+
+    /**
+     * The teacher of the exported lessons has left the school, so every lesson is skipped and nothing is pinned.
+     */
+    @Test
+    void negativeTestUnknownTeacherIsSkipped() throws BadCsvFormatException {
+        List<Teacher> remainingTeachers = new ArrayList<>(createAllTeachers());
+        remainingTeachers.remove(FIRST_LIST_INDEX);
+        TimetableCsvLoader timetableCsvLoader = new TimetableCsvLoader(exportedTimetable, createAllSchoolClasses().get(FIRST_LIST_INDEX),
+                remainingTeachers, createAllBuildings());
+
+        assertEquals(7, timetableCsvLoader.getSkippedLessons().size());
+        assertTrue(timetableCsvLoader.getSubjectPlacements().isEmpty());
+    }
+
+    /**
+     * A new teacher has the same name as the teacher of the exported lessons. The lessons are still found by the matriculation number.
+     */
+    @Test
+    void positiveTestTeacherWithSameNameIsFoundByMatriculationNumber() throws BadCsvFormatException {
+        List<Teacher> allTeachers = new ArrayList<>(createAllTeachers());
+        Teacher exportedTeacher = allTeachers.get(FIRST_LIST_INDEX);
+        allTeachers.add(FIRST_LIST_INDEX, new Teacher("999", exportedTeacher.getLastName(), exportedTeacher.getFirstName(),
+                exportedTeacher.getSchoolVisitorRole(), exportedTeacher.getWorkload(), exportedTeacher.getAvailableWeekDays(), createSubjectList()));
+        TimetableCsvLoader timetableCsvLoader = new TimetableCsvLoader(exportedTimetable, createAllSchoolClasses().get(FIRST_LIST_INDEX),
+                allTeachers, createAllBuildings());
+
+        assertTrue(timetableCsvLoader.getSkippedLessons().isEmpty());
+        timetableCsvLoader.getSubjectPlacements().forEach(subjectPlacement ->
+                subjectPlacement.lessons().forEach(lesson -> assertSame(exportedTeacher, lesson.teacher())));
+    }
+
+    /**
+     * A file exported without matriculation numbers names a teacher whose name two teachers share, so the lesson cannot be resolved and is skipped.
+     */
+    @Test
+    void negativeTestAmbiguousTeacherNameIsSkipped() throws IOException, BadCsvFormatException {
+        Files.write(exportedTimetable.toPath(), List.of("MONDAY;[08:00-08:45 Math 102 Herbert Apple];"));
+        List<Teacher> allTeachers = new ArrayList<>(createAllTeachers());
+        Teacher exportedTeacher = allTeachers.get(FIRST_LIST_INDEX);
+        allTeachers.add(new Teacher("999", exportedTeacher.getLastName(), exportedTeacher.getFirstName(),
+                exportedTeacher.getSchoolVisitorRole(), exportedTeacher.getWorkload(), exportedTeacher.getAvailableWeekDays(), createSubjectList()));
+        TimetableCsvLoader timetableCsvLoader = new TimetableCsvLoader(exportedTimetable, createAllSchoolClasses().get(FIRST_LIST_INDEX),
+                allTeachers, createAllBuildings());
+
+        assertEquals(1, timetableCsvLoader.getSkippedLessons().size());
+        assertTrue(timetableCsvLoader.getSubjectPlacements().isEmpty());
+    }
+
+    /**
+     * A line with an unknown day is not an exported timetable.
+     */
+    @Test
+    void destructiveTestUnknownDay() throws IOException {
+        Files.write(exportedTimetable.toPath(), List.of("FUNDAY;[08:00-08:45 Math 102 Herbert Apple];"));
+        assertThrows(BadCsvFormatException.class, () -> new TimetableCsvLoader(exportedTimetable, createAllSchoolClasses().get(FIRST_LIST_INDEX),
+                createAllTeachers(), createAllBuildings()));
+    }
+}
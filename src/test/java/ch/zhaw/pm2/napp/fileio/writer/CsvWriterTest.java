@@ -32,7 +32,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class CsvWriterTest {
 
     public static final String FILE_NAME = "xy";
-    public static final String EXPECTED_CSV_CONTENT = "MONDAY;[08:00-08:45 Math 102 Herbert Apple];[08:50-09:35 Math 102 Herbert Apple];[10:00-10:45 German 102 Herbert Apple];[10:50-11:35 German 102 Herbert Apple];[12:00-12:45 German 102 Herbert Apple];[12:50-13:35 German 102 Herbert Apple];[14:00-14:45 Sport 102 Herbert Apple];";
+    public static final String EXPECTED_CSV_CONTENT = "MONDAY;[08:00-08:45 Math 102 Herbert Apple (901)];[08:50-09:35 Math 102 Herbert Apple (901)];[10:00-10:45 German 102 Herbert Apple (901)];[10:50-11:35 German 102 Herbert Apple (901)];[12:00-12:45 German 102 Herbert Apple (901)];[12:50-13:35 German 102 Herbert Apple (901)];[14:00-14:45 Sport 102 Herbert Apple (901)];";
     private final CsvWriter csvWriter = new CsvWriter();
     private static final String DIRECTORY_NAME = "TimeTableCreator";
     private static final String PATH = System.getProperty("user.home") + FileSystems.getDefault().getSeparator() + DIRECTORY_NAME;
@@ -0,0 +1,132 @@
+package ch.zhaw.pm2.napp.school.building;
+
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.Lesson;
+import ch.zhaw.pm2.napp.school.timetable.Subject;
+import ch.zhaw.pm2.napp.school.timetable.TimeSlot;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+import ch.zhaw.pm2.napp.school.timetable.TimetableTemplate;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.building.RoomDistances.BUILDING_CHANGE_DISTANCE;
+import static ch.zhaw.pm2.napp.school.building.RoomDistances.FLOOR_CHANGE_DISTANCE;
+import static ch.zhaw.pm2.napp.school.building.RoomDistances.SAME_FLOOR_DISTANCE;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit Tests for the {@link RoomDistances} to make sure the distances follow the buildings and floors and are used for the room choice.
+ */
+public class RoomDistancesTest {
+    private Room southFirstFloor;
+    private Room southSecondFloor;
+    private Room southLargeRoom;
+    private Room northFirstFloor;
+    private Building south;
+    private Building north;
+
+    /**
+     * Creates a building with two floors and a second building with one floor
+     */
+    @BeforeEach
+    public void setUp() {
+        southFirstFloor = new Room("S11", 5);
+        southSecondFloor = new Room("S21", 5);
+        southLargeRoom = new Room("S12", 8);
+        northFirstFloor = new Room("N11", 6);
+        south = new Building("South");
+        south.addRoomToFloor(southFirstFloor, "1");
+        south.addRoomToFloor(southSecondFloor, "2");
+        south.addRoomToFloor(southLargeRoom, "1");
+        north = new Building("North");
+        north.addRoomToFloor(northFirstFloor, "1");
+    }
+
+    /**
+     * Tests whether the rooms know their floor and building
+     */
+    @Test
+    public void testRoomsKnowTheirLocation() {
+        assertSame(south, southSecondFloor.getBuilding());
+        assertEquals("2", southSecondFloor.getFloor().getFloorIdentifier());
+        assertSame(north, northFirstFloor.getFloor().getBuilding());
+    }
+
+    /**
+     * Tests whether the distances are derived from the buildings and floors
+     */
+    @Test
+    public void testDistancesFollowBuildingsAndFloors() {
+        RoomDistances roomDistances = new RoomDistances(List.of(south, north));
+
+        assertEquals(0, roomDistances.getDistance(southFirstFloor, southFirstFloor));
+        assertEquals(SAME_FLOOR_DISTANCE, roomDistances.getDistance(southFirstFloor, southLargeRoom));
+        assertEquals(SAME_FLOOR_DISTANCE + FLOOR_CHANGE_DISTANCE, roomDistances.getDistance(southFirstFloor, southSecondFloor));
+        assertEquals(BUILDING_CHANGE_DISTANCE + 3 * FLOOR_CHANGE_DISTANCE, roomDistances.getDistance(southSecondFloor, northFirstFloor));
+        assertEquals(roomDistances.getDistance(northFirstFloor, southSecondFloor), roomDistances.getDistance(southSecondFloor, northFirstFloor));
+    }
+
+    /**
+     * Tests whether an overridden distance is used in both directions and a negative distance is rejected
+     */
+    @Test
+    public void testOverrideDistance() {
+        RoomDistances roomDistances = new RoomDistances(List.of(south, north));
+
+        roomDistances.setDistance(southFirstFloor, northFirstFloor, 2);
+
+        assertEquals(2, roomDistances.getDistance(southFirstFloor, northFirstFloor));
+        assertEquals(2, roomDistances.getDistance(northFirstFloor, southFirstFloor));
+        assertThrows(IllegalArgumentException.class, () -> roomDistances.setDistance(southFirstFloor, northFirstFloor, -1));
+        assertThrows(IllegalArgumentException.class, () -> roomDistances.setDistance(southFirstFloor, new Room("X", 1), 1));
+    }
+
+    /**
+     * Tests whether a second matrix over the same buildings keeps the overridden distance of the first one
+     */
+    @Test
+    public void testSecondMatrixKeepsOverride() {
+        RoomDistances roomDistances = new RoomDistances(List.of(south, north));
+        roomDistances.setDistance(southFirstFloor, northFirstFloor, 2);
+
+        RoomDistances otherRoomDistances = new RoomDistances(List.of(south, north));
+
+        assertEquals(2, roomDistances.getDistance(southFirstFloor, northFirstFloor));
+        assertEquals(BUILDING_CHANGE_DISTANCE + 2 * FLOOR_CHANGE_DISTANCE, otherRoomDistances.getDistance(southFirstFloor, northFirstFloor));
+    }
+
+    /**
+     * Tests whether the generator prefers a room close to the lesson before over a smaller room in another building
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testGeneratorPrefersNearbyRoom() throws TimetableException {
+        Subject math = new Subject("Math", 2);
+        Subject english = new Subject("English", 2);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math, english));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(teacher), List.of(south, north));
+        List<TimeSlot> mondayTimeSlots = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY);
+        southFirstFloor.setRoomAvailability(DayOfWeek.MONDAY, mondayTimeSlots.get(2));
+        southFirstFloor.setRoomAvailability(DayOfWeek.MONDAY, mondayTimeSlots.get(3));
+        southSecondFloor.setClosed(true);
+        SchoolClass schoolClass = new SchoolClass("1A", List.of(math, english));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english)));
+
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+
+        List<Lesson> mondayLessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY);
+        assertSame(southFirstFloor, mondayLessons.get(0).room());
+        assertSame(southLargeRoom, mondayLessons.get(2).room());
+    }
+}
@@ -0,0 +1,62 @@
+package ch.zhaw.pm2.napp.school.building;
+
+import ch.zhaw.pm2.napp.school.timetable.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.School.SCHOOL_OPENING_HOURS;
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllBuildings;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit Tests for the {@link RoomIndex} to make sure the rooms are sorted by capacity and the best fitting free room is found.
+ */
+public class RoomIndexTest {
+    private static final long FIRST_TIME_SLOT_MASK = 1L;
+    private static final int CLASS_SIZE_3 = 3;
+    private static final int CLASS_SIZE_20 = 20;
+
+    private RoomIndex roomIndex;
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Creates an index of the predefined buildings and a default day (monday)
+     */
+    @BeforeEach
+    public void setUp() {
+        roomIndex = new RoomIndex(createAllBuildings());
+        dayOfWeek = DayOfWeek.MONDAY;
+    }
+
+    /**
+     * Tests whether the rooms are sorted by capacity and counted correctly
+     */
+    @Test
+    public void testRoomsAreSortedByCapacity() {
+        List<Room> roomsByCapacity = roomIndex.getRoomsByCapacity();
+        for (int i = 1; i < roomsByCapacity.size(); i++) {
+            assertTrue(roomsByCapacity.get(i - 1).getCapacity() <= roomsByCapacity.get(i).getCapacity());
+        }
+        assertEquals(3, roomIndex.countRoomsWithCapacity(CLASS_SIZE_3));
+        assertEquals(0, roomIndex.countRoomsWithCapacity(CLASS_SIZE_20));
+    }
+
+    /**
+     * Tests whether the smallest room with enough space is taken and an occupied room is skipped
+     */
+    @Test
+    public void testSmallestFreeRoomIsFound() {
+        Room smallestRoom = roomIndex.findSmallestFreeRoom(dayOfWeek, FIRST_TIME_SLOT_MASK, CLASS_SIZE_3, room -> true);
+        assertEquals("102", smallestRoom.getRoomIdentifier());
+
+        smallestRoom.setRoomAvailability(dayOfWeek, new TimeSlot(SCHOOL_OPENING_HOURS));
+        assertEquals("201", roomIndex.findSmallestFreeRoom(dayOfWeek, FIRST_TIME_SLOT_MASK, CLASS_SIZE_3, room -> true).getRoomIdentifier());
+        assertEquals(2, roomIndex.findFreeRooms(dayOfWeek, FIRST_TIME_SLOT_MASK, CLASS_SIZE_3, room -> true).size());
+        assertNull(roomIndex.findSmallestFreeRoom(dayOfWeek, FIRST_TIME_SLOT_MASK, CLASS_SIZE_20, room -> true));
+    }
+}
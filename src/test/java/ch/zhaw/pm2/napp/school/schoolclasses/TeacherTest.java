@@ -11,6 +11,7 @@ import java.time.DayOfWeek;
 
 import static ch.zhaw.pm2.napp.school.School.*;
 import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllTeachers;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -53,4 +54,31 @@ public class TeacherTest {
         //check next TimeSlot
         assertTrue(teacher.isFreeToTeach(dayOfWeek, new TimeSlot(SCHOOL_OPENING_HOURS.plusMinutes(SHORT_BREAK).plusMinutes(LESSON_LENGTH)), subject));
     }
-}
+
+    /**
+     * Tests if the check of a whole block of lessons also rejects a subject the teacher is not qualified for
+     */
+    @Test
+    public void teacherIsNotFreeToTeachBlockOfUnqualifiedSubject() {
+        long firstTimeSlotMask = 1L;
+        assertTrue(teacher.isFreeToTeach(dayOfWeek, firstTimeSlotMask, subject));
+        assertFalse(teacher.isFreeToTeach(dayOfWeek, firstTimeSlotMask, new Subject("Unknown", 1)));
+    }
+
+    /**
+     * Tests if the lesson counter of the timetable follows added and removed lessons, so that the workload check stays correct
+     */
+    @Test
+    public void teacherWorkloadFollowsAddedAndRemovedLessons() {
+        Lesson lesson = new Lesson(subject, teacher, new TimeSlot(SCHOOL_OPENING_HOURS), null);
+        int possibleLessons = teacher.getTimetable().getAmountOfPossibleLessonsPerWeek();
+        assertTrue(teacher.hasCapacityFor(0));
+        assertFalse(teacher.hasCapacityFor(possibleLessons + 1));
+
+        teacher.getTimetable().addToTimetable(DayOfWeek.FRIDAY, lesson);
+        assertEquals(1, teacher.getTimetable().getAmountOfSetLessonsPerWeek());
+
+        teacher.getTimetable().removeFromTimetable(DayOfWeek.FRIDAY, lesson);
+        assertEquals(0, teacher.getTimetable().getAmountOfSetLessonsPerWeek());
+    }
+}
\ No newline at end of file
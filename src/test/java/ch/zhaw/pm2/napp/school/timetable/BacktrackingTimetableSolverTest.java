@@ -0,0 +1,113 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link BacktrackingTimetableSolver} with a tight dataset on which the first-fit algorithm of the
+ * {@link TimetableGenerator} fails, although a timetable exists.
+ * The first teacher can teach both subjects, but only has the capacity for one lesson. The second teacher can only teach math.
+ */
+public class BacktrackingTimetableSolverTest {
+    private static final double WORKLOAD_FOR_ONE_LESSON = 0.015;
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(5);
+
+    private Subject math;
+    private Subject english;
+    private Teacher versatileTeacher;
+    private Teacher mathTeacher;
+    private SchoolClass schoolClass;
+    private TimetableGenerator timetableGenerator;
+
+    /**
+     * Creates the tight dataset with one school class, two teachers and one room
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 1);
+        english = new Subject("English", 1);
+        List<DayOfWeek> monday = List.of(DayOfWeek.MONDAY);
+        versatileTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), WORKLOAD_FOR_ONE_LESSON, monday, List.of(math, english));
+        mathTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), WORKLOAD_FOR_ONE_LESSON, monday, List.of(math));
+
+        schoolClass = new SchoolClass("1A", List.of(math, english));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english)));
+
+        Building building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10), "1");
+        List<Teacher> allTeachers = new ArrayList<>(List.of(versatileTeacher, mathTeacher));
+        timetableGenerator = new TimetableGenerator(allTeachers, List.of(building));
+    }
+
+    /**
+     * Tests whether the first-fit algorithm fails on the tight dataset
+     */
+    @Test
+    public void testGreedyGenerationFails() {
+        assertThrows(TimetableException.class, () -> timetableGenerator.generateTimeTableForClass(schoolClass));
+    }
+
+    /**
+     * Tests whether the solver revisits the first decision and finds the timetable
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testBacktrackingFindsTimetable() throws TimetableException {
+        new BacktrackingTimetableSolver(timetableGenerator, TIME_BUDGET).generateTimetables(List.of(schoolClass));
+
+        List<Lesson> lessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY);
+        assertEquals(2, lessons.size());
+        for (Lesson lesson : lessons) {
+            if (lesson.subject().equals(math)) {
+                assertEquals(mathTeacher, lesson.teacher());
+            } else {
+                assertEquals(versatileTeacher, lesson.teacher());
+            }
+        }
+        assertNotEquals(lessons.get(0).timeSlot(), lessons.get(1).timeSlot());
+    }
+
+    /**
+     * Tests whether the solver removes all of its placements again when no timetable exists
+     */
+    @Test
+    public void testNoTimetableLeavesResourcesUntouched() {
+        Subject physics = new Subject("Physics", 1);
+        SchoolClass impossibleSchoolClass = new SchoolClass("2B", List.of(math, physics));
+        impossibleSchoolClass.addStudent(new Person("2", "Bet", "Friz", List.of(STUDENT), List.of(math, physics)));
+
+        BacktrackingTimetableSolver solver = new BacktrackingTimetableSolver(timetableGenerator, TIME_BUDGET);
+        assertThrows(TimetableException.class, () -> solver.generateTimetables(List.of(impossibleSchoolClass)));
+        assertTrue(impossibleSchoolClass.getTimetable().getTimetable().isEmpty());
+        assertTrue(versatileTeacher.getTimetable().getTimetable().isEmpty());
+        assertTrue(mathTeacher.getTimetable().getTimetable().isEmpty());
+    }
+
+    /**
+     * Tests whether a time budget below one second is reported with millisecond precision
+     */
+    @Test
+    public void testTimeBudgetBelowOneSecondIsReported() {
+        TimetableException timetableException = BacktrackingTimetableSolver.createTimeBudgetExceededException(Duration.ofMillis(250));
+        assertEquals("No timetable found within 0.250 seconds. Increase the time budget or check the resources.", timetableException.getMessage());
+    }
+}
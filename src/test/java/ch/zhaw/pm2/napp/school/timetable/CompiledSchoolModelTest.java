@@ -0,0 +1,140 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests whether the {@link CompiledSchoolModel} assigns dense ids and stores the relationships of the school correctly.
+ */
+public class CompiledSchoolModelTest {
+    private Subject math;
+    private Subject german;
+    private Subject sport;
+    private Teacher mathTeacher;
+    private Teacher languageTeacher;
+    private Room smallRoom;
+    private Room largeRoom;
+    private Person sharedStudent;
+    private SchoolClass firstSchoolClass;
+    private SchoolClass secondSchoolClass;
+
+    /**
+     * Creates two teachers, two rooms and two school classes sharing a student
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 2);
+        german = new Subject("German", 4);
+        sport = new Subject("Sport", 1);
+        mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 0.5, List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), List.of(math, sport));
+        languageTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), 1.0, List.of(DayOfWeek.FRIDAY), List.of(german, sport));
+        smallRoom = new Room("101", 10);
+        largeRoom = new Room("201", 30);
+        sharedStudent = new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math));
+        firstSchoolClass = new SchoolClass("1A", List.of(math, german));
+        firstSchoolClass.addStudent(sharedStudent);
+        firstSchoolClass.addStudent(new Person("2", "Bet", "Friz", List.of(STUDENT), List.of(math)));
+        secondSchoolClass = new SchoolClass("2B", List.of(sport, math));
+        secondSchoolClass.addStudent(sharedStudent);
+    }
+
+    /**
+     * Tests whether the qualified teachers, the days at school and the workload are compiled per teacher
+     */
+    @Test
+    public void testTeachersAreCompiled() {
+        CompiledSchoolModel compiledSchoolModel = compile();
+        int mathTeacherId = compiledSchoolModel.getTeacherId(mathTeacher);
+        int sportId = compiledSchoolModel.getSubjectId(sport);
+
+        assertEquals(List.of(mathTeacher, languageTeacher), compiledSchoolModel.getQualifiedTeachers(sport));
+        assertEquals(List.of(languageTeacher), compiledSchoolModel.getQualifiedTeachers(german));
+        assertTrue(compiledSchoolModel.canTeach(mathTeacherId, sportId));
+        assertFalse(compiledSchoolModel.canTeach(mathTeacherId, compiledSchoolModel.getSubjectId(german)));
+        assertTrue(compiledSchoolModel.isAvailableOn(mathTeacherId, DayOfWeek.TUESDAY));
+        assertFalse(compiledSchoolModel.isAvailableOn(mathTeacherId, DayOfWeek.FRIDAY));
+
+        int possibleLessons = mathTeacher.getTimetable().getAmountOfPossibleLessonsPerWeek();
+        assertEquals(mathTeacher.hasCapacityFor(possibleLessons / 2), compiledSchoolModel.hasCapacityFor(mathTeacherId, possibleLessons / 2));
+        assertEquals(mathTeacher.hasCapacityFor(possibleLessons / 2 + 1), compiledSchoolModel.hasCapacityFor(mathTeacherId, possibleLessons / 2 + 1));
+    }
+
+    /**
+     * Tests whether the subjects and students of the school classes are stored in compressed rows with shared student ids
+     */
+    @Test
+    public void testSchoolClassesAreCompiled() {
+        CompiledSchoolModel compiledSchoolModel = compile();
+        int firstSchoolClassId = compiledSchoolModel.getSchoolClassId(firstSchoolClass);
+        int secondSchoolClassId = compiledSchoolModel.getSchoolClassId(secondSchoolClass);
+
+        assertEquals(List.of(compiledSchoolModel.getSubjectId(sport), compiledSchoolModel.getSubjectId(math)),
+                Arrays.stream(compiledSchoolModel.getSubjectIds(secondSchoolClassId)).boxed().toList());
+        assertEquals(2, compiledSchoolModel.getSchoolClassSize(firstSchoolClassId));
+        assertEquals(2, compiledSchoolModel.getStudentCount());
+        assertEquals(compiledSchoolModel.getStudentIds(firstSchoolClassId)[0], compiledSchoolModel.getStudentIds(secondSchoolClassId)[0]);
+        assertEquals(30, compiledSchoolModel.getRoomCapacity(compiledSchoolModel.getRoomId(largeRoom)));
+        assertEquals(CompiledSchoolModel.UNKNOWN_ID, compiledSchoolModel.getRoomId(new Room("301", 30)));
+    }
+
+    /**
+     * Tests whether the sizes and weekly lessons are read from the compressed rows and from the object graph for unknown school classes
+     */
+    @Test
+    public void testSchoolClassLessonsAreRead() {
+        CompiledSchoolModel compiledSchoolModel = compile();
+        SchoolClass unknownSchoolClass = new SchoolClass("3C", List.of(sport));
+
+        assertEquals(math.weeklyLessons() + german.weeklyLessons(), compiledSchoolModel.getWeeklyLessons(firstSchoolClass));
+        assertEquals(2, compiledSchoolModel.getSchoolClassSize(firstSchoolClass));
+        assertEquals(sport.weeklyLessons(), compiledSchoolModel.getWeeklyLessons(unknownSchoolClass));
+        assertEquals(0, compiledSchoolModel.getSchoolClassSize(unknownSchoolClass));
+    }
+
+    /**
+     * Tests whether a teacher without a timetable can be compiled and has no capacity
+     */
+    @Test
+    public void testTeacherWithoutTimetableHasNoCapacity() {
+        Teacher teacherWithoutTimetable = mock(Teacher.class);
+        CompiledSchoolModel compiledSchoolModel = new CompiledSchoolModel(List.of(mathTeacher, teacherWithoutTimetable), List.of(smallRoom), List.of());
+
+        assertFalse(compiledSchoolModel.hasCapacityFor(compiledSchoolModel.getTeacherId(teacherWithoutTimetable), 1));
+        assertTrue(compiledSchoolModel.hasCapacityFor(compiledSchoolModel.getTeacherId(mathTeacher), 1));
+    }
+
+    /**
+     * Tests whether a dropped day at school is seen after refreshing the model
+     */
+    @Test
+    public void testDroppedDayIsRefreshed() {
+        CompiledSchoolModel compiledSchoolModel = compile();
+        int languageTeacherId = compiledSchoolModel.getTeacherId(languageTeacher);
+
+        languageTeacher.removeAvailableWeekDay(DayOfWeek.FRIDAY);
+        assertTrue(compiledSchoolModel.isAvailableOn(languageTeacherId, DayOfWeek.FRIDAY));
+        compiledSchoolModel.refreshAvailableWeekDays();
+        assertFalse(compiledSchoolModel.isAvailableOn(languageTeacherId, DayOfWeek.FRIDAY));
+    }
+
+    private CompiledSchoolModel compile() {
+        return new CompiledSchoolModel(new ArrayList<>(List.of(mathTeacher, languageTeacher)), List.of(smallRoom, largeRoom),
+                List.of(firstSchoolClass, secondSchoolClass));
+    }
+}
@@ -0,0 +1,181 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.ComponentTimetableSolver.Component;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimeBudgetExceededException;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import ch.zhaw.pm2.napp.school.timetable.strategy.FirstFitSchedulingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link ComponentTimetableSolver} whether independent school classes are found and generated separately.
+ */
+public class ComponentTimetableSolverTest {
+    private static final List<DayOfWeek> WORKDAYS = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    private Subject math;
+    private Subject english;
+    private Building building;
+
+    /**
+     * Creates the subjects and an empty building
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 2);
+        english = new Subject("English", 2);
+        building = new Building("South");
+    }
+
+    /**
+     * Tests whether school classes without common teachers form separate components, each with its own room
+     */
+    @Test
+    public void testSchoolClassesWithoutCommonTeachersAreSeparated() {
+        building.addRoomToFloor(new Room("101", 10), "1");
+        building.addRoomToFloor(new Room("102", 10), "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901", math), createTeacher("902", english)), List.of(building));
+        SchoolClass mathClass = createSchoolClass("1A", 1, math);
+        SchoolClass englishClass = createSchoolClass("1B", 1, english);
+
+        List<Component> components = new ComponentTimetableSolver(timetableGenerator).findComponents(List.of(mathClass, englishClass));
+
+        assertEquals(2, components.size());
+        assertEquals(List.of(mathClass), components.get(0).schoolClasses());
+        assertEquals(List.of(englishClass), components.get(1).schoolClasses());
+        assertEquals(1, components.get(0).rooms().size());
+        assertEquals(1, components.get(1).rooms().size());
+    }
+
+    /**
+     * Tests whether school classes sharing a teacher are in the same component with all rooms
+     */
+    @Test
+    public void testSchoolClassesWithCommonTeacherAreConnected() {
+        building.addRoomToFloor(new Room("101", 10), "1");
+        building.addRoomToFloor(new Room("102", 10), "1");
+        Teacher sharedTeacher = createTeacher("901", math, english);
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(sharedTeacher, createTeacher("902", english)), List.of(building));
+
+        List<Component> components = new ComponentTimetableSolver(timetableGenerator)
+                .findComponents(List.of(createSchoolClass("1A", 1, math), createSchoolClass("1B", 1, english)));
+
+        assertEquals(1, components.size());
+        assertEquals(2, components.get(0).rooms().size());
+    }
+
+    /**
+     * Tests whether the large room goes to the component whose school class does not fit into the small room
+     */
+    @Test
+    public void testLargeRoomGoesToLargeSchoolClass() {
+        Room smallRoom = new Room("101", 2);
+        Room largeRoom = new Room("102", 10);
+        building.addRoomToFloor(smallRoom, "1");
+        building.addRoomToFloor(largeRoom, "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901", math), createTeacher("902", english)), List.of(building));
+
+        List<Component> components = new ComponentTimetableSolver(timetableGenerator)
+                .findComponents(List.of(createSchoolClass("1A", 1, math), createSchoolClass("1B", 5, english)));
+
+        assertEquals(List.of(smallRoom), components.get(0).rooms());
+        assertEquals(List.of(largeRoom), components.get(1).rooms());
+    }
+
+    /**
+     * Tests whether the components are generated with their own rooms
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testComponentsAreGeneratedWithTheirRooms() throws TimetableException {
+        building.addRoomToFloor(new Room("101", 10), "1");
+        building.addRoomToFloor(new Room("102", 10), "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901", math), createTeacher("902", english)), List.of(building));
+        List<SchoolClass> schoolClasses = List.of(createSchoolClass("1A", 1, math), createSchoolClass("1B", 1, english));
+        ComponentTimetableSolver componentTimetableSolver = new ComponentTimetableSolver(timetableGenerator);
+        List<Component> components = componentTimetableSolver.findComponents(schoolClasses);
+
+        componentTimetableSolver.generateTimetables(schoolClasses, new FirstFitSchedulingStrategy()::generateTimetables);
+
+        for (Component component : components) {
+            for (SubjectPlacement subjectPlacement : TimetableGenerator.collectPlacements(component.schoolClasses())) {
+                subjectPlacement.lessons().forEach(lesson -> assertTrue(component.rooms().contains(lesson.room())));
+            }
+            assertEquals(2, component.schoolClasses().get(0).getTimetable().getAmountOfSetLessonsPerWeek());
+        }
+    }
+
+    /**
+     * Tests whether the school classes are generated together if a component has no room left
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testSchoolClassesAreGeneratedTogetherIfComponentFails() throws TimetableException {
+        Room onlyRoom = new Room("101", 10);
+        building.addRoomToFloor(onlyRoom, "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901", math), createTeacher("902", english)), List.of(building));
+        List<SchoolClass> schoolClasses = List.of(createSchoolClass("1A", 1, math), createSchoolClass("1B", 1, english));
+
+        new ComponentTimetableSolver(timetableGenerator).generateTimetables(schoolClasses, new FirstFitSchedulingStrategy()::generateTimetables);
+
+        for (SchoolClass schoolClass : schoolClasses) {
+            assertEquals(2, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        }
+        assertEquals(4, TimetableGenerator.collectPlacements(schoolClasses).stream().mapToInt(subjectPlacement -> subjectPlacement.lessons().size()).sum());
+    }
+
+    /**
+     * Tests whether a component running out of time ends the generation without generating the school classes together
+     */
+    @Test
+    public void testTimedOutComponentSkipsJointGeneration() {
+        building.addRoomToFloor(new Room("101", 10), "1");
+        building.addRoomToFloor(new Room("102", 10), "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901", math), createTeacher("902", english)), List.of(building));
+        SchoolClass mathClass = createSchoolClass("1A", 1, math);
+        List<SchoolClass> schoolClasses = List.of(mathClass, createSchoolClass("1B", 1, english));
+        AtomicInteger generations = new AtomicInteger();
+
+        assertThrows(TimeBudgetExceededException.class, () -> new ComponentTimetableSolver(timetableGenerator).generateTimetables(schoolClasses,
+                (component, componentGenerator) -> {
+                    generations.incrementAndGet();
+                    if (!component.contains(mathClass)) {
+                        throw BacktrackingTimetableSolver.createTimeBudgetExceededException(Duration.ZERO);
+                    }
+                    new FirstFitSchedulingStrategy().generateTimetables(component, componentGenerator);
+                }));
+
+        assertEquals(2, generations.get());
+        assertTrue(TimetableGenerator.collectPlacements(schoolClasses).isEmpty());
+    }
+
+    private Teacher createTeacher(String matriculationNumber, Subject... subjects) {
+        return new Teacher(matriculationNumber, "Apple", "Herbert", List.of(TEACHER), 1, WORKDAYS, List.of(subjects));
+    }
+
+    private SchoolClass createSchoolClass(String id, int students, Subject subject) {
+        SchoolClass schoolClass = new SchoolClass(id, List.of(subject));
+        for (int i = 0; i < students; i++) {
+            schoolClass.addStudent(new Person(id + i, "Muster", "Max", List.of(STUDENT), List.of(subject)));
+        }
+        return schoolClass;
+    }
+}
@@ -0,0 +1,104 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllBuildings;
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllSchoolClasses;
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllTeachers;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link FeasibilityCheck} whether it reports the shortfall of teachers and rooms before the generation.
+ */
+public class FeasibilityCheckTest {
+    private Subject math;
+    private SchoolClass firstSchoolClass;
+    private SchoolClass secondSchoolClass;
+
+    /**
+     * Creates two school classes with two students each, both needing math
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 4);
+        firstSchoolClass = new SchoolClass("1A", List.of(math));
+        firstSchoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math)));
+        firstSchoolClass.addStudent(new Person("2", "Muster", "Mia", List.of(STUDENT), List.of(math)));
+        secondSchoolClass = new SchoolClass("1B", List.of(math));
+        secondSchoolClass.addStudent(new Person("3", "Meier", "Tim", List.of(STUDENT), List.of(math)));
+        secondSchoolClass.addStudent(new Person("4", "Meier", "Tina", List.of(STUDENT), List.of(math)));
+    }
+
+    /**
+     * Tests whether the sample school passes the check
+     */
+    @Test
+    public void testSampleSchoolIsFeasible() {
+        TimetableGenerator timetableGenerator = new TimetableGenerator(createAllTeachers(), createAllBuildings());
+        assertDoesNotThrow(() -> timetableGenerator.checkFeasibility(createAllSchoolClasses()));
+    }
+
+    /**
+     * Tests whether a teacher only at school on one day is reported as too small for a subject filling that day in two school classes
+     */
+    @Test
+    public void testTeacherShortfall() {
+        Building building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10), "1");
+        int mondayTimeSlots = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY).size();
+        Subject longMath = new Subject("Math", mondayTimeSlots);
+        Teacher longMathTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(longMath));
+        SchoolClass schoolClass = new SchoolClass("1C", List.of(longMath));
+        SchoolClass otherSchoolClass = new SchoolClass("1D", List.of(longMath));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(longMathTeacher), List.of(building));
+
+        TimetableException timetableException = assertThrows(TimetableException.class,
+                () -> timetableGenerator.checkFeasibility(List.of(schoolClass, otherSchoolClass)));
+
+        assertTrue(timetableException.getMessage().contains("needs " + 2 * mondayTimeSlots + " lessons per week, but its qualified teachers can teach " + mondayTimeSlots + " at most."));
+    }
+
+    /**
+     * Tests whether the rooms are reported as too small if only one room is large enough for the largest school class
+     */
+    @Test
+    public void testRoomShortfall() {
+        Teacher mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.values()), List.of(math));
+        Building building = new Building("South");
+        building.addRoomToFloor(new Room("101", 3), "1");
+        building.addRoomToFloor(new Room("102", 2), "1");
+        building.addRoomToFloor(new Room("103", 2), "1");
+        Room closedRoom = new Room("104", 10);
+        closedRoom.setClosed(true);
+        building.addRoomToFloor(closedRoom, "1");
+        firstSchoolClass.addStudent(new Person("5", "Muster", "Moritz", List.of(STUDENT), List.of(math)));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(mathTeacher), List.of(building));
+        assertDoesNotThrow(() -> timetableGenerator.checkFeasibility(List.of(firstSchoolClass, secondSchoolClass)));
+
+        int weeklyTimeSlots = TimetableTemplate.getDefaultTemplate().getAmountOfTimeSlotsPerWeek();
+        SchoolClass largeSchoolClass = new SchoolClass("2A", List.of(new Subject("Sport", weeklyTimeSlots)));
+        largeSchoolClass.addStudent(new Person("6", "Meier", "Tom", List.of(STUDENT), List.of()));
+        largeSchoolClass.addStudent(new Person("7", "Meier", "Tara", List.of(STUDENT), List.of()));
+        largeSchoolClass.addStudent(new Person("8", "Meier", "Tobias", List.of(STUDENT), List.of()));
+
+        TimetableException timetableException = assertThrows(TimetableException.class,
+                () -> timetableGenerator.checkFeasibility(List.of(firstSchoolClass, largeSchoolClass)));
+
+        assertTrue(timetableException.getMessage().contains("The school classes with 3 or more people need " + (weeklyTimeSlots + 4)
+                + " lessons per week, but the rooms large enough for them only have " + weeklyTimeSlots + " time slots."));
+    }
+}
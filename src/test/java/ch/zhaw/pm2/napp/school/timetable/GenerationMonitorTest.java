@@ -0,0 +1,135 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.School;
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the {@link GenerationMonitor} whether a {@link GenerationListener} is told about the progress and a run can be cancelled.
+ */
+public class GenerationMonitorTest {
+    private static final int TOTAL_LESSONS = 6;
+
+    private List<SchoolClass> schoolClasses;
+    private School school;
+    private RecordingListener recordingListener;
+
+    /**
+     * Creates a school with two school classes and three lessons each
+     */
+    @BeforeEach
+    public void setUp() {
+        Subject math = new Subject("Math", 2);
+        Subject english = new Subject("English", 1);
+        List<DayOfWeek> workdays = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, workdays, List.of(math, english));
+        schoolClasses = List.of(createSchoolClass("1A", math, english), createSchoolClass("1B", math, english));
+        Building building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10), "1");
+        school = new School(List.of(teacher), List.of(building), schoolClasses);
+        recordingListener = new RecordingListener();
+    }
+
+    /**
+     * Tests whether the placed lessons, the placed school classes and the best timetables are reported
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testProgressIsReported() throws TimetableException {
+        school.generateTimetableForAllSchoolClasses(recordingListener, new CancellationToken());
+
+        assertEquals(TOTAL_LESSONS, recordingListener.placedLessons);
+        assertEquals(TOTAL_LESSONS, recordingListener.totalLessons);
+        assertEquals(schoolClasses, recordingListener.placedSchoolClasses);
+        assertEquals(TOTAL_LESSONS, recordingListener.bestPlacements.stream().mapToInt(subjectPlacement -> subjectPlacement.lessons().size()).sum());
+    }
+
+    /**
+     * Tests whether a cancelled generation stops without placing any lesson
+     */
+    @Test
+    public void testCancelledGenerationStops() {
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+
+        assertThrows(TimetableException.class, () -> school.generateTimetableForAllSchoolClasses(recordingListener, cancellationToken));
+        for (SchoolClass schoolClass : schoolClasses) {
+            assertEquals(0, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        }
+    }
+
+    /**
+     * Tests whether a cancelled optimization keeps the generated timetables instead of failing
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testCancelledOptimizationKeepsBestTimetables() throws TimetableException {
+        CancellationToken cancellationToken = new CancellationToken();
+        school.setOptimizationTimeBudget(Duration.ofMinutes(1));
+        GenerationListener cancellingListener = new RecordingListener() {
+            @Override
+            public void bestSolutionFound(List<SubjectPlacement> bestPlacements, TimetableScore bestScore) {
+                super.bestSolutionFound(bestPlacements, bestScore);
+                cancellationToken.cancel();
+            }
+        };
+
+        school.generateTimetableForAllSchoolClasses(cancellingListener, cancellationToken);
+
+        for (SchoolClass schoolClass : schoolClasses) {
+            assertEquals(TOTAL_LESSONS / 2, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        }
+        assertFalse(TimetableGenerator.collectPlacements(schoolClasses).isEmpty());
+    }
+
+    private SchoolClass createSchoolClass(String id, Subject... subjects) {
+        SchoolClass schoolClass = new SchoolClass(id, List.of(subjects));
+        schoolClass.addStudent(new Person(id + "1", "Muster", "Max", List.of(STUDENT), List.of(subjects)));
+        return schoolClass;
+    }
+
+    /**
+     * Remembers the last reported values. The school classes of the test are generated on one thread, as they share the teacher.
+     */
+    private static class RecordingListener implements GenerationListener {
+        private final List<SchoolClass> placedSchoolClasses = new ArrayList<>();
+        private int placedLessons;
+        private int totalLessons;
+        private List<SubjectPlacement> bestPlacements = List.of();
+
+        @Override
+        public void schoolClassPlaced(SchoolClass schoolClass, int placedSchoolClasses, int totalSchoolClasses) {
+            this.placedSchoolClasses.add(schoolClass);
+        }
+
+        @Override
+        public void lessonsPlaced(int placedLessons, int totalLessons) {
+            this.placedLessons = placedLessons;
+            this.totalLessons = totalLessons;
+        }
+
+        @Override
+        public void bestSolutionFound(List<SubjectPlacement> bestPlacements, TimetableScore bestScore) {
+            this.bestPlacements = bestPlacements;
+        }
+    }
+}
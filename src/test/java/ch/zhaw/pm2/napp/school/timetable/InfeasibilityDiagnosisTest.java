@@ -0,0 +1,103 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.InfeasibilityDiagnosis.Bottleneck;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the diagnosis of the {@link TimetableGenerator} whether it names the resource that prevents a subject from being placed.
+ */
+public class InfeasibilityDiagnosisTest {
+    private Subject math;
+    private SchoolClass schoolClass;
+    private Building building;
+
+    /**
+     * Creates a school class with two students and a building with a room for them
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 2);
+        schoolClass = new SchoolClass("1A", List.of(math));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math)));
+        schoolClass.addStudent(new Person("2", "Muster", "Mia", List.of(STUDENT), List.of(math)));
+        building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10), "1");
+    }
+
+    /**
+     * Tests whether a subject nobody can teach is diagnosed as missing teacher
+     */
+    @Test
+    public void testNoQualifiedTeacher() {
+        Teacher englishTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(new Subject("English", 1)));
+        assertBottleneck(Bottleneck.NO_QUALIFIED_TEACHER, new TimetableGenerator(List.of(englishTeacher), List.of(building)));
+    }
+
+    /**
+     * Tests whether a teacher without workload left is diagnosed as missing workload
+     */
+    @Test
+    public void testNoRemainingWorkload() {
+        Teacher mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 0, List.of(DayOfWeek.MONDAY), List.of(math));
+        assertBottleneck(Bottleneck.NO_REMAINING_WORKLOAD, new TimetableGenerator(List.of(mathTeacher), List.of(building)));
+    }
+
+    /**
+     * Tests whether a school class larger than every room is diagnosed as missing room
+     */
+    @Test
+    public void testNoRoomLargeEnough() {
+        Teacher mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math));
+        Building smallBuilding = new Building("North");
+        smallBuilding.addRoomToFloor(new Room("201", 1), "2");
+        assertBottleneck(Bottleneck.NO_ROOM_LARGE_ENOUGH, new TimetableGenerator(List.of(mathTeacher), List.of(smallBuilding)));
+    }
+
+    /**
+     * Tests whether a teacher who is never at school is diagnosed as not free during the blocks of the school class
+     */
+    @Test
+    public void testNoTeacherFreeDuringBlock() {
+        Teacher mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(), List.of(math));
+        assertBottleneck(Bottleneck.NO_TEACHER_FREE_DURING_BLOCK, new TimetableGenerator(List.of(mathTeacher), List.of(building)));
+    }
+
+    /**
+     * Tests whether the diagnosis is attached to the exception thrown by the generation
+     */
+    @Test
+    public void testDiagnosisIsAttachedToException() {
+        Teacher mathTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 0, List.of(DayOfWeek.MONDAY), List.of(math));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(mathTeacher), List.of(building));
+
+        TimetableException timetableException = assertThrows(TimetableException.class, () -> timetableGenerator.generateTimeTableForClass(schoolClass));
+
+        assertEquals(1, timetableException.getDiagnoses().size());
+        InfeasibilityDiagnosis diagnosis = timetableException.getDiagnoses().get(0);
+        assertEquals("1A", diagnosis.schoolClassId());
+        assertEquals("Math", diagnosis.subjectName());
+        assertEquals(Bottleneck.NO_REMAINING_WORKLOAD, diagnosis.bottleneck());
+        assertTrue(timetableException.getMessage().contains(diagnosis.explanation()));
+    }
+
+    private void assertBottleneck(Bottleneck expectedBottleneck, TimetableGenerator timetableGenerator) {
+        assertEquals(expectedBottleneck, timetableGenerator.diagnose(new LessonDemand(schoolClass, math)).bottleneck());
+    }
+}
@@ -0,0 +1,75 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link OccupancyGrid} whether booked time slots are tracked correctly and free blocks are found.
+ */
+public class OccupancyGridTest {
+    private static final int FIRST_TIME_SLOT = 0;
+    private static final int SECOND_TIME_SLOT = 1;
+    private static final int THIRD_TIME_SLOT = 2;
+
+    private TimetableTemplate timetableTemplate;
+    private OccupancyGrid occupancyGrid;
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Creates an empty occupancy grid based on the default timetable template and a default day (monday)
+     */
+    @BeforeEach
+    public void setUp() {
+        timetableTemplate = TimetableTemplate.getDefaultTemplate();
+        occupancyGrid = new OccupancyGrid(timetableTemplate);
+        dayOfWeek = DayOfWeek.MONDAY;
+    }
+
+    /**
+     * Tests whether a booked time slot is shown as occupied and the other days stay free
+     */
+    @Test
+    public void testOccupiedTimeSlotIsNotFree() {
+        TimeSlot timeSlot = timetableTemplate.getTimeSlot(dayOfWeek, SECOND_TIME_SLOT);
+        assertTrue(occupancyGrid.isFree(dayOfWeek, timeSlot));
+
+        occupancyGrid.occupy(dayOfWeek, timeSlot);
+        assertFalse(occupancyGrid.isFree(dayOfWeek, timeSlot));
+        assertFalse(occupancyGrid.isFree(dayOfWeek, SECOND_TIME_SLOT));
+        assertTrue(occupancyGrid.isFree(DayOfWeek.TUESDAY, timeSlot));
+    }
+
+    /**
+     * Tests whether only blocks of consecutive free time slots are found
+     */
+    @Test
+    public void testFreeBlockStartsSkipOccupiedTimeSlots() {
+        occupancyGrid.occupy(dayOfWeek, timetableTemplate.getTimeSlot(dayOfWeek, SECOND_TIME_SLOT));
+        long blockStarts = occupancyGrid.getFreeBlockStarts(dayOfWeek, 2);
+
+        assertEquals(0, blockStarts & (1L << FIRST_TIME_SLOT));
+        assertEquals(0, blockStarts & (1L << SECOND_TIME_SLOT));
+        assertTrue((blockStarts & (1L << THIRD_TIME_SLOT)) != 0);
+        assertEquals(timetableTemplate.getTimeSlots(dayOfWeek).size() - 3, Long.bitCount(blockStarts));
+    }
+
+    /**
+     * Tests whether a time slot is recognized as part of a free block of the required length
+     */
+    @Test
+    public void testIsInFreeBlock() {
+        List<TimeSlot> timeSlotsPerDay = timetableTemplate.getTimeSlots(dayOfWeek);
+        occupancyGrid.occupy(dayOfWeek, timeSlotsPerDay.get(THIRD_TIME_SLOT));
+
+        assertTrue(occupancyGrid.isInFreeBlock(dayOfWeek, timeSlotsPerDay.get(FIRST_TIME_SLOT), 2));
+        assertFalse(occupancyGrid.isInFreeBlock(dayOfWeek, timeSlotsPerDay.get(SECOND_TIME_SLOT), 3));
+        assertFalse(occupancyGrid.isInFreeBlock(dayOfWeek, timeSlotsPerDay.get(THIRD_TIME_SLOT), 1));
+    }
+}
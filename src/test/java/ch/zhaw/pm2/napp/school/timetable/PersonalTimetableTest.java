@@ -0,0 +1,99 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link PersonalTimetable} whether a student sees the lessons of all attended school classes without copies.
+ */
+public class PersonalTimetableTest {
+    private TimeSlot firstTimeSlot;
+    private TimeSlot secondTimeSlot;
+    private TimeSlot thirdTimeSlot;
+    private Lesson mathLesson;
+    private Lesson englishLesson;
+    private SchoolClass mathClass;
+    private SchoolClass englishClass;
+    private Person student;
+
+    /**
+     * Creates a student attending a math and an english school class
+     */
+    @BeforeEach
+    public void setUp() {
+        List<TimeSlot> mondayTimeSlots = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY);
+        firstTimeSlot = mondayTimeSlots.get(0);
+        secondTimeSlot = mondayTimeSlots.get(1);
+        thirdTimeSlot = mondayTimeSlots.get(2);
+        Subject math = new Subject("Math", 1);
+        Subject english = new Subject("English", 1);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math, english));
+        Room room = new Room("101", 10);
+        mathLesson = new Lesson(math, teacher, thirdTimeSlot, room);
+        englishLesson = new Lesson(english, teacher, firstTimeSlot, room);
+
+        student = new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english));
+        mathClass = new SchoolClass("Math-1", List.of(math));
+        englishClass = new SchoolClass("English-1", List.of(english));
+        mathClass.addStudent(student);
+        englishClass.addStudent(student);
+    }
+
+    /**
+     * Tests whether lessons added to the school classes afterwards are shown in the order of their time slots
+     */
+    @Test
+    public void testLessonsOfAllSchoolClassesAreShown() {
+        mathClass.getTimetable().addToTimetable(DayOfWeek.MONDAY, mathLesson);
+        englishClass.getTimetable().addToTimetable(DayOfWeek.MONDAY, englishLesson);
+
+        Timetable timetable = student.getTimetable();
+
+        assertEquals(List.of(englishLesson, mathLesson), timetable.getTimetable().get(DayOfWeek.MONDAY));
+        assertEquals(2, timetable.getAmountOfSetLessonsPerWeek());
+        assertFalse(timetable.isFree(DayOfWeek.MONDAY, firstTimeSlot));
+        assertTrue(timetable.isFree(DayOfWeek.MONDAY, secondTimeSlot));
+        assertFalse(timetable.isFree(DayOfWeek.MONDAY, thirdTimeSlot));
+    }
+
+    /**
+     * Tests whether removing a lesson from a school class removes it from the timetable of the student as well
+     */
+    @Test
+    public void testRemovedLessonIsNoLongerShown() {
+        mathClass.getTimetable().addToTimetable(DayOfWeek.MONDAY, mathLesson);
+        mathClass.getTimetable().removeFromTimetable(DayOfWeek.MONDAY, mathLesson);
+
+        assertEquals(0, student.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertTrue(student.getTimetable().isFree(DayOfWeek.MONDAY, thirdTimeSlot));
+    }
+
+    /**
+     * Tests whether individual lessons of the student are combined with the lessons of the school classes
+     */
+    @Test
+    public void testIndividualLessonsAreCombined() {
+        mathClass.getTimetable().addToTimetable(DayOfWeek.MONDAY, mathLesson);
+        Lesson individualLesson = new Lesson(new Subject("Choir", 1), mathLesson.teacher(), secondTimeSlot, mathLesson.room());
+        student.getTimetable().addToTimetable(DayOfWeek.MONDAY, individualLesson);
+
+        assertEquals(List.of(individualLesson, mathLesson), student.getTimetable().getTimetable().get(DayOfWeek.MONDAY));
+        assertEquals(1, mathClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(2, student.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(List.of(secondTimeSlot, thirdTimeSlot),
+                student.getTimetable().getOccupancyGrid().toTimeSlots(DayOfWeek.MONDAY, student.getTimetable().getOccupancyGrid().getOccupiedMask(DayOfWeek.MONDAY)));
+    }
+}
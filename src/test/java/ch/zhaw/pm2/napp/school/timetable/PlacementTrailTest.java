@@ -0,0 +1,91 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Tests the {@link PlacementTrail} whether rolling back restores the timetables of the school class, teacher and room.
+ */
+public class PlacementTrailTest {
+    private Subject math;
+    private Subject english;
+    private Teacher teacher;
+    private SchoolClass schoolClass;
+    private TimetableGenerator timetableGenerator;
+    private PlacementTrail placementTrail;
+
+    /**
+     * Creates a school class with two subjects, one teacher and one room
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 2);
+        english = new Subject("English", 1);
+        teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math, english));
+        schoolClass = new SchoolClass("1A", List.of(math, english));
+        Building building = new Building("South");
+        Room room = new Room("101", 10);
+        building.addRoomToFloor(room, "1");
+        timetableGenerator = new TimetableGenerator(List.of(teacher), List.of(building));
+        placementTrail = new PlacementTrail(timetableGenerator);
+    }
+
+    /**
+     * Tests whether rolling back to a checkpoint only undoes the placements applied after it
+     */
+    @Test
+    public void testRollbackToCheckpoint() {
+        SubjectPlacement mathPlacement = findFirstPlacement(math);
+        placementTrail.apply(mathPlacement);
+        int checkpoint = placementTrail.checkpoint();
+        placementTrail.apply(findFirstPlacement(english));
+        assertEquals(3, teacher.getTimetable().getAmountOfSetLessonsPerWeek());
+
+        placementTrail.rollbackTo(checkpoint);
+
+        assertEquals(checkpoint, placementTrail.checkpoint());
+        assertEquals(List.of(mathPlacement), placementTrail.getAppliedPlacements());
+        assertEquals(2, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(2, teacher.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(List.of(mathPlacement), TimetableGenerator.collectPlacements(List.of(schoolClass)));
+    }
+
+    /**
+     * Tests whether rolling back a removal applies the placement again and frees the time slots used in between
+     */
+    @Test
+    public void testRollbackOfRemoval() {
+        SubjectPlacement mathPlacement = findFirstPlacement(math);
+        timetableGenerator.applyPlacement(mathPlacement);
+        placementTrail.remove(mathPlacement);
+        SubjectPlacement englishPlacement = findFirstPlacement(english);
+        placementTrail.apply(englishPlacement);
+
+        placementTrail.rollbackAll();
+
+        assertEquals(0, placementTrail.checkpoint());
+        assertEquals(List.of(mathPlacement), TimetableGenerator.collectPlacements(List.of(schoolClass)));
+        for (Lesson lesson : mathPlacement.lessons()) {
+            assertFalse(teacher.getTimetable().isFree(DayOfWeek.MONDAY, lesson.timeSlot()));
+        }
+        for (Lesson lesson : englishPlacement.lessons()) {
+            boolean usedByMath = mathPlacement.lessons().stream().anyMatch(mathLesson -> mathLesson.timeSlot().equals(lesson.timeSlot()));
+            assertEquals(!usedByMath, teacher.getTimetable().isFree(DayOfWeek.MONDAY, lesson.timeSlot()));
+        }
+    }
+
+    private SubjectPlacement findFirstPlacement(Subject subject) {
+        return timetableGenerator.findAllPlacements(new LessonDemand(schoolClass, subject)).get(0);
+    }
+}
@@ -0,0 +1,155 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import ch.zhaw.pm2.napp.school.timetable.strategy.FirstFitSchedulingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link PortfolioTimetableSolver} with the tight dataset of the {@link BacktrackingTimetableSolverTest},
+ * on which only the backtracking configurations find a timetable.
+ */
+public class PortfolioTimetableSolverTest {
+    private static final double WORKLOAD_FOR_ONE_LESSON = 0.015;
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(5);
+
+    private Teacher versatileTeacher;
+    private Teacher mathTeacher;
+    private Room room;
+    private SchoolClass schoolClass;
+    private List<Teacher> allTeachers;
+    private List<Building> schoolBuildings;
+    private TimetableGenerator timetableGenerator;
+
+    /**
+     * Creates the tight dataset with one school class, two teachers and one room
+     */
+    @BeforeEach
+    public void setUp() {
+        Subject math = new Subject("Math", 1);
+        Subject english = new Subject("English", 1);
+        List<DayOfWeek> monday = List.of(DayOfWeek.MONDAY);
+        versatileTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), WORKLOAD_FOR_ONE_LESSON, monday, List.of(math, english));
+        mathTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), WORKLOAD_FOR_ONE_LESSON, monday, List.of(math));
+
+        schoolClass = new SchoolClass("1A", List.of(math, english));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english)));
+
+        Building building = new Building("South");
+        room = new Room("101", 10);
+        building.addRoomToFloor(room, "1");
+        allTeachers = List.of(versatileTeacher, mathTeacher);
+        schoolBuildings = List.of(building);
+        timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+    }
+
+    /**
+     * Tests whether the timetable of the winning configuration is applied to the original school class, teachers and room
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testPortfolioAppliesWinningTimetable() throws TimetableException {
+        PortfolioTimetableSolver portfolioTimetableSolver = new PortfolioTimetableSolver(timetableGenerator, allTeachers, schoolBuildings,
+                PortfolioConfiguration.createDefaultPortfolio(), TIME_BUDGET);
+        PortfolioConfiguration winningConfiguration = portfolioTimetableSolver.generateTimetables(List.of(schoolClass));
+
+        assertEquals(GenerationEngine.BACKTRACKING, winningConfiguration.generationEngine());
+        List<Lesson> lessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY);
+        assertEquals(2, lessons.size());
+        for (Lesson lesson : lessons) {
+            assertTrue(lesson.teacher() == versatileTeacher || lesson.teacher() == mathTeacher);
+            assertSame(room, lesson.room());
+            assertTrue(!room.getRoomAvailability().isFree(DayOfWeek.MONDAY, lesson.timeSlot()));
+        }
+        assertEquals(1, versatileTeacher.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(1, mathTeacher.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(2, schoolClass.getStudents().get(0).getTimetable().getAmountOfSetLessonsPerWeek());
+    }
+
+    /**
+     * Tests whether a closed room stays closed in the copies of the portfolio, so no lesson is placed in it
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testPortfolioSkipsClosedRoom() throws TimetableException {
+        Room openRoom = new Room("102", 10);
+        schoolBuildings.get(0).addRoomToFloor(openRoom, "1");
+        room.setClosed(true);
+        TimetableGenerator timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+        PortfolioTimetableSolver portfolioTimetableSolver = new PortfolioTimetableSolver(timetableGenerator, allTeachers, schoolBuildings,
+                PortfolioConfiguration.createDefaultPortfolio(), TIME_BUDGET);
+
+        portfolioTimetableSolver.generateTimetables(List.of(schoolClass));
+
+        List<Lesson> lessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY);
+        assertEquals(2, lessons.size());
+        lessons.forEach(lesson -> assertSame(openRoom, lesson.room()));
+        assertEquals(0, room.getRoomAvailability().getOccupiedMask(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Tests whether the original school stays untouched if no configuration finds a timetable
+     */
+    @Test
+    public void testPortfolioWithoutSolutionLeavesSchoolUntouched() {
+        PortfolioTimetableSolver portfolioTimetableSolver = new PortfolioTimetableSolver(timetableGenerator, allTeachers, schoolBuildings,
+                List.of(new PortfolioConfiguration(GenerationEngine.GREEDY, new FirstFitSchedulingStrategy(), PortfolioConfiguration.KEEP_ORDER_SEED)), TIME_BUDGET);
+
+        assertThrows(TimetableException.class, () -> portfolioTimetableSolver.generateTimetables(List.of(schoolClass)));
+        assertTrue(schoolClass.getTimetable().getTimetable().isEmpty());
+        assertTrue(versatileTeacher.getTimetable().getTimetable().isEmpty());
+    }
+
+    /**
+     * Tests whether the configurations shuffle with their own seeds without a seed of the run,
+     * and with seeds drawn from the seed of the run otherwise
+     */
+    @Test
+    public void testShuffleSeedsAreDerivedFromRunSeed() {
+        List<PortfolioConfiguration> portfolioConfigurations = PortfolioConfiguration.createDefaultPortfolio();
+        long[] configurationSeeds = portfolioConfigurations.stream().mapToLong(PortfolioConfiguration::seed).toArray();
+        assertArrayEquals(configurationSeeds, createShuffleSeeds(portfolioConfigurations, null));
+
+        long[] shuffleSeeds = createShuffleSeeds(portfolioConfigurations, 42L);
+        assertArrayEquals(shuffleSeeds, createShuffleSeeds(portfolioConfigurations, 42L));
+        assertFalse(Arrays.equals(shuffleSeeds, createShuffleSeeds(portfolioConfigurations, 43L)));
+        assertFalse(Arrays.equals(configurationSeeds, shuffleSeeds));
+    }
+
+    private long[] createShuffleSeeds(List<PortfolioConfiguration> portfolioConfigurations, Long seed) {
+        TimetableGenerator timetableGenerator = new TimetableGenerator(allTeachers, schoolBuildings);
+        if (seed != null) {
+            timetableGenerator.setSeed(seed);
+        }
+        return new PortfolioTimetableSolver(timetableGenerator, allTeachers, schoolBuildings, portfolioConfigurations, TIME_BUDGET).createShuffleSeeds();
+    }
+
+    /**
+     * Tests whether a portfolio cannot contain another portfolio
+     */
+    @Test
+    public void testPortfolioConfigurationRejectsPortfolioEngine() {
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioConfiguration(GenerationEngine.PORTFOLIO, new FirstFitSchedulingStrategy(), PortfolioConfiguration.KEEP_ORDER_SEED));
+    }
+}
@@ -0,0 +1,136 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the {@link ResourceSymmetry} whether the search of the {@link TimetableGenerator} only tries one of several interchangeable rooms and teachers.
+ */
+public class ResourceSymmetryTest {
+    private static final int IDENTICAL_ROOMS = 40;
+
+    private Subject math;
+    private Building building;
+    private TimeSlot firstMondayTimeSlot;
+
+    /**
+     * Creates a building with identical classrooms on one floor
+     */
+    @BeforeEach
+    public void setUp() {
+        math = new Subject("Math", 2);
+        building = new Building("South");
+        for (int i = 0; i < IDENTICAL_ROOMS; i++) {
+            building.addRoomToFloor(new Room("1" + i, 20), "1");
+        }
+        firstMondayTimeSlot = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY).get(0);
+    }
+
+    /**
+     * Tests whether identical rooms and teachers lead to a single placement per block
+     */
+    @Test
+    public void testInterchangeableResourcesAreTriedOnce() {
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901"), createTeacher("902")), List.of(building));
+        SchoolClass schoolClass = createSchoolClass();
+
+        List<SubjectPlacement> placements = timetableGenerator.findAllPlacements(new LessonDemand(schoolClass, math));
+
+        assertEquals(countFreeBlocks(schoolClass), placements.size());
+    }
+
+    /**
+     * Tests whether a room with other bookings or another floor is no longer interchangeable
+     */
+    @Test
+    public void testRoomsWithDifferentBookingsOrFloorsAreDistinct() {
+        building.getAllRooms().get(1).setRoomAvailability(DayOfWeek.TUESDAY, firstMondayTimeSlot);
+        building.addRoomToFloor(new Room("201", 20), "2");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901")), List.of(building));
+        SchoolClass schoolClass = createSchoolClass();
+
+        List<SubjectPlacement> placements = timetableGenerator.findAllPlacements(new LessonDemand(schoolClass, math));
+
+        // the booked room is not free for the first block on tuesday
+        assertEquals(3 * countFreeBlocks(schoolClass) - 1, placements.size());
+    }
+
+    /**
+     * Tests whether teachers with other bookings or other days at school are no longer interchangeable
+     */
+    @Test
+    public void testTeachersWithDifferentBookingsOrDaysAreDistinct() {
+        Teacher bookedTeacher = createTeacher("902");
+        bookedTeacher.getTimetable().getOccupancyGrid().occupy(DayOfWeek.FRIDAY, 1L);
+        Teacher mondayTeacher = new Teacher("903", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901"), bookedTeacher, mondayTeacher), List.of(building));
+        SchoolClass schoolClass = createSchoolClass();
+
+        List<SubjectPlacement> placements = timetableGenerator.findAllPlacements(new LessonDemand(schoolClass, math));
+
+        int mondayBlocks = schoolClass.getTimetable().getFreeTimeSlotsAfterTheOtherPerDay(math.weeklyLessons(), DayOfWeek.MONDAY).size();
+        // the booked teacher is not free for the first block on friday
+        assertEquals(2 * countFreeBlocks(schoolClass) - 1 + mondayBlocks, placements.size());
+    }
+
+    /**
+     * Tests whether a teacher who dropped a day after the generator was created is no longer interchangeable
+     */
+    @Test
+    public void testTeacherWithDroppedDayIsDistinct() {
+        Teacher fridayOffTeacher = createTeacher("902");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901"), fridayOffTeacher), List.of(building));
+        SchoolClass schoolClass = createSchoolClass();
+
+        fridayOffTeacher.removeAvailableWeekDay(DayOfWeek.FRIDAY);
+        timetableGenerator.getCompiledSchoolModel().refreshAvailableWeekDays();
+        List<SubjectPlacement> placements = timetableGenerator.findAllPlacements(new LessonDemand(schoolClass, math));
+
+        int fridayBlocks = schoolClass.getTimetable().getFreeTimeSlotsAfterTheOtherPerDay(math.weeklyLessons(), DayOfWeek.FRIDAY).size();
+        assertEquals(2 * countFreeBlocks(schoolClass) - fridayBlocks, placements.size());
+    }
+
+    /**
+     * Tests whether the placements rated by the optimizer still contain every interchangeable room and teacher
+     */
+    @Test
+    public void testRatedPlacementsKeepInterchangeableResources() {
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(createTeacher("901"), createTeacher("902")), List.of(building));
+        SchoolClass schoolClass = createSchoolClass();
+
+        List<SubjectPlacement> placements = timetableGenerator.findAllPlacements(schoolClass, math, math.weeklyLessons());
+
+        assertEquals(2 * IDENTICAL_ROOMS * countFreeBlocks(schoolClass), placements.size());
+    }
+
+    private int countFreeBlocks(SchoolClass schoolClass) {
+        int freeBlocks = 0;
+        for (DayOfWeek dayOfWeek : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            freeBlocks += schoolClass.getTimetable().getFreeTimeSlotsAfterTheOtherPerDay(math.weeklyLessons(), dayOfWeek).size();
+        }
+        return freeBlocks;
+    }
+
+    private Teacher createTeacher(String matriculationNumber) {
+        List<DayOfWeek> workdays = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+        return new Teacher(matriculationNumber, "Apple", "Herbert", List.of(TEACHER), 1, workdays, List.of(math));
+    }
+
+    private SchoolClass createSchoolClass() {
+        SchoolClass schoolClass = new SchoolClass("1A", List.of(math));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math)));
+        return schoolClass;
+    }
+}
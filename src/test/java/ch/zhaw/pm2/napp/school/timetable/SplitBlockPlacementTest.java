@@ -0,0 +1,145 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TimetableGenerator} whether subjects longer than a day are split into blocks on different days.
+ */
+public class SplitBlockPlacementTest {
+    private static final int MINIMUM_BLOCK_SIZE = 2;
+
+    private int mondayTimeSlots;
+    private Teacher teacher;
+    private Building building;
+
+    /**
+     * Creates a building with one room. The teacher of each test is at school on monday and tuesday
+     */
+    @BeforeEach
+    public void setUp() {
+        mondayTimeSlots = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY).size();
+        building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10), "1");
+    }
+
+    /**
+     * Tests whether a subject with more lessons than a day has time slots fails without splitting
+     */
+    @Test
+    public void testSubjectLongerThanDayFailsWithoutSplitting() {
+        Subject longSubject = new Subject("Project", mondayTimeSlots + 2);
+        TimetableGenerator timetableGenerator = createGenerator(longSubject);
+        assertThrows(TimetableException.class, () -> timetableGenerator.generateTimeTableForClass(createSchoolClass(longSubject)));
+    }
+
+    /**
+     * Tests whether the subject is split into a full monday and a block on tuesday, both with the same teacher
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testSubjectIsSplitIntoBlocks() throws TimetableException {
+        Subject longSubject = new Subject("Project", mondayTimeSlots + 2);
+        TimetableGenerator timetableGenerator = createGenerator(longSubject);
+        timetableGenerator.setMinimumBlockSize(MINIMUM_BLOCK_SIZE);
+        SchoolClass schoolClass = createSchoolClass(longSubject);
+
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+
+        List<SubjectPlacement> blocks = TimetableGenerator.collectPlacements(List.of(schoolClass));
+        assertEquals(2, blocks.size());
+        assertEquals(mondayTimeSlots, blocks.get(0).lessons().size());
+        assertEquals(2, blocks.get(1).lessons().size());
+        for (SubjectPlacement block : blocks) {
+            block.lessons().forEach(lesson -> assertSame(teacher, lesson.teacher()));
+        }
+        assertEquals(mondayTimeSlots + 2, teacher.getTimetable().getAmountOfSetLessonsPerWeek());
+    }
+
+    /**
+     * Tests whether a shorter first block is chosen if the remaining lessons would be less than the minimum block size
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testMinimumBlockSizeIsRespected() throws TimetableException {
+        Subject longSubject = new Subject("Project", mondayTimeSlots + 1);
+        TimetableGenerator timetableGenerator = createGenerator(longSubject);
+        timetableGenerator.setMinimumBlockSize(MINIMUM_BLOCK_SIZE);
+        SchoolClass schoolClass = createSchoolClass(longSubject);
+
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+
+        List<SubjectPlacement> blocks = TimetableGenerator.collectPlacements(List.of(schoolClass));
+        assertEquals(2, blocks.size());
+        for (SubjectPlacement block : blocks) {
+            assertTrue(block.lessons().size() >= MINIMUM_BLOCK_SIZE);
+        }
+    }
+
+    /**
+     * Tests whether a block of a split subject is only moved with the teacher of the other block,
+     * who only needs workload left for the lessons of the moved block
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testMovedBlockKeepsTeacherOfOtherBlock() throws TimetableException {
+        Subject longSubject = new Subject("Project", mondayTimeSlots + 2);
+        List<DayOfWeek> weekDays = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY);
+        double workloadForSubject = (longSubject.weeklyLessons() + 0.5) / new Timetable().getAmountOfPossibleLessonsPerWeek();
+        teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), workloadForSubject, weekDays, List.of(longSubject));
+        Teacher otherTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), 1, weekDays, List.of(longSubject));
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(teacher, otherTeacher), List.of(building));
+        timetableGenerator.setMinimumBlockSize(MINIMUM_BLOCK_SIZE);
+        SchoolClass schoolClass = createSchoolClass(longSubject);
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+
+        SubjectPlacement secondBlock = TimetableGenerator.collectPlacements(List.of(schoolClass)).get(1);
+        timetableGenerator.removePlacement(secondBlock);
+        List<SubjectPlacement> candidates = timetableGenerator.findAllPlacements(schoolClass, longSubject, secondBlock.lessons().size());
+
+        assertFalse(candidates.isEmpty());
+        for (SubjectPlacement candidate : candidates) {
+            candidate.lessons().forEach(lesson -> assertSame(teacher, lesson.teacher()));
+        }
+    }
+
+    /**
+     * Tests whether a negative minimum block size is rejected
+     */
+    @Test
+    public void testNegativeMinimumBlockSize() {
+        TimetableGenerator timetableGenerator = createGenerator(new Subject("Math", 2));
+        assertThrows(IllegalArgumentException.class, () -> timetableGenerator.setMinimumBlockSize(-1));
+    }
+
+    private TimetableGenerator createGenerator(Subject subject) {
+        teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), List.of(subject));
+        return new TimetableGenerator(List.of(teacher), List.of(building));
+    }
+
+    private SchoolClass createSchoolClass(Subject subject) {
+        SchoolClass schoolClass = new SchoolClass("1A", List.of(subject));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(subject)));
+        return schoolClass;
+    }
+}
@@ -0,0 +1,49 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TimeSlotRegistry} whether equal timeslots are interned to one canonical instance with a dense ordinal.
+ */
+public class TimeSlotRegistryTest {
+    private static final LocalTime START_TIME = LocalTime.of(7, 10);
+
+    /**
+     * Tests whether equal timeslots are interned to the same instance and keep their ordinal
+     */
+    @Test
+    public void testInternReturnsCanonicalTimeSlot() {
+        TimeSlot canonicalTimeSlot = TimeSlotRegistry.intern(new TimeSlot(START_TIME));
+        TimeSlot timeSlot = new TimeSlot(START_TIME);
+
+        assertSame(canonicalTimeSlot, TimeSlotRegistry.intern(timeSlot));
+        assertSame(canonicalTimeSlot, TimeSlotRegistry.getTimeSlot(canonicalTimeSlot.getOrdinal()));
+        assertEquals(canonicalTimeSlot.getOrdinal(), TimeSlotRegistry.getOrdinal(timeSlot));
+        assertEquals(canonicalTimeSlot, timeSlot);
+        assertEquals(canonicalTimeSlot.hashCode(), timeSlot.hashCode());
+    }
+
+    /**
+     * Tests whether the timeslots of the template are canonical and can be found in hashed collections
+     */
+    @Test
+    public void testTemplateTimeSlotsAreCanonical() {
+        TimetableTemplate timetableTemplate = TimetableTemplate.getDefaultTemplate();
+        Set<TimeSlot> timeSlots = new HashSet<>(timetableTemplate.getTimeSlots(DayOfWeek.MONDAY));
+
+        for (TimeSlot timeSlot : new TimetableModel().getTimetableModel().get(DayOfWeek.MONDAY)) {
+            assertTrue(timeSlots.contains(timeSlot));
+            assertSame(TimeSlotRegistry.intern(timeSlot), timetableTemplate.getTimeSlot(DayOfWeek.MONDAY, timetableTemplate.getTimeSlotIndex(DayOfWeek.MONDAY, timeSlot)));
+            assertTrue(TimeSlotRegistry.getOrdinal(timeSlot) < TimeSlotRegistry.size());
+        }
+    }
+}
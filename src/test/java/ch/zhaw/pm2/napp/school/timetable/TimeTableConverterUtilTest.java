@@ -23,7 +23,7 @@ class TimeTableConverterUtilTest {
 
     private static final int FIRST_LIST_INDEX = 0;
     private static final int MONDAY_INDEX = 0;
-    private static final String EXPECTED_CONVERTED_STRING = "MONDAY;[08:00-08:45 Math 102 Herbert Apple];[08:50-09:35 Math 102 Herbert Apple];[10:00-10:45 German 102 Herbert Apple];[10:50-11:35 German 102 Herbert Apple];[12:00-12:45 German 102 Herbert Apple];[12:50-13:35 German 102 Herbert Apple];[14:00-14:45 Sport 102 Herbert Apple];";
+    private static final String EXPECTED_CONVERTED_STRING = "MONDAY;[08:00-08:45 Math 102 Herbert Apple (901)];[08:50-09:35 Math 102 Herbert Apple (901)];[10:00-10:45 German 102 Herbert Apple (901)];[10:50-11:35 German 102 Herbert Apple (901)];[12:00-12:45 German 102 Herbert Apple (901)];[12:50-13:35 German 102 Herbert Apple (901)];[14:00-14:45 Sport 102 Herbert Apple (901)];";
     private Timetable generatedTimetable;
 
     /**
@@ -62,4 +62,17 @@ class TimeTableConverterUtilTest {
         assertThrows(TimetableConversionException.class, () -> TimeTableConverterUtil.convertTimetablesToCsvString(null));
     }
 
+    /**
+     * Tests whether the seed of the generation is written as first line, followed by the lines of the timetable.
+     *
+     * @throws TimetableConversionException - should not be thrown therefore no need to catch
+     */
+    @Test
+    public void testConvertingTimeTableWithSeed() throws TimetableConversionException {
+        final String[] convertTimetablesToCsvString = TimeTableConverterUtil.convertTimetablesToCsvString(generatedTimetable, -42);
+        assertEquals(2, convertTimetablesToCsvString.length);
+        assertEquals("SEED;-42", convertTimetablesToCsvString[0]);
+        assertEquals(EXPECTED_CONVERTED_STRING, convertTimetablesToCsvString[MONDAY_INDEX + 1]);
+    }
+
 }
\ No newline at end of file
@@ -7,7 +7,11 @@ import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import static org.junit.jupiter.api.Assertions.*;
 import static ch.zhaw.pm2.napp.school.SchoolUtil.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -114,4 +118,60 @@ public class TimetableGeneratorTest {
             assertNotNull(lesson.room());
         }
     }
+
+    /**
+     * Tests whether the parallel generation creates the same timetables with several threads as with a single thread,
+     * whether the first school class gets the same timetable as in the sequential generation
+     * and whether no teacher or room is booked twice at the same time.
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void timetableGeneratorParallelGenerationTest() throws TimetableException {
+        List<SchoolClass> schoolClasses = generateInParallel(Executors.newFixedThreadPool(2));
+        List<SchoolClass> singleThreadSchoolClasses = generateInParallel(Executors.newSingleThreadExecutor());
+        List<SchoolClass> sequentialSchoolClasses = createAllSchoolClasses();
+        TimetableGenerator sequentialTimetableGenerator = new TimetableGenerator(createAllTeachers(), createAllBuildings());
+        sequentialTimetableGenerator.generateTimeTableForClass(sequentialSchoolClasses.get(FIRST_LIST_INDEX));
+
+        for (int i = 0; i < schoolClasses.size(); i++) {
+            assertEquals(describeLessons(singleThreadSchoolClasses.get(i)), describeLessons(schoolClasses.get(i)));
+        }
+        assertEquals(describeLessons(sequentialSchoolClasses.get(FIRST_LIST_INDEX)), describeLessons(schoolClasses.get(FIRST_LIST_INDEX)));
+
+        Set<String> bookedTeachers = new HashSet<>();
+        Set<String> bookedRooms = new HashSet<>();
+        for (SchoolClass schoolClass : schoolClasses) {
+            schoolClass.getTimetable().getTimetable().forEach((dayOfWeek, lessons) -> {
+                for (Lesson lesson : lessons) {
+                    assertTrue(bookedTeachers.add(dayOfWeek + " " + lesson.timeSlot() + " " + lesson.teacher().getId()));
+                    assertTrue(bookedRooms.add(dayOfWeek + " " + lesson.timeSlot() + " " + lesson.room().getRoomIdentifier()));
+                }
+            });
+        }
+        assertEquals(7, schoolClasses.get(FIRST_LIST_INDEX).getTimetable().getTimetable().get(DayOfWeek.MONDAY).size());
+        assertEquals(7, schoolClasses.get(SECOND_LIST_INDEX).getTimetable().getTimetable().get(DayOfWeek.MONDAY).size());
+    }
+
+    private static List<SchoolClass> generateInParallel(ExecutorService executor) throws TimetableException {
+        List<SchoolClass> schoolClasses = createAllSchoolClasses();
+        TimetableGenerator timetableGenerator = new TimetableGenerator(createAllTeachers(), createAllBuildings());
+        try {
+            timetableGenerator.generateTimeTablesInParallel(schoolClasses, executor);
+        } finally {
+            executor.shutdown();
+        }
+        return schoolClasses;
+    }
+
+    private static List<String> describeLessons(SchoolClass schoolClass) {
+        List<String> lessonDescriptions = new ArrayList<>();
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            for (Lesson lesson : schoolClass.getTimetable().getTimetable().getOrDefault(dayOfWeek, List.of())) {
+                lessonDescriptions.add(dayOfWeek + " " + lesson.timeSlot() + " " + lesson.subject().name() + " "
+                        + lesson.teacher().getId() + " " + lesson.room().getRoomIdentifier());
+            }
+        }
+        return lessonDescriptions;
+    }
 }
@@ -0,0 +1,107 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableConversionException;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllBuildings;
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllSchoolClasses;
+import static ch.zhaw.pm2.napp.school.SchoolUtil.createAllTeachers;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TimetableOptimizer} whether it closes the gaps of a timetable without losing or doubling any lesson.
+ */
+public class TimetableOptimizerTest {
+    private static final int FIRST_TIME_SLOT = 0;
+    private static final int FOURTH_TIME_SLOT = 3;
+    private static final Duration TIME_BUDGET = Duration.ofMillis(300);
+    private static final long SEED = 42;
+    private static final int ITERATION_LIMIT = 200;
+
+    private SchoolClass schoolClass;
+    private TimetableGenerator timetableGenerator;
+
+    /**
+     * Creates a school class whose two subjects are placed with a gap of two time slots on monday
+     */
+    @BeforeEach
+    public void setUp() {
+        Subject math = new Subject("Math", 1);
+        Subject english = new Subject("English", 1);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math, english));
+        schoolClass = new SchoolClass("1A", List.of(math, english));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english)));
+
+        Building building = new Building("South");
+        Room room = new Room("101", 10);
+        building.addRoomToFloor(room, "1");
+        timetableGenerator = new TimetableGenerator(List.of(teacher), List.of(building));
+
+        TimetableTemplate timetableTemplate = schoolClass.getTimetable().getTimetableTemplate();
+        TimeSlot firstTimeSlot = timetableTemplate.getTimeSlot(DayOfWeek.MONDAY, FIRST_TIME_SLOT);
+        TimeSlot fourthTimeSlot = timetableTemplate.getTimeSlot(DayOfWeek.MONDAY, FOURTH_TIME_SLOT);
+        timetableGenerator.applyPlacement(new SubjectPlacement(schoolClass, DayOfWeek.MONDAY, List.of(new Lesson(math, teacher, firstTimeSlot, room))));
+        timetableGenerator.applyPlacement(new SubjectPlacement(schoolClass, DayOfWeek.MONDAY, List.of(new Lesson(english, teacher, fourthTimeSlot, room))));
+    }
+
+    /**
+     * Tests whether the gaps of the school class and the teacher are closed and the result is applied
+     */
+    @Test
+    public void testOptimizerClosesGaps() {
+        TimetableScore initialScore = TimetableScore.calculate(List.of(schoolClass), timetableGenerator.getRoomDistances());
+        assertEquals(2, initialScore.classGaps());
+        assertEquals(2, initialScore.teacherIdlePeriods());
+
+        TimetableOptimizer timetableOptimizer = new TimetableOptimizer(timetableGenerator, TIME_BUDGET, new Random(SEED));
+        TimetableScore optimizedScore = timetableOptimizer.optimize(List.of(schoolClass));
+
+        assertEquals(0, optimizedScore.getWeightedScore());
+        assertEquals(optimizedScore, TimetableScore.calculate(List.of(schoolClass), timetableGenerator.getRoomDistances()));
+        assertEquals(optimizedScore, timetableOptimizer.getBestScore());
+        assertEquals(2, schoolClass.getTimetable().getAmountOfSetLessonsPerWeek());
+        assertEquals(2, schoolClass.getStudents().get(0).getTimetable().getAmountOfSetLessonsPerWeek());
+        assertTrue(initialScore.getWeightedScore() > optimizedScore.getWeightedScore());
+    }
+    /**
+     * Tests whether two optimizers limited by iterations produce the same timetables for the sample school with the same seed
+     *
+     * @throws TimetableException           - should not be thrown
+     * @throws TimetableConversionException - should not be thrown
+     */
+    @Test
+    public void testSameSeedGivesSameTimetables() throws TimetableException, TimetableConversionException {
+        assertEquals(optimizeSampleSchool(), optimizeSampleSchool());
+    }
+
+    private List<String> optimizeSampleSchool() throws TimetableException, TimetableConversionException {
+        List<SchoolClass> schoolClasses = createAllSchoolClasses();
+        TimetableGenerator sampleTimetableGenerator = new TimetableGenerator(createAllTeachers(), createAllBuildings());
+        for (SchoolClass sampleSchoolClass : schoolClasses) {
+            sampleTimetableGenerator.generateTimeTableForClass(sampleSchoolClass);
+        }
+        new TimetableOptimizer(sampleTimetableGenerator, ITERATION_LIMIT, new Random(SEED)).optimize(schoolClasses);
+
+        List<String> csvLines = new ArrayList<>();
+        for (SchoolClass sampleSchoolClass : schoolClasses) {
+            csvLines.addAll(List.of(TimeTableConverterUtil.convertTimetablesToCsvString(sampleSchoolClass.getTimetable())));
+        }
+        return csvLines;
+    }
+}
@@ -0,0 +1,123 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.Person;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import ch.zhaw.pm2.napp.school.timetable.exceptions.TimetableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.STUDENT;
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TimetableRepairer} whether only the lessons affected by a change are moved.
+ */
+public class TimetableRepairerTest {
+    private Subject math;
+    private Subject english;
+    private Teacher versatileTeacher;
+    private Teacher mathTeacher;
+    private Room smallRoom;
+    private Room largeRoom;
+    private SchoolClass schoolClass;
+    private TimetableRepairer timetableRepairer;
+
+    /**
+     * Generates the timetable of a school class with two subjects, two teachers and two rooms
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @BeforeEach
+    public void setUp() throws TimetableException {
+        math = new Subject("Math", 2);
+        english = new Subject("English", 1);
+        versatileTeacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), List.of(math, english));
+        mathTeacher = new Teacher("902", "Batterie", "Jana", List.of(TEACHER), 1, List.of(DayOfWeek.MONDAY), List.of(math));
+        schoolClass = new SchoolClass("1A", List.of(math, english));
+        schoolClass.addStudent(new Person("1", "Muster", "Max", List.of(STUDENT), List.of(math, english)));
+
+        Building building = new Building("South");
+        smallRoom = new Room("101", 10);
+        largeRoom = new Room("102", 20);
+        building.addRoomToFloor(smallRoom, "1");
+        building.addRoomToFloor(largeRoom, "1");
+        TimetableGenerator timetableGenerator = new TimetableGenerator(List.of(versatileTeacher, mathTeacher), List.of(building));
+        timetableGenerator.generateTimeTableForClass(schoolClass);
+        timetableRepairer = new TimetableRepairer(timetableGenerator);
+    }
+
+    /**
+     * Tests whether a teacher dropping a weekday keeps math at its time slots with another teacher and moves english to another day
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testTeacherDroppingWeekday() throws TimetableException {
+        List<Lesson> mondayLessons = List.copyOf(schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY));
+        assertEquals(3, mondayLessons.size());
+
+        List<SubjectPlacement> newPlacements = timetableRepairer.repair(new ScheduleChange.TeacherUnavailable(versatileTeacher, DayOfWeek.MONDAY), List.of(schoolClass));
+
+        assertEquals(2, newPlacements.size());
+        assertFalse(versatileTeacher.getAvailableWeekDays().contains(DayOfWeek.MONDAY));
+        assertNull(versatileTeacher.getTimetable().getTimetable().get(DayOfWeek.MONDAY));
+        for (Lesson lesson : schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY)) {
+            assertSame(math, lesson.subject());
+            assertSame(mathTeacher, lesson.teacher());
+            assertTrue(mondayLessons.stream().anyMatch(mondayLesson -> mondayLesson.timeSlot().equals(lesson.timeSlot())));
+        }
+        List<Lesson> tuesdayLessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.TUESDAY);
+        assertEquals(1, tuesdayLessons.size());
+        assertSame(english, tuesdayLessons.get(0).subject());
+        assertEquals(3, schoolClass.getStudents().get(0).getTimetable().getAmountOfSetLessonsPerWeek());
+    }
+
+    /**
+     * Tests whether closing a room moves all its lessons to another room at the same time slots
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testRoomClosing() throws TimetableException {
+        List<TimeSlot> timeSlots = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY).stream().map(Lesson::timeSlot).toList();
+
+        timetableRepairer.repair(new ScheduleChange.RoomClosed(smallRoom), List.of(schoolClass));
+
+        List<Lesson> mondayLessons = schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY);
+        assertEquals(3, mondayLessons.size());
+        for (Lesson lesson : mondayLessons) {
+            assertSame(largeRoom, lesson.room());
+            assertTrue(timeSlots.contains(lesson.timeSlot()));
+            assertTrue(smallRoom.getRoomAvailability().isFree(DayOfWeek.MONDAY, lesson.timeSlot()));
+        }
+    }
+
+    /**
+     * Tests whether a change that cannot be repaired is undone and the timetable stays as it was
+     *
+     * @throws TimetableException - should not be thrown
+     */
+    @Test
+    public void testImpossibleChangeIsUndone() throws TimetableException {
+        timetableRepairer.repair(new ScheduleChange.RoomClosed(smallRoom), List.of(schoolClass));
+        List<Lesson> mondayLessons = List.copyOf(schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY));
+
+        assertThrows(TimetableException.class, () -> timetableRepairer.repair(new ScheduleChange.RoomClosed(largeRoom), List.of(schoolClass)));
+        assertFalse(largeRoom.isClosed());
+        assertEquals(mondayLessons.size(), schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY).size());
+        assertTrue(schoolClass.getTimetable().getTimetable().get(DayOfWeek.MONDAY).containsAll(mondayLessons));
+        assertFalse(largeRoom.getRoomAvailability().isFree(DayOfWeek.MONDAY, mondayLessons.get(0).timeSlot()));
+    }
+}
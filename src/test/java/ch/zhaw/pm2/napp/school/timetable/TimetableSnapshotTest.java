@@ -0,0 +1,129 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests whether a {@link TimetableSnapshot} stays unchanged while its {@link Timetable} changes and shares the unchanged days.
+ */
+public class TimetableSnapshotTest {
+    private Timetable timetable;
+    private Lesson mondayLesson;
+    private Lesson tuesdayLesson;
+    private TimeSlot secondTimeSlot;
+
+    /**
+     * Creates a timetable with one lesson on monday and one on tuesday
+     */
+    @BeforeEach
+    public void setUp() {
+        Subject math = new Subject("Math", 1);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1.0, List.of(DayOfWeek.values()), List.of(math));
+        Room room = new Room("101", 20);
+        List<TimeSlot> timeSlots = TimetableTemplate.getDefaultTemplate().getTimeSlots(DayOfWeek.MONDAY);
+        secondTimeSlot = timeSlots.get(1);
+        mondayLesson = new Lesson(math, teacher, timeSlots.get(0), room);
+        tuesdayLesson = new Lesson(math, teacher, timeSlots.get(0), room);
+        timetable = new Timetable();
+        timetable.addToTimetable(DayOfWeek.MONDAY, mondayLesson);
+        timetable.addToTimetable(DayOfWeek.TUESDAY, tuesdayLesson);
+    }
+
+    /**
+     * Tests whether a new version only copies the changed day and the old version is not affected by the change
+     */
+    @Test
+    public void testNewVersionSharesUnchangedDays() {
+        TimetableSnapshot firstSnapshot = timetable.snapshot();
+        Lesson secondMondayLesson = new Lesson(mondayLesson.subject(), mondayLesson.teacher(), secondTimeSlot, mondayLesson.room());
+        timetable.addToTimetable(DayOfWeek.MONDAY, secondMondayLesson);
+        TimetableSnapshot secondSnapshot = timetable.snapshot();
+
+        assertSame(firstSnapshot.getLessons(DayOfWeek.TUESDAY), secondSnapshot.getLessons(DayOfWeek.TUESDAY));
+        assertEquals(List.of(mondayLesson), firstSnapshot.getLessons(DayOfWeek.MONDAY));
+        assertEquals(List.of(mondayLesson, secondMondayLesson), secondSnapshot.getLessons(DayOfWeek.MONDAY));
+        assertTrue(firstSnapshot.isFree(DayOfWeek.MONDAY, secondTimeSlot));
+        assertFalse(secondSnapshot.isFree(DayOfWeek.MONDAY, secondTimeSlot));
+        assertEquals(firstSnapshot.getVersion() + 1, secondSnapshot.getVersion());
+        assertSame(secondSnapshot, timetable.snapshot());
+    }
+
+    /**
+     * Tests whether readers keep the published version until the next one is published
+     */
+    @Test
+    public void testPublishedSnapshotOnlyChangesWhenPublished() {
+        timetable.publishSnapshot();
+        TimetableSnapshot publishedSnapshot = timetable.getPublishedSnapshot();
+
+        timetable.removeFromTimetable(DayOfWeek.MONDAY, mondayLesson);
+        assertSame(publishedSnapshot, timetable.getPublishedSnapshot());
+        assertEquals(2, publishedSnapshot.getAmountOfSetLessonsPerWeek());
+
+        timetable.publishSnapshot();
+        assertEquals(1, timetable.getPublishedSnapshot().getAmountOfSetLessonsPerWeek());
+        assertFalse(timetable.getPublishedSnapshot().getTimetable().containsKey(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Tests whether a what-if branch leaves the timetable and the original snapshot untouched and can be turned into a timetable
+     */
+    @Test
+    public void testWhatIfBranch() {
+        TimetableSnapshot snapshot = timetable.snapshot();
+        TimetableSnapshot branch = snapshot.withoutLesson(DayOfWeek.TUESDAY, tuesdayLesson);
+
+        assertSame(snapshot.getLessons(DayOfWeek.MONDAY), branch.getLessons(DayOfWeek.MONDAY));
+        assertEquals(List.of(tuesdayLesson), snapshot.getLessons(DayOfWeek.TUESDAY));
+        assertTrue(branch.getLessons(DayOfWeek.TUESDAY).isEmpty());
+        assertEquals(2, timetable.getAmountOfSetLessonsPerWeek());
+
+        Timetable branchTimetable = new Timetable(branch);
+        assertEquals(1, branchTimetable.getAmountOfSetLessonsPerWeek());
+        assertTrue(branchTimetable.isFree(DayOfWeek.TUESDAY, tuesdayLesson.timeSlot()));
+        assertFalse(branchTimetable.isFree(DayOfWeek.MONDAY, mondayLesson.timeSlot()));
+        assertSame(branch, branchTimetable.snapshot());
+    }
+
+    /**
+     * Tests whether a personal timetable only shows the lessons of a school class once they are published
+     */
+    @Test
+    public void testPersonalSnapshotUsesPublishedSchoolClassLessons() {
+        SchoolClass schoolClass = new SchoolClass("1A", List.of(mondayLesson.subject()));
+        PersonalTimetable personalTimetable = new PersonalTimetable();
+        personalTimetable.attendSchoolClass(schoolClass);
+
+        schoolClass.getTimetable().addToTimetable(DayOfWeek.MONDAY, mondayLesson);
+        TimetableSnapshot unpublishedSnapshot = personalTimetable.snapshot();
+        assertTrue(unpublishedSnapshot.getLessons(DayOfWeek.MONDAY).isEmpty());
+        assertTrue(unpublishedSnapshot.isFree(DayOfWeek.MONDAY, mondayLesson.timeSlot()));
+
+        schoolClass.getTimetable().publishSnapshot();
+        TimetableSnapshot publishedSnapshot = personalTimetable.snapshot();
+        assertEquals(List.of(mondayLesson), publishedSnapshot.getLessons(DayOfWeek.MONDAY));
+        assertFalse(publishedSnapshot.isFree(DayOfWeek.MONDAY, mondayLesson.timeSlot()));
+        assertEquals(1, publishedSnapshot.getAmountOfSetLessonsPerWeek());
+    }
+
+    /**
+     * Tests whether empty timetables of the same template share their first snapshot
+     */
+    @Test
+    public void testEmptyTimetablesShareSnapshot() {
+        assertSame(new Timetable().snapshot(), new Timetable().snapshot());
+        assertEquals(0, new Timetable().snapshot().getVersion());
+    }
+}
@@ -0,0 +1,78 @@
+package ch.zhaw.pm2.napp.school.timetable;
+
+import ch.zhaw.pm2.napp.school.School;
+import ch.zhaw.pm2.napp.school.building.Building;
+import ch.zhaw.pm2.napp.school.building.Room;
+import ch.zhaw.pm2.napp.school.schoolclasses.SchoolClass;
+import ch.zhaw.pm2.napp.school.schoolclasses.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.schoolclasses.SchoolVisitorRole.TEACHER;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link TimetableTemplate} whether it is shared, whether a single day can have its own schema and whether a school keeps its own template.
+ */
+public class TimetableTemplateTest {
+    private static final LocalTime NOON = LocalTime.of(12, 0);
+
+    /**
+     * Tests whether timetables created with the default constructor share the default template
+     */
+    @Test
+    public void testTimetablesShareDefaultTemplate() {
+        assertSame(new Timetable().getTimetableTemplate(), new Timetable().getTimetableTemplate());
+        assertEquals(new TimetableModel().getTimetableModel(), TimetableTemplate.getDefaultTemplate().getTimeSlotsPerDay());
+    }
+
+    /**
+     * Tests whether a free wednesday afternoon only shortens the wednesday and is respected by the timetable
+     */
+    @Test
+    public void testFreeWednesdayAfternoon() {
+        TimetableTemplate defaultTemplate = TimetableTemplate.getDefaultTemplate();
+        TimetableTemplate timetableTemplate = defaultTemplate.withClosingTime(DayOfWeek.WEDNESDAY, NOON);
+        int removedTimeSlots = defaultTemplate.getTimeSlots(DayOfWeek.WEDNESDAY).size() - timetableTemplate.getTimeSlots(DayOfWeek.WEDNESDAY).size();
+
+        assertTrue(removedTimeSlots > 0);
+        assertEquals(defaultTemplate.getTimeSlots(DayOfWeek.MONDAY), timetableTemplate.getTimeSlots(DayOfWeek.MONDAY));
+        assertEquals(defaultTemplate.getAmountOfTimeSlotsPerWeek() - removedTimeSlots, timetableTemplate.getAmountOfTimeSlotsPerWeek());
+        for (TimeSlot timeSlot : timetableTemplate.getTimeSlots(DayOfWeek.WEDNESDAY)) {
+            assertFalse(timeSlot.getEndTime().isAfter(NOON));
+        }
+
+        Timetable timetable = new Timetable(timetableTemplate);
+        Subject subject = new Subject("Math", timetableTemplate.getTimeSlots(DayOfWeek.WEDNESDAY).size() + 1);
+        assertTrue(timetable.getFreeTimeSlotsForSubjectPerDay(subject, DayOfWeek.WEDNESDAY).isEmpty());
+        assertFalse(timetable.getFreeTimeSlotsForSubjectPerDay(subject, DayOfWeek.MONDAY).isEmpty());
+    }
+
+    /**
+     * Tests whether a school keeps its own template and rejects a school class based on another template
+     */
+    @Test
+    public void testSchoolUsesItsOwnTemplate() {
+        TimetableTemplate timetableTemplate = TimetableTemplate.getDefaultTemplate().withClosingTime(DayOfWeek.WEDNESDAY, NOON);
+        Subject math = new Subject("Math", 2);
+        Teacher teacher = new Teacher("901", "Apple", "Herbert", List.of(TEACHER), 1.0, List.of(DayOfWeek.MONDAY), List.of(math), timetableTemplate);
+        Building building = new Building("South");
+        building.addRoomToFloor(new Room("101", 10, timetableTemplate), "1");
+        SchoolClass schoolClass = new SchoolClass("1A", List.of(math), timetableTemplate);
+
+        School school = new School(List.of(teacher), List.of(building), List.of(schoolClass), timetableTemplate);
+        assertSame(timetableTemplate, school.getTimetableTemplate());
+        assertSame(TimetableTemplate.getDefaultTemplate(), new Timetable().getTimetableTemplate());
+
+        List<SchoolClass> mixedSchoolClasses = List.of(schoolClass, new SchoolClass("2B", List.of(math)));
+        assertThrows(IllegalArgumentException.class, () -> new School(List.of(teacher), List.of(building), mixedSchoolClasses, timetableTemplate));
+    }
+}
@@ -0,0 +1,66 @@
+package ch.zhaw.pm2.napp.school.timetable.strategy;
+
+import ch.zhaw.pm2.napp.school.timetable.LessonDemand;
+import ch.zhaw.pm2.napp.school.timetable.TimetableGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static ch.zhaw.pm2.napp.school.SchoolUtil.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests whether the {@link SchedulingStrategy} implementations can be found with the {@link SchedulingStrategies}
+ * and whether they order the lesson demands as expected.
+ */
+public class SchedulingStrategyTest {
+    private static final int FIRST_LIST_INDEX = 0;
+
+    private TimetableGenerator timetableGenerator;
+    private List<LessonDemand> lessonDemands;
+
+    /**
+     * Creates the lesson demands of the predefined school classes
+     */
+    @BeforeEach
+    public void setUp() {
+        timetableGenerator = new TimetableGenerator(createAllTeachers(), createAllBuildings());
+        lessonDemands = TimetableGenerator.createLessonDemands(createAllSchoolClasses());
+    }
+
+    /**
+     * Tests whether the registered strategies are found by their names
+     */
+    @Test
+    public void testStrategiesAreDiscovered() {
+        assertTrue(SchedulingStrategies.getSchedulingStrategyNames().contains(FirstFitSchedulingStrategy.NAME));
+        assertTrue(SchedulingStrategies.getSchedulingStrategyNames().contains(MostConstrainedFirstSchedulingStrategy.NAME));
+        assertEquals(MostConstrainedFirstSchedulingStrategy.class, SchedulingStrategies.getSchedulingStrategy(MostConstrainedFirstSchedulingStrategy.NAME).getClass());
+        assertThrows(IllegalArgumentException.class, () -> SchedulingStrategies.getSchedulingStrategy("unknown"));
+    }
+
+    /**
+     * Tests whether the first fit strategy keeps the order of the csv files
+     */
+    @Test
+    public void testFirstFitKeepsOrder() {
+        assertEquals(lessonDemands, new FirstFitSchedulingStrategy().orderLessonDemands(lessonDemands, timetableGenerator));
+    }
+
+    /**
+     * Tests whether the longest subject is placed first, as all subjects can be taught by the same teachers
+     */
+    @Test
+    public void testMostConstrainedFirstPlacesLongBlocksFirst() {
+        List<LessonDemand> orderedLessonDemands = new MostConstrainedFirstSchedulingStrategy().orderLessonDemands(lessonDemands, timetableGenerator);
+
+        assertEquals(lessonDemands.size(), orderedLessonDemands.size());
+        assertEquals("German", orderedLessonDemands.get(FIRST_LIST_INDEX).subject().name());
+        for (int i = 1; i < orderedLessonDemands.size(); i++) {
+            assertTrue(orderedLessonDemands.get(i - 1).subject().weeklyLessons() >= orderedLessonDemands.get(i).subject().weeklyLessons());
+        }
+    }
+}